@@ -0,0 +1,6 @@
+# SQLite生成的实体绑定类，通过类名反射加载
+-keepnames @androidx.ui.sqlite.SQLiteTable class *
+-keep class **_SQLiteBinder { <init>(); }
+# 实体字段按列名反射读写（toContentValues、findField、索引注解），保留字段名称和注解
+-keepclassmembers @androidx.ui.sqlite.SQLiteTable class * { <fields>; }
+-keepattributes RuntimeVisibleAnnotations
@@ -0,0 +1,107 @@
+package androidx.ui.content;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.ui.core.Benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 存储基准测试，对比SharedPreferences（XML）与内存映射存储的写入、读取吞吐量，
+ * 使用单独的文件，不影响ShareData全局的存储方式
+ */
+@RunWith(AndroidJUnit4.class)
+public class ShareDataBenchmark {
+
+    private static final String NAME = "_SP_BENCHMARK";
+    private static final int KEY_COUNT = 200;
+
+    private Context context;
+    private SharedPreferences preferences;
+    private File file;
+    private MappedStore store;
+    private String value;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        preferences = context.getSharedPreferences(NAME, Context.MODE_PRIVATE);
+        preferences.edit().clear().commit();
+        file = new File(context.getFilesDir(), NAME + ".kv");
+        file.delete();
+        store = MappedStore.open(file, null);
+        //模拟保存的用户信息等json
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < 20; i++) {
+            builder.append("\"field").append(i).append("\":\"value").append(i).append("\",");
+        }
+        value = builder.append("\"id\":0}").toString();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            preferences.edit().putString("key" + i, value).commit();
+            store.write(Collections.<String, Object>singletonMap("key" + i, value), false);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        preferences.edit().clear().commit();
+        store.force();
+        file.delete();
+    }
+
+    @Test
+    public void commitThroughput() throws Exception {
+        double before = Benchmark.measure("commit xml", 100, iteration ->
+                preferences.edit().putString("key" + iteration % KEY_COUNT, value + iteration).commit());
+        double after = Benchmark.measure("commit mapped", 100, iteration -> {
+            boolean success = store.write(Collections.<String, Object>singletonMap("key" + iteration % KEY_COUNT, value + iteration), false);
+            return success && store.force();
+        });
+        Log.i(Benchmark.TAG, "commit/s xml = " + (long) (1e9 / before) + ", mapped = " + (long) (1e9 / after));
+        Benchmark.report("commit", before, after);
+    }
+
+    @Test
+    public void applyThroughput() throws Exception {
+        double before = Benchmark.measure("apply xml", 1000, iteration -> {
+            preferences.edit().putString("key" + iteration % KEY_COUNT, value + iteration).apply();
+            return null;
+        });
+        double after = Benchmark.measure("apply mapped", 1000, iteration ->
+                store.write(Collections.<String, Object>singletonMap("key" + iteration % KEY_COUNT, value + iteration), false));
+        Log.i(Benchmark.TAG, "apply/s xml = " + (long) (1e9 / before) + ", mapped = " + (long) (1e9 / after));
+        Benchmark.report("apply", before, after);
+        //等待XML写入完成，两者内容一致
+        preferences.edit().commit();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals(preferences.getString("key" + i, null), store.get("key" + i));
+        }
+    }
+
+    @Test
+    public void readThroughput() throws Exception {
+        double before = Benchmark.measure("read xml", 100000, iteration ->
+                preferences.getString("key" + iteration % KEY_COUNT, null));
+        double after = Benchmark.measure("read mapped", 100000, iteration ->
+                store.get("key" + iteration % KEY_COUNT));
+        Benchmark.report("read", before, after);
+        //SharedPreferences在进程内缓存，只统计重新打开映射文件的加载耗时
+        store.force();
+        double load = Benchmark.measure("load mapped", 10, iteration -> MappedStore.open(file, null).getAll().size());
+        Log.i(Benchmark.TAG, "load mapped " + KEY_COUNT + " keys: " + (long) (load / 1000) + " us");
+        assertEquals(KEY_COUNT, MappedStore.open(file, null).getAll().size());
+    }
+
+}
@@ -0,0 +1,84 @@
+package androidx.ui.core;
+
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * 设备上运行的简单微基准测试，预热后取多轮中最快的一轮，结果输出到日志
+ */
+public final class Benchmark {
+
+    public static final String TAG = Benchmark.class.getSimpleName();
+    /**
+     * 预热轮数
+     */
+    private static final int WARMUP_ROUNDS = 2;
+    /**
+     * 计时轮数
+     */
+    private static final int ROUNDS = 5;
+    /**
+     * 保存结果，避免被优化掉
+     */
+    private static volatile int sink;
+
+    private Benchmark() {
+
+    }
+
+    /**
+     * 测试任务
+     */
+    public interface Task {
+
+        /**
+         * @param iteration 第几次执行
+         * @return 执行结果
+         * @throws Exception 执行异常
+         */
+        Object run(int iteration) throws Exception;
+
+    }
+
+    /**
+     * 测量任务平均耗时
+     *
+     * @param name       名称
+     * @param iterations 每轮执行次数
+     * @param task       任务
+     * @return 每次执行纳秒数
+     * @throws Exception 任务异常
+     */
+    public static double measure(String name, int iterations, Task task) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            int hash = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Object result = task.run(i);
+                hash += result == null ? 0 : result.hashCode();
+            }
+            long elapsed = System.nanoTime() - start;
+            sink += hash;
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        double nanos = (double) best / iterations;
+        Log.i(TAG, name + ": " + String.format(Locale.US, "%.1f", nanos) + " ns/op");
+        return nanos;
+    }
+
+    /**
+     * 输出前后对比
+     *
+     * @param name   名称
+     * @param before 优化前每次纳秒数
+     * @param after  优化后每次纳秒数
+     */
+    public static void report(String name, double before, double after) {
+        Log.i(TAG, name + ": " + String.format(Locale.US, "%.2f", before / after) + "x");
+    }
+
+}
@@ -0,0 +1,108 @@
+package androidx.ui.flow;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.ui.R;
+import androidx.ui.recycler.ViewHolder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 流式布局适配器测试，默认视图类型（位置）下，插入删除后刷新不重建视图，回收池按布局限制个数
+ */
+@RunWith(AndroidJUnit4.class)
+public class FlowAdapterTest {
+
+    @Test
+    public void refreshAfterRemoveKeepsViews() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            FlowLayout flowLayout = new FlowLayout(context);
+            TagAdapter adapter = new TagAdapter(context);
+            adapter.setFlowLayout(flowLayout);
+            adapter.setItems(createTags(20));
+            List<View> views = new ArrayList<>();
+            for (int i = 1; i < flowLayout.getChildCount(); i++) {
+                views.add(flowLayout.getChildAt(i));
+            }
+            adapter.removeItem(0);
+            adapter.addItem(5, "insert");
+            views.add(5, flowLayout.getChildAt(5));
+            adapter.notifyDataSetChanged();
+            adapter.notifyItemChanged(10);
+            //删除的视图被插入的位置复用
+            assertEquals(20, adapter.createdCount);
+            assertEquals(views.size(), flowLayout.getChildCount());
+            for (int i = 0; i < views.size(); i++) {
+                assertSame(views.get(i), flowLayout.getChildAt(i));
+                assertEquals(adapter.getItem(i), ((TextView) views.get(i).findViewById(R.id.tv_tag)).getText().toString());
+            }
+        });
+    }
+
+    @Test
+    public void recycledViewsAreBounded() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            FlowLayout flowLayout = new FlowLayout(context);
+            TagAdapter adapter = new TagAdapter(context);
+            adapter.setFlowLayout(flowLayout);
+            adapter.setItems(createTags(300));
+            adapter.setItems(Collections.<String>emptyList());
+            assertEquals(0, flowLayout.getChildCount());
+            adapter.setItems(createTags(300));
+            //只有默认个数的视图被回收复用
+            assertEquals(300 + 300 - FlowAdapter.DEFAULT_MAX_RECYCLED_VIEWS, adapter.createdCount);
+        });
+    }
+
+    private static List<String> createTags(int count) {
+        List<String> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add("tag" + i);
+        }
+        return tags;
+    }
+
+    /**
+     * 标签适配器，统计创建的视图个数
+     */
+    private static class TagAdapter extends FlowAdapter<String> {
+
+        int createdCount;
+
+        TagAdapter(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected int getItemLayoutResId(int viewType) {
+            return R.layout.ui_item_tag;
+        }
+
+        @Override
+        protected View getItemView(int viewType) {
+            createdCount++;
+            return super.getItemView(viewType);
+        }
+
+        @Override
+        protected void onItemBindViewHolder(ViewHolder holder, int position) {
+            holder.<TextView>find(R.id.tv_tag).setText(getItem(position));
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+package androidx.ui.flow;
+
+import android.content.Context;
+import android.util.Log;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.ui.R;
+import androidx.ui.core.Benchmark;
+import androidx.ui.recycler.ViewHolder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 流式布局虚拟化测试，5000个标签只创建可见的视图，滚动时复用，
+ * 并对比FlowLayout全部创建与RecyclerView模式的布局耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class FlowLayoutManagerBenchmark {
+
+    private static final int ITEM_COUNT = 5000;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    @Test
+    public void virtualizedLayoutAndScroll() {
+        runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            TagAdapter adapter = new TagAdapter(context);
+            adapter.setItems(createTags(ITEM_COUNT));
+            RecyclerView recyclerView = new RecyclerView(context);
+            adapter.setRecyclerView(recyclerView);
+            long start = System.nanoTime();
+            layout(recyclerView, View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+            Log.i(Benchmark.TAG, "flow recycler first layout: " + (System.nanoTime() - start) / 1000 + " us, children = " + recyclerView.getChildCount());
+            int maxChildCount = recyclerView.getChildCount();
+            assertTrue(maxChildCount > 0 && maxChildCount < 300);
+            //滚动到底部，视图应被复用
+            start = System.nanoTime();
+            int frames = 0;
+            while (recyclerView.canScrollVertically(1)) {
+                recyclerView.scrollBy(0, 300);
+                maxChildCount = Math.max(maxChildCount, recyclerView.getChildCount());
+                frames++;
+            }
+            Log.i(Benchmark.TAG, "flow recycler scroll: " + (System.nanoTime() - start) / Math.max(frames, 1) / 1000 + " us/frame, frames = " + frames
+                    + ", holders = " + adapter.holders.size());
+            assertTrue(frames > 0);
+            assertTrue("holders " + adapter.holders.size(), adapter.holders.size() < maxChildCount * 2 + 20);
+            //跳转到末尾只保留可见视图
+            adapter.holders.clear();
+            recyclerView.scrollToPosition(0);
+            layout(recyclerView, View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+            start = System.nanoTime();
+            recyclerView.scrollToPosition(ITEM_COUNT - 1);
+            layout(recyclerView, View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+            Log.i(Benchmark.TAG, "flow recycler scrollToPosition: " + (System.nanoTime() - start) / 1000 + " us");
+            assertTrue(recyclerView.getChildCount() < 300);
+            assertEquals(ITEM_COUNT - 1, recyclerView.getChildAdapterPosition(recyclerView.getChildAt(recyclerView.getChildCount() - 1)));
+        });
+    }
+
+    @Test
+    public void unboundedHeightLaysOutAllItems() {
+        runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            TagAdapter adapter = new TagAdapter(context);
+            adapter.setItems(createTags(200));
+            RecyclerView recyclerView = new RecyclerView(context);
+            adapter.setRecyclerView(recyclerView);
+            //与NestedScrollView中一致，高度不限
+            layout(recyclerView, View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            assertEquals(200, recyclerView.getChildCount());
+            assertTrue(recyclerView.getMeasuredHeight() > 0);
+        });
+    }
+
+    @Test
+    public void compareWithFlowLayout() {
+        runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            List<String> tags = createTags(ITEM_COUNT);
+            long start = System.nanoTime();
+            FlowLayout flowLayout = new FlowLayout(context);
+            TagAdapter flowAdapter = new TagAdapter(context);
+            flowAdapter.setFlowLayout(flowLayout);
+            flowAdapter.setItems(tags);
+            layout(flowLayout, View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            long before = System.nanoTime() - start;
+            start = System.nanoTime();
+            RecyclerView recyclerView = new RecyclerView(context);
+            TagAdapter recyclerAdapter = new TagAdapter(context);
+            recyclerAdapter.setItems(tags);
+            recyclerAdapter.setRecyclerView(recyclerView);
+            layout(recyclerView, View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+            long after = System.nanoTime() - start;
+            Log.i(Benchmark.TAG, "FlowLayout: " + before / 1000 + " us, views = " + flowLayout.getChildCount()
+                    + "; FlowLayoutManager: " + after / 1000 + " us, views = " + recyclerView.getChildCount());
+            Benchmark.report("flow first layout", before, after);
+            assertEquals(ITEM_COUNT, flowLayout.getChildCount());
+            assertTrue(recyclerView.getChildCount() < 300);
+        });
+    }
+
+    private static void layout(View view, int heightMeasureSpec) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY), heightMeasureSpec);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    private static List<String> createTags(int count) {
+        List<String> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            //标签长度不同，每行个数不同
+            tags.add("tag" + i + "abcdefgh".substring(0, i % 8));
+        }
+        return tags;
+    }
+
+    private static void runOnMainSync(Runnable runnable) {
+        final Throwable[] error = new Throwable[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] instanceof Error) {
+            throw (Error) error[0];
+        }
+        if (error[0] != null) {
+            throw new RuntimeException(error[0]);
+        }
+    }
+
+    /**
+     * 标签适配器，记录绑定过的视图容器
+     */
+    private static class TagAdapter extends FlowAdapter<String> {
+
+        final Set<ViewHolder> holders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        TagAdapter(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected int getItemLayoutResId(int viewType) {
+            return R.layout.ui_item_tag;
+        }
+
+        @Override
+        protected void onItemBindViewHolder(ViewHolder holder, int position) {
+            holders.add(holder);
+            holder.<TextView>find(R.id.tv_tag).setText(getItem(position));
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package androidx.ui.flow;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 流式布局测量缓存测试，子视图隐藏后缓存仍然生效
+ */
+@RunWith(AndroidJUnit4.class)
+public class FlowLayoutTest {
+
+    private static final int WIDTH = 1080;
+
+    @Test
+    public void goneChildKeepsCache() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            CountFlowLayout flowLayout = new CountFlowLayout(context);
+            View[] children = new View[20];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = new View(context);
+                flowLayout.addView(children[i], new ViewGroup.MarginLayoutParams(100, 50));
+            }
+            assertEquals(20, layout(flowLayout));
+            children[5].setVisibility(View.GONE);
+            //从GONE的子视图之后开始重新测量
+            assertEquals(14, layout(flowLayout));
+            children[10].requestLayout();
+            //GONE的子视图不会布局，不能让缓存失效，只从请求布局的子视图开始
+            assertEquals(10, layout(flowLayout));
+            children[5].setVisibility(View.VISIBLE);
+            assertEquals(15, layout(flowLayout));
+        });
+    }
+
+    /**
+     * 测量并布局
+     *
+     * @param flowLayout 流式布局
+     * @return 本次测量的子视图个数
+     */
+    private static int layout(CountFlowLayout flowLayout) {
+        flowLayout.measureCount = 0;
+        flowLayout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        flowLayout.layout(0, 0, flowLayout.getMeasuredWidth(), flowLayout.getMeasuredHeight());
+        return flowLayout.measureCount;
+    }
+
+    /**
+     * 统计子视图测量次数的流式布局
+     */
+    private static class CountFlowLayout extends FlowLayout {
+
+        private int measureCount;
+
+        public CountFlowLayout(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void measureChildWithMargins(View child, int parentWidthMeasureSpec, int widthUsed, int parentHeightMeasureSpec, int heightUsed) {
+            measureCount++;
+            super.measureChildWithMargins(child, parentWidthMeasureSpec, widthUsed, parentHeightMeasureSpec, heightUsed);
+        }
+    }
+
+}
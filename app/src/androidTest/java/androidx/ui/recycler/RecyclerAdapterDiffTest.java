@@ -0,0 +1,165 @@
+package androidx.ui.recycler;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.ui.R;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 差异比较测试，差异计算期间添加、删除、移动Item不会丢失，也不会退回notifyDataSetChanged
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecyclerAdapterDiffTest {
+
+    @Test
+    public void addItemWhileDiffPending() {
+        TextAdapter adapter = create();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            adapter.setItems(list("a", "b", "c"));
+            adapter.setItems(list("a", "c", "d"));
+            adapter.addItem("e");
+            adapter.addItem(0, "z");
+            adapter.addLast("f");
+        });
+        awaitItems(adapter, list("z", "a", "c", "d", "e", "f"));
+        assertEquals(0, adapter.changedCount);
+    }
+
+    @Test
+    public void removeAndSwapWhileDiffPending() {
+        TextAdapter adapter = create();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            adapter.setItems(list("a", "b", "c"));
+            adapter.setItems(list("a", "c", "d", "e", "f", "g"));
+            adapter.removeItem(1);
+            adapter.removeItems(3, 2);
+            adapter.swapItem(0, 2);
+            adapter.addItems(list("h"));
+        });
+        awaitItems(adapter, list("d", "e", "a", "h"));
+        assertEquals(0, adapter.changedCount);
+    }
+
+    @Test
+    public void removeItemsByRange() {
+        TextAdapter adapter = create();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            //没有等待中的差异时直接删除，重复的Item只删除范围内的
+            adapter.setItems(list("a", "b", "a", "c"));
+            adapter.removeItems(1, 2);
+            adapter.removeItems(5, 1);
+        });
+        awaitItems(adapter, list("a", "c"));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            //等待中的差异使用同样的范围，超出部分忽略
+            adapter.setItems(list("a", "b", "a", "c"));
+            adapter.removeItems(1, 2);
+            adapter.removeItems(1, 5);
+            adapter.removeItems(5, 1);
+        });
+        awaitItems(adapter, list("a"));
+    }
+
+    @Test
+    public void setSameListAfterInPlaceChange() {
+        TextAdapter adapter = create();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            adapter.setItems(list("a", "b"));
+            adapter.getItems().add("c");
+            //同一个列表没有可比较的旧数据，直接刷新
+            adapter.setItems(adapter.getItems());
+        });
+        awaitItems(adapter, list("a", "b", "c"));
+        assertEquals(1, adapter.changedCount);
+    }
+
+    private static TextAdapter create() {
+        TextAdapter[] adapter = new TextAdapter[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            adapter[0] = new TextAdapter(context);
+        });
+        return adapter[0];
+    }
+
+    /**
+     * 等待后台差异计算完成并在主线程应用
+     *
+     * @param adapter  适配器
+     * @param expected 期望的数据
+     */
+    private static void awaitItems(TextAdapter adapter, List<String> expected) {
+        long deadline = SystemClock.uptimeMillis() + 5000;
+        List<String> items = new ArrayList<>();
+        while (SystemClock.uptimeMillis() < deadline) {
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+                items.clear();
+                items.addAll(adapter.getItems());
+            });
+            if (items.equals(expected)) {
+                return;
+            }
+            SystemClock.sleep(10);
+        }
+        assertEquals(expected, items);
+    }
+
+    private static List<String> list(String... items) {
+        return new ArrayList<>(Arrays.asList(items));
+    }
+
+    /**
+     * 文字适配器，统计notifyDataSetChanged次数
+     */
+    private static class TextAdapter extends RecyclerAdapter<String> {
+
+        int changedCount;
+
+        TextAdapter(Context context) {
+            super(context);
+            setDiffCallback(new DiffUtil.ItemCallback<String>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+                    return oldItem.equals(newItem);
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+                    return oldItem.equals(newItem);
+                }
+            });
+            registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onChanged() {
+                    changedCount++;
+                }
+            });
+        }
+
+        @Override
+        protected int getItemLayoutResId(int viewType) {
+            return R.layout.ui_item_tag;
+        }
+
+        @Override
+        protected void onItemBindViewHolder(ViewHolder holder, int position) {
+
+        }
+
+    }
+
+}
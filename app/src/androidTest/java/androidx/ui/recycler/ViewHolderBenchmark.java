@@ -0,0 +1,110 @@
+package androidx.ui.recycler;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.ui.core.Benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * 视图容器绑定基准测试，12个控件的Item每次绑定都findViewById与缓存查找的耗时对比
+ */
+@RunWith(AndroidJUnit4.class)
+public class ViewHolderBenchmark {
+
+    private static final int GROUP_COUNT = 3;
+    private static final int TEXT_COUNT = 4;
+
+    @Test
+    public void bindWithCachedFind() {
+        runOnMainSync(ignored -> {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            final int[] ids = new int[GROUP_COUNT * TEXT_COUNT];
+            View itemView = createItemView(context, ids);
+            final ViewHolder holder = new ViewHolder(itemView);
+            //缓存结果与findViewById一致
+            for (int i = 0; i < ids.length; i++) {
+                assertSame(itemView.findViewById(ids[i]), holder.find(ids[i]));
+                assertSame(itemView.findViewById(ids[i]), holder.find(ids[i]));
+            }
+            final String[] texts = new String[64];
+            for (int i = 0; i < texts.length; i++) {
+                texts[i] = "text" + i;
+            }
+            double before = Benchmark.measure("bind findViewById", 20000, iteration -> {
+                for (int i = 0; i < ids.length; i++) {
+                    TextView textView = holder.itemView.findViewById(ids[i]);
+                    textView.setText(texts[(iteration + i) & 63]);
+                }
+                return null;
+            });
+            double after = Benchmark.measure("bind holder.find", 20000, iteration -> {
+                for (int i = 0; i < ids.length; i++) {
+                    holder.<TextView>find(ids[i]).setText(texts[(iteration + i) & 63]);
+                }
+                return null;
+            });
+            Benchmark.report("bind 12 views", before, after);
+            return null;
+        });
+    }
+
+    /**
+     * 创建Item视图，3个分组各嵌套一层容器和4个文字控件，与常见列表Item层级相近
+     *
+     * @param context 上下文
+     * @param ids     文字控件id
+     * @return Item视图
+     */
+    private static View createItemView(Context context, int[] ids) {
+        LinearLayout root = new LinearLayout(context);
+        root.setOrientation(LinearLayout.VERTICAL);
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            LinearLayout row = new LinearLayout(context);
+            row.setOrientation(LinearLayout.HORIZONTAL);
+            row.setId(View.generateViewId());
+            FrameLayout container = new FrameLayout(context);
+            container.setId(View.generateViewId());
+            LinearLayout column = new LinearLayout(context);
+            column.setOrientation(LinearLayout.VERTICAL);
+            for (int i = 0; i < TEXT_COUNT; i++) {
+                TextView textView = new TextView(context);
+                int id = View.generateViewId();
+                textView.setId(id);
+                ids[group * TEXT_COUNT + i] = id;
+                column.addView(textView);
+            }
+            container.addView(column);
+            row.addView(container);
+            root.addView(row);
+        }
+        return root;
+    }
+
+    private static void runOnMainSync(Benchmark.Task task) {
+        final Throwable[] error = new Throwable[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            try {
+                task.run(0);
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] instanceof Error) {
+            throw (Error) error[0];
+        }
+        if (error[0] != null) {
+            throw new RuntimeException(error[0]);
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package androidx.ui.sqlite;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.ui.core.Benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 实体查询基准测试，10000行×20列，对比每个单元格反射查找字段与缓存实体信息的每秒行数
+ */
+@RunWith(AndroidJUnit4.class)
+public class SQLiteBenchmark {
+
+    private static final int ROW_COUNT = 10000;
+    private static final String SQL = "select * from " + BenchmarkRow.class.getSimpleName();
+
+    private SQLite sqLite;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        sqLite = SQLite.initialize(context);
+        sqLite.dropTable(BenchmarkRow.class.getSimpleName());
+        sqLite.create(BenchmarkRow.class);
+        List<BenchmarkRow> rows = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows.add(BenchmarkRow.create(i));
+        }
+        assertEquals(ROW_COUNT, sqLite.insertAll(rows));
+    }
+
+    @After
+    public void tearDown() {
+        sqLite.dropTable(BenchmarkRow.class.getSimpleName());
+    }
+
+    @Test
+    public void queryRowsPerSecond() throws Exception {
+        final SQLiteDatabase db = sqLite.database();
+        List<BenchmarkRow> legacy = queryLegacy(db, BenchmarkRow.class, SQL);
+        List<BenchmarkRow> cached = sqLite.query(BenchmarkRow.class, SQL);
+        assertEquals(ROW_COUNT, legacy.size());
+        assertEquals(ROW_COUNT, cached.size());
+        for (int i = 0; i < ROW_COUNT; i += 997) {
+            assertEquals(legacy.get(i).toString(), cached.get(i).toString());
+        }
+        double before = Benchmark.measure("query reflection", 1, iteration -> queryLegacy(db, BenchmarkRow.class, SQL));
+        double after = Benchmark.measure("query metadata", 1, iteration -> sqLite.query(BenchmarkRow.class, SQL));
+        Log.i(Benchmark.TAG, "rows/s reflection = " + (long) (ROW_COUNT * 1e9 / before)
+                + ", metadata = " + (long) (ROW_COUNT * 1e9 / after));
+        Benchmark.report("query", before, after);
+    }
+
+    /**
+     * 缓存实体信息之前的查询实现，每行每列都重新查找字段
+     */
+    private static <T> List<T> queryLegacy(SQLiteDatabase db, Class<T> clazz, String sql) throws Exception {
+        Cursor cursor = db.rawQuery(sql, null);
+        String[] columnNames = cursor.getColumnNames();
+        List<T> list = new ArrayList<>();
+        while (cursor.moveToNext()) {
+            T bean = clazz.newInstance();
+            for (int i = 0; i < columnNames.length; i++) {
+                Field field = findFieldLegacy(clazz, columnNames[i]);
+                if (field == null) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Class<?> fieldType = field.getType();
+                int index = cursor.getColumnIndex(columnNames[i]);
+                if (fieldType == String.class) {
+                    field.set(bean, cursor.getString(index));
+                } else if (fieldType == long.class) {
+                    field.set(bean, cursor.getLong(index));
+                } else if (fieldType == int.class) {
+                    field.set(bean, cursor.getInt(index));
+                } else if (fieldType == double.class) {
+                    field.set(bean, cursor.getDouble(index));
+                } else if (fieldType == boolean.class) {
+                    String value = cursor.getString(index);
+                    field.set(bean, "true".equals(value) || "1".equals(value));
+                }
+            }
+            list.add(bean);
+        }
+        cursor.close();
+        return list;
+    }
+
+    private static Field findFieldLegacy(Class<?> clazz, String name) {
+        List<Field> fields = new ArrayList<>();
+        while (clazz != null) {
+            for (Field field : clazz.getDeclaredFields()) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+            clazz = clazz.getSuperclass();
+        }
+        for (Field field : fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 20列测试实体
+     */
+    public static class BenchmarkRow {
+
+        private String name;
+        private String title;
+        private String email;
+        private String phone;
+        private String address;
+        private String remark;
+        private int age;
+        private int level;
+        private int score;
+        private int rank;
+        private long createTime;
+        private long updateTime;
+        private long userId;
+        private long groupId;
+        private double balance;
+        private double latitude;
+        private double longitude;
+        private boolean vip;
+        private boolean enabled;
+        private boolean deleted;
+
+        public static BenchmarkRow create(int i) {
+            BenchmarkRow row = new BenchmarkRow();
+            row.name = "name" + i;
+            row.title = "title" + i;
+            row.email = "user" + i + "@example.com";
+            row.phone = "1380000" + i;
+            row.address = "address" + i;
+            row.remark = "remark" + i;
+            row.age = i % 100;
+            row.level = i % 10;
+            row.score = i * 3;
+            row.rank = ROW_COUNT - i;
+            row.createTime = 1600000000000L + i;
+            row.updateTime = 1700000000000L + i;
+            row.userId = i;
+            row.groupId = i / 100;
+            row.balance = i * 0.5;
+            row.latitude = i * 0.001;
+            row.longitude = i * 0.002;
+            row.vip = i % 2 == 0;
+            row.enabled = i % 3 == 0;
+            row.deleted = i % 5 == 0;
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return name + "," + title + "," + email + "," + phone + "," + address + "," + remark + ","
+                    + age + "," + level + "," + score + "," + rank + "," + createTime + "," + updateTime + ","
+                    + userId + "," + groupId + "," + balance + "," + latitude + "," + longitude + ","
+                    + vip + "," + enabled + "," + deleted;
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package androidx.ui.sqlite;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 预编译语句缓存测试，缓存语句只在所属数据库上复用
+ */
+@RunWith(AndroidJUnit4.class)
+public class SQLiteStatementCacheTest {
+
+    private static final String SQL = "select count(*) from item";
+
+    @Test
+    public void statementsAreKeyedByDatabase() {
+        SQLiteDatabase first = createDatabase(1);
+        SQLiteDatabase second = createDatabase(2);
+        SQLiteStatementCache cache = new SQLiteStatementCache();
+        SQLiteStatement statement = cache.acquire(first, SQL);
+        assertEquals(1, statement.simpleQueryForLong());
+        cache.release(first, SQL, statement);
+        assertSame(statement, cache.acquire(first, SQL));
+        cache.release(first, SQL, statement);
+        //换用其他数据库时不复用之前数据库的语句
+        SQLiteStatement other = cache.acquire(second, SQL);
+        assertNotSame(statement, other);
+        assertEquals(2, other.simpleQueryForLong());
+        //之前数据库的语句不再放回缓存
+        SQLiteStatement stale = cache.acquire(first, SQL);
+        cache.release(second, SQL, other);
+        cache.release(first, SQL, stale);
+        assertNotSame(stale, cache.acquire(second, SQL));
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void evictAllClosesStatements() {
+        SQLiteDatabase db = createDatabase(3);
+        SQLiteStatementCache cache = new SQLiteStatementCache();
+        SQLiteStatement statement = cache.acquire(db, SQL);
+        cache.release(db, SQL, statement);
+        //数据库关闭或删除时清空，之后重新编译
+        cache.evictAll();
+        SQLiteStatement other = cache.acquire(db, SQL);
+        assertNotSame(statement, other);
+        assertEquals(3, other.simpleQueryForLong());
+        cache.release(db, SQL, other);
+        db.close();
+    }
+
+    /**
+     * 创建内存数据库
+     *
+     * @param count 数据行数
+     * @return 数据库
+     */
+    private static SQLiteDatabase createDatabase(int count) {
+        SQLiteDatabase db = SQLiteDatabase.create(null);
+        db.execSQL("create table item (id integer)");
+        for (int i = 0; i < count; i++) {
+            db.execSQL("insert into item (id) values (" + i + ")");
+        }
+        return db;
+    }
+
+}
@@ -0,0 +1,59 @@
+package androidx.ui.text;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.ui.core.Benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * 日期时间基准测试，对比每次创建SimpleDateFormat与DateTime、DatePattern的格式化、解析耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class DateTimeBenchmark {
+
+    /**
+     * 1900-01-01到2100-01-01
+     */
+    private static final long MIN_MILLIS = -2208988800000L;
+    private static final long MAX_MILLIS = 4102444800000L;
+
+    @Test
+    public void formatAndParse() throws Exception {
+        final TimeZone timeZone = TimeZone.getTimeZone("Asia/Shanghai");
+        final String pattern = Time.YYYY_MM_DD_H24_MM_SS;
+        final long[] millis = new long[1024];
+        final String[] texts = new String[millis.length];
+        Random random = new Random(1);
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(timeZone);
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS));
+            texts[i] = format.format(new Date(millis[i]));
+        }
+        //原来每次调用都创建SimpleDateFormat
+        double before = Benchmark.measure("format SimpleDateFormat", 20000, iteration -> {
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+            simpleDateFormat.setTimeZone(timeZone);
+            return simpleDateFormat.format(new Date(millis[iteration & 1023]));
+        });
+        final DateTime dateTime = new DateTime(timeZone);
+        double after = Benchmark.measure("format DateTime", 20000, iteration ->
+                dateTime.setTimeInMillis(millis[iteration & 1023]).format(pattern));
+        Benchmark.report("format", before, after);
+        before = Benchmark.measure("parse SimpleDateFormat", 20000, iteration -> {
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+            simpleDateFormat.setTimeZone(timeZone);
+            return simpleDateFormat.parse(texts[iteration & 1023]).getTime();
+        });
+        after = Benchmark.measure("parse DatePattern", 20000, iteration ->
+                DatePattern.of(pattern).parse(texts[iteration & 1023], timeZone));
+        Benchmark.report("parse", before, after);
+    }
+
+}
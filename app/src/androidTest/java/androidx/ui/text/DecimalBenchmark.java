@@ -0,0 +1,38 @@
+package androidx.ui.text;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.ui.core.Benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.regex.Pattern;
+
+/**
+ * 金额输入基准测试，对比每次按键编译正则与查找小数点位置的判断耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class DecimalBenchmark {
+
+    @Test
+    public void keystroke() throws Exception {
+        //逐个输入"123456.78"，每次按键判断一次
+        final String[] keystrokes = new String[9];
+        String input = "123456.78";
+        for (int i = 0; i < keystrokes.length; i++) {
+            keystrokes[i] = input.substring(0, i + 1);
+        }
+        //原来setFilter每次按键编译两次正则
+        double before = Benchmark.measure("keystroke regex", 100000, iteration -> {
+            String text = keystrokes[iteration % 9];
+            return Pattern.compile("^\\d+.$").matcher(text).matches() && text.contains(".")
+                    || Pattern.compile("^\\d+.[0-9]{0,}").matcher(text).matches() && text.contains(".");
+        });
+        double after = Benchmark.measure("keystroke pointIndex", 100000, iteration -> {
+            String text = keystrokes[iteration % 9];
+            return !text.startsWith(".") && Decimal.pointIndex(text) > 0;
+        });
+        Benchmark.report("keystroke", before, after);
+    }
+
+}
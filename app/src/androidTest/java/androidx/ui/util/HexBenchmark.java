@@ -0,0 +1,62 @@
+package androidx.ui.util;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.ui.core.Benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * 16进制基准测试，对比原来的substring+parseInt实现与查表解码4MB数据的耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class HexBenchmark {
+
+    @Test
+    public void decode() throws Exception {
+        byte[] data = new byte[4 * 1024 * 1024];
+        new Random(1).nextBytes(data);
+        final String hex = Hex.encodeHex(data);
+        double before = Benchmark.measure("decode 4MB substring+parseInt", 1, iteration -> decodeLegacy(hex));
+        double after = Benchmark.measure("decode 4MB table", 1, iteration -> Hex.decodeHex(hex));
+        Benchmark.report("decode 4MB", before, after);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        Benchmark.measure("decode 4MB direct ByteBuffer", 1, iteration -> {
+            buffer.clear();
+            Hex.decodeHex(hex, buffer);
+            return buffer.position();
+        });
+        final byte[] chunk = new byte[8192];
+        Benchmark.measure("decode 4MB HexInputStream", 1, iteration -> {
+            HexInputStream input = new HexInputStream(new StringReader(hex));
+            long total = 0;
+            int count;
+            while ((count = input.read(chunk, 0, chunk.length)) != -1) {
+                total += count;
+            }
+            input.close();
+            return total;
+        });
+    }
+
+    /**
+     * 原来的解码实现，每个字节创建子字符串并解析
+     *
+     * @param hexString 十六进制字符串
+     * @return
+     */
+    private static byte[] decodeLegacy(String hexString) {
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        for (int i = 0; i < hexString.length(); i += 2) {
+            int b = Integer.parseInt(hexString.substring(i, i + 2), 16);
+            bas.write(b);
+        }
+        return bas.toByteArray();
+    }
+
+}
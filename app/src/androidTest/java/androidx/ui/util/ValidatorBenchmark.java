@@ -0,0 +1,54 @@
+package androidx.ui.util;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.ui.core.Benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * 校验基准测试，对比每次编译正则与逐字符校验的耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class ValidatorBenchmark {
+
+    @Test
+    public void validators() throws Exception {
+        final String[] phones = new String[256];
+        final String[] idCards = new String[256];
+        Random random = new Random(3);
+        for (int i = 0; i < phones.length; i++) {
+            phones[i] = randomNumber(random, "1", 10);
+            idCards[i] = randomNumber(random, "", 6) + "19" + randomNumber(random, "", 2) + "0" + (1 + random.nextInt(9)) + "1" + random.nextInt(10) + randomNumber(random, "", 4);
+        }
+        //原来每次调用都编译正则
+        double before = Benchmark.measure("isPhone compile regex", 100000, iteration ->
+                Pattern.compile(Validator.REGEX_PHONE).matcher(phones[iteration & 255]).matches());
+        double after = Benchmark.measure("isPhone", 100000, iteration -> Validator.isPhone(phones[iteration & 255]));
+        Benchmark.report("isPhone", before, after);
+        before = Benchmark.measure("isIdCard compile regex", 100000, iteration ->
+                Pattern.compile(Validator.REGEX_ID_CARD).matcher(idCards[iteration & 255]).matches());
+        after = Benchmark.measure("isIdCard", 100000, iteration -> Validator.isIdCard(idCards[iteration & 255]));
+        Benchmark.report("isIdCard", before, after);
+    }
+
+    /**
+     * 随机数字串
+     *
+     * @param random 随机数
+     * @param prefix 前缀
+     * @param length 数字个数
+     * @return
+     */
+    private static String randomNumber(Random random, String prefix, int length) {
+        StringBuilder builder = new StringBuilder(prefix);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        return builder.toString();
+    }
+
+}
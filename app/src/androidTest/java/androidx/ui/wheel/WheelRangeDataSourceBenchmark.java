@@ -0,0 +1,66 @@
+package androidx.ui.wheel;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.ui.core.Benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 滚轮数据源基准测试，对比滚轮每次改变时重建列表与范围数据源按需格式化的耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class WheelRangeDataSourceBenchmark {
+
+    /**
+     * 滚轮可见item个数
+     */
+    private static final int VISIBLE_COUNT = 9;
+
+    @Test
+    public void wheelChange() throws Exception {
+        final String unit = "日";
+        double before = Benchmark.measure("day wheel list rebuild", 10000, iteration -> {
+            DecimalFormat decimalFormat = new DecimalFormat("00");
+            List<String> days = new ArrayList<>();
+            for (int i = 1; i <= 28 + iteration % 4; i++) {
+                days.add(decimalFormat.format(i) + unit);
+            }
+            return visibleItems(new WheelListDataSource(days), iteration);
+        });
+        double after = Benchmark.measure("day wheel range source", 10000, iteration ->
+                visibleItems(new WheelRangeDataSource(1, 28 + iteration % 4, 2, unit), iteration));
+        Benchmark.report("day wheel change", before, after);
+        before = Benchmark.measure("year wheel list rebuild", 1000, iteration -> {
+            List<String> years = new ArrayList<>();
+            for (int i = 1900; i <= 2100; i++) {
+                years.add(i + "年");
+            }
+            return visibleItems(new WheelListDataSource(years), iteration);
+        });
+        after = Benchmark.measure("year wheel range source", 1000, iteration ->
+                visibleItems(new WheelRangeDataSource(1900, 2100, 0, "年"), iteration));
+        Benchmark.report("year wheel change", before, after);
+    }
+
+    /**
+     * 读取滚轮可见的item，与绘制时一致
+     *
+     * @param source    数据源
+     * @param iteration 第几次
+     * @return 文字长度和
+     */
+    private int visibleItems(WheelDataSource source, int iteration) {
+        int length = 0;
+        int first = iteration % source.getCount();
+        for (int i = 0; i < VISIBLE_COUNT; i++) {
+            length += source.getItem((first + i) % source.getCount()).length();
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,91 @@
+package androidx.ui.wheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 滚轮绘制测试，模拟滑动中的每一帧，onDraw不应分配对象
+ */
+@RunWith(AndroidJUnit4.class)
+public class WheelViewDrawTest {
+
+    private static final int FRAMES = 200;
+    /**
+     * 每帧滑动距离，不是item高度的整数倍，覆盖文字跨越分界线的情况
+     */
+    private static final int FRAME_DISTANCE = 7;
+
+    @Test
+    public void wheelViewDrawWithoutAllocation() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        assertEquals(0, countDrawAllocations(new WheelView(context)));
+    }
+
+    @Test
+    public void wheel3DViewDrawWithoutAllocation() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        assertEquals(0, countDrawAllocations(new Wheel3DView(context)));
+    }
+
+    /**
+     * 滑动绘制并统计onDraw中分配的对象个数
+     *
+     * @param wheelView 滚轮
+     * @return 分配个数
+     */
+    @SuppressWarnings("deprecation")
+    private int countDrawAllocations(WheelView wheelView) {
+        String[] items = new String[100];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = "item " + i;
+        }
+        wheelView.setDataSource(items);
+        wheelView.measure(View.MeasureSpec.makeMeasureSpec(wheelView.getPrefWidth(), View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(wheelView.getPrefHeight(), View.MeasureSpec.EXACTLY));
+        wheelView.layout(0, 0, wheelView.getMeasuredWidth(), wheelView.getMeasuredHeight());
+        Bitmap bitmap = Bitmap.createBitmap(wheelView.getMeasuredWidth(), wheelView.getMeasuredHeight(), Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        long time = SystemClock.uptimeMillis();
+        float y = 10000;
+        dispatchTouch(wheelView, time, MotionEvent.ACTION_DOWN, y);
+        //预热，第一次绘制时Canvas等内部缓存会分配
+        for (int i = 0; i < FRAMES; i++) {
+            y -= FRAME_DISTANCE;
+            dispatchTouch(wheelView, time + i, MotionEvent.ACTION_MOVE, y);
+            wheelView.onDraw(canvas);
+        }
+        int allocations = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            y -= FRAME_DISTANCE;
+            dispatchTouch(wheelView, time + FRAMES + i, MotionEvent.ACTION_MOVE, y);
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            wheelView.onDraw(canvas);
+            Debug.stopAllocCounting();
+            allocations += Debug.getThreadAllocCount();
+        }
+        dispatchTouch(wheelView, time + FRAMES * 2, MotionEvent.ACTION_CANCEL, y);
+        bitmap.recycle();
+        return allocations;
+    }
+
+    private void dispatchTouch(WheelView wheelView, long time, int action, float y) {
+        MotionEvent event = MotionEvent.obtain(time, time, action, 0, y, 0);
+        wheelView.mScroller.onTouchEvent(event);
+        event.recycle();
+    }
+
+}
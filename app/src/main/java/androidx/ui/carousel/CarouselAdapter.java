@@ -7,15 +7,20 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 
 import androidx.ui.recycler.ViewHolder;
+import androidx.ui.recycler.ViewHolderPool;
 import androidx.viewpager.widget.PagerAdapter;
 
 import java.util.List;
 
 /**
- * 轮播适配器
+ * 轮播适配器，销毁的页面按视图类型放入回收池，实例化页面时优先复用。
  */
 public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHolder.OnItemClickLister, ViewHolder.OnItemFocusChangeListener {
 
+    /**
+     * 每种视图类型默认最大回收个数
+     */
+    public static final int DEFAULT_MAX_RECYCLED_VIEWS = 4;
     /**
      * 上下文对象
      */
@@ -41,6 +46,14 @@ public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHol
      * 控件容器
      */
     private ViewHolder viewHolder;
+    /**
+     * 页面父容器
+     */
+    private ViewGroup container;
+    /**
+     * 回收池，按视图类型存放
+     */
+    private final ViewHolderPool recycledHolders = new ViewHolderPool(DEFAULT_MAX_RECYCLED_VIEWS);
 
     public CarouselAdapter(Context context) {
         this.context = context;
@@ -55,6 +68,15 @@ public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHol
         return viewHolder;
     }
 
+    /**
+     * 设置每种视图类型最大回收个数
+     *
+     * @param maxRecycledViews 最大回收个数，0不回收
+     */
+    public void setMaxRecycledViews(int maxRecycledViews) {
+        recycledHolders.setMaxRecycledViews(maxRecycledViews);
+    }
+
     /**
      * 获取数据大小
      *
@@ -92,18 +114,19 @@ public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHol
      * @return
      */
     protected View getItemView(Context context, int viewType) {
-        return LayoutInflater.from(context).inflate(getItemLayoutResId(), null);
+        return LayoutInflater.from(context).inflate(getItemLayoutResId(), container, false);
     }
 
     /**
      * 获取item
      *
      * @param position    位置
-     * @param convertView item View
+     * @param convertView 回收复用的item View，为null时创建
      * @param parent      父控件
      * @return
      */
     protected ViewHolder onCreateViewHolder(int position, View convertView, ViewGroup parent) {
+        int viewType = getItemViewType(position);
         if (convertView == null) {
             if (getItemLayoutResId() == 0) {
                 ImageView imageView = new ImageView(context);
@@ -111,16 +134,16 @@ public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHol
                 imageView.setId(CarouselPager.RES_IMAGE);
                 convertView = imageView;
             } else {
-                convertView = getItemView(getContext(), getItemViewType(position));
+                convertView = getItemView(getContext(), viewType);
             }
-            viewHolder = new ViewHolder(convertView);
-            viewHolder.setItemPosition(position);
+            viewHolder = new ViewHolder(convertView, viewType);
             viewHolder.setOnItemClickLister(this);
             viewHolder.setOnItemFocusChangeListener(this);
             convertView.setTag(viewHolder);
         } else {
             viewHolder = (ViewHolder) convertView.getTag();
         }
+        viewHolder.setItemPosition(position);
         onItemBindViewHolder(viewHolder, position);
         if (getItemLayoutResId() == 0) {
             viewHolder.addItemClick(CarouselPager.RES_IMAGE);
@@ -146,7 +169,9 @@ public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHol
     @Override
     public Object instantiateItem(ViewGroup parent, int position) {
         this.position = position;
-         viewHolder = onCreateViewHolder(position, null, parent);
+        this.container = parent;
+        ViewHolder recycled = recycledHolders.obtain(getItemViewType(position));
+        viewHolder = onCreateViewHolder(position, recycled == null ? null : recycled.itemView, parent);
         convertView = viewHolder.itemView;
         parent.addView(convertView);
         return convertView;
@@ -174,7 +199,22 @@ public abstract class CarouselAdapter<T> extends PagerAdapter implements ViewHol
     @Override
     public void destroyItem(ViewGroup container, int position, Object object) {
         this.position = position;
-        container.removeView((View) object);
+        View view = (View) object;
+        container.removeView(view);
+        if (view.getTag() instanceof ViewHolder) {
+            ViewHolder holder = (ViewHolder) view.getTag();
+            onViewRecycled(holder);
+            recycledHolders.put(holder.getViewType(), holder);
+        }
+    }
+
+    /**
+     * 页面销毁后、放入回收池前调用，例如取消图片加载
+     *
+     * @param holder 控件容器
+     */
+    protected void onViewRecycled(ViewHolder holder) {
+
     }
 
     @Override
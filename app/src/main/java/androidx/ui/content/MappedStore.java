@@ -0,0 +1,792 @@
+package androidx.ui.content;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * 内存映射键值存储，数据以追加记录的方式写入映射文件，
+ * 每次写入只追加修改的键，不重写整个文件。<br/>
+ * 文件格式：4字节文件标识，之后为连续记录，
+ * 每条记录为[内容长度int][CRC32 int][内容]，内容为[类型byte][键][值]。
+ * 打开时顺序读取记录，遇到长度为0或校验失败时停止，之后的数据视为未写完丢弃。
+ * 无效记录（被覆盖或删除的键）超过一半时在后台线程压缩，写入临时文件后替换原文件，
+ * 压缩期间的修改追加到新文件后再替换，替换成功前继续使用原文件。
+ */
+final class MappedStore {
+
+    private static final String TAG = MappedStore.class.getSimpleName();
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    /**
+     * 文件标识"KVS1"
+     */
+    private static final int MAGIC = 0x4B565331;
+    private static final int HEADER_SIZE = 4;
+    /**
+     * 记录头长度：内容长度和CRC32
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+    /**
+     * 最小映射大小
+     */
+    private static final int MIN_CAPACITY = 16 * 1024;
+    /**
+     * 文件小于此大小时不压缩
+     */
+    private static final int MIN_COMPACT_SIZE = 32 * 1024;
+
+    private static final byte TYPE_REMOVE = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_FLOAT = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    private static final byte TYPE_STRING_SET = 6;
+
+    /**
+     * 压缩线程，所有存储共用
+     */
+    private static Executor compactExecutor;
+
+    private final File file;
+    /**
+     * 当前值，Set为不可修改的副本
+     */
+    private final Map<String, Object> values = new HashMap<>();
+    /**
+     * 键最新记录的长度，用于计算无效数据大小
+     */
+    private Map<String, Integer> recordSizes = new HashMap<>();
+    /**
+     * 持有锁时使用的记录编码
+     */
+    private final RecordCodec codec = new RecordCodec();
+    /**
+     * 当前映射文件
+     */
+    private Mapping mapping;
+    /**
+     * 无效记录总长度
+     */
+    private int garbageSize;
+    /**
+     * 是否已安排压缩
+     */
+    private boolean compacting;
+    /**
+     * 压缩期间修改的键，未在压缩时为null
+     */
+    private Set<String> compactingKeys;
+    /**
+     * 已完成的压缩次数
+     */
+    private int compactCount;
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    private MappedStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * 打开存储，文件不存在时以初始数据创建
+     *
+     * @param file    文件
+     * @param initial 初始数据，只在文件不存在时写入，可为null
+     * @return 存储
+     * @throws IOException 文件读写失败
+     */
+    static MappedStore open(File file, Map<String, ?> initial) throws IOException {
+        MappedStore store = new MappedStore(file);
+        if (!file.exists()) {
+            //先写临时文件再改名，迁移中断时下次重新迁移
+            Map<String, Object> snapshot = new HashMap<>();
+            if (initial != null) {
+                for (Map.Entry<String, ?> entry : initial.entrySet()) {
+                    Object value = toStoredValue(entry.getValue());
+                    if (entry.getKey() != null && value != null) {
+                        snapshot.put(entry.getKey(), value);
+                    }
+                }
+            }
+            File temp = store.tempFile();
+            writeSnapshot(new RecordCodec(), snapshot, temp, new HashMap<String, Integer>());
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("rename failed: " + temp + " -> " + file);
+            }
+        }
+        store.load();
+        return store;
+    }
+
+    /**
+     * @param key 键
+     * @return 值，不存在返回null
+     */
+    synchronized Object get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * @param key 键
+     * @return 是否存在
+     */
+    synchronized boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * @return 全部数据副本
+     */
+    synchronized Map<String, Object> getAll() {
+        return new HashMap<>(values);
+    }
+
+    /**
+     * 写入修改，只追加到映射区域，不等待写入磁盘，
+     * 需要压缩时在后台线程执行
+     *
+     * @param changes 修改的值，值为null表示删除
+     * @param clear   是否先清除全部数据
+     * @return 是否全部写入
+     */
+    synchronized boolean write(Map<String, Object> changes, boolean clear) {
+        if (closed) {
+            Log.e(TAG, "->write after close " + file);
+            return false;
+        }
+        try {
+            if (clear) {
+                for (String key : new HashSet<>(values.keySet())) {
+                    if (!changes.containsKey(key)) {
+                        writeValue(key, null);
+                    }
+                }
+            }
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                writeValue(entry.getKey(), toStoredValue(entry.getValue()));
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            Log.e(TAG, "->write failed " + file);
+            return false;
+        } finally {
+            scheduleCompact();
+        }
+    }
+
+    /**
+     * 映射内容同步到磁盘，同步期间不持有锁
+     *
+     * @return 是否成功
+     */
+    boolean force() {
+        MappedByteBuffer forced = null;
+        try {
+            while (true) {
+                MappedByteBuffer target;
+                synchronized (this) {
+                    if (closed) {
+                        return false;
+                    }
+                    target = mapping.buffer;
+                }
+                //同步期间扩容或压缩替换了映射时再同步新的映射
+                if (target == forced) {
+                    return true;
+                }
+                target.force();
+                forced = target;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            Log.e(TAG, "->force failed " + file);
+            return false;
+        }
+    }
+
+    /**
+     * 关闭文件，之后的写入和同步返回false，读取仍返回关闭前的数据。
+     * 进行中的压缩完成后丢弃结果，映射区域由GC释放
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        mapping.close();
+    }
+
+    /**
+     * @return 已完成的压缩次数
+     */
+    synchronized int getCompactCount() {
+        return compactCount;
+    }
+
+    /**
+     * @return 当前写入位置，即文件头和全部记录（包括无效记录）的长度
+     */
+    synchronized int getLogSize() {
+        return mapping.position;
+    }
+
+    /**
+     * 追加一个键的记录
+     *
+     * @param key   键
+     * @param value 值，null表示删除
+     * @throws IOException 文件读写失败
+     */
+    private void writeValue(String key, Object value) throws IOException {
+        if (value == null && !values.containsKey(key)) {
+            return;
+        }
+        ByteBuffer record = codec.encode(key, value);
+        int size = record.remaining() + RECORD_HEADER_SIZE;
+        append(mapping, codec, record);
+        Integer previous = recordSizes.remove(key);
+        if (previous != null) {
+            garbageSize += previous;
+        }
+        if (value == null) {
+            values.remove(key);
+            garbageSize += size;
+        } else {
+            values.put(key, value);
+            recordSizes.put(key, size);
+        }
+        if (compactingKeys != null) {
+            compactingKeys.add(key);
+        }
+    }
+
+    /**
+     * 无效记录超过一半时安排后台压缩
+     */
+    private void scheduleCompact() {
+        int position = mapping.position;
+        if (compacting || position <= MIN_COMPACT_SIZE || garbageSize <= (position - HEADER_SIZE) / 2) {
+            return;
+        }
+        compacting = true;
+        compactExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                compact();
+            }
+        });
+    }
+
+    /**
+     * 压缩，在压缩线程执行。
+     * 当前数据写入临时文件并同步到磁盘，期间不持有锁；
+     * 之后追加压缩期间修改的键，临时文件替换原文件成功后才切换映射，
+     * 失败时继续使用原文件。
+     */
+    private void compact() {
+        Map<String, Object> snapshot;
+        synchronized (this) {
+            if (closed) {
+                compacting = false;
+                return;
+            }
+            snapshot = new HashMap<>(values);
+            compactingKeys = new HashSet<>();
+        }
+        File temp = tempFile();
+        Mapping compacted = null;
+        try {
+            Map<String, Integer> sizes = new HashMap<>();
+            int size = writeSnapshot(new RecordCodec(), snapshot, temp, sizes);
+            synchronized (this) {
+                //压缩期间已关闭，丢弃结果
+                if (closed) {
+                    temp.delete();
+                    compactingKeys = null;
+                    compacting = false;
+                    return;
+                }
+                compacted = Mapping.open(temp);
+                compacted.position = size;
+                int garbage = 0;
+                for (String key : compactingKeys) {
+                    Object value = values.get(key);
+                    if (value == null && !sizes.containsKey(key)) {
+                        continue;
+                    }
+                    ByteBuffer record = codec.encode(key, value);
+                    int recordSize = record.remaining() + RECORD_HEADER_SIZE;
+                    append(compacted, codec, record);
+                    Integer previous = sizes.remove(key);
+                    if (previous != null) {
+                        garbage += previous;
+                    }
+                    if (value == null) {
+                        garbage += recordSize;
+                    } else {
+                        sizes.put(key, recordSize);
+                    }
+                }
+                if (!temp.renameTo(file)) {
+                    throw new IOException("rename failed: " + temp + " -> " + file);
+                }
+                Mapping previous = mapping;
+                mapping = compacted;
+                compacted = null;
+                recordSizes = sizes;
+                garbageSize = garbage;
+                compactingKeys = null;
+                compacting = false;
+                compactCount++;
+                previous.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            Log.e(TAG, "->compact failed " + file);
+            if (compacted != null) {
+                compacted.close();
+            }
+            temp.delete();
+            synchronized (this) {
+                compactingKeys = null;
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * 读取文件并映射
+     *
+     * @throws IOException 文件读写失败
+     */
+    private void load() throws IOException {
+        values.clear();
+        recordSizes.clear();
+        garbageSize = 0;
+        Mapping loaded = Mapping.open(file);
+        MappedByteBuffer buffer = loaded.buffer;
+        int capacity = buffer.capacity();
+        if (buffer.getInt(0) != MAGIC) {
+            Log.e(TAG, "->invalid file " + file + ", data cleared");
+            loaded.zero(0, capacity);
+            buffer.putInt(0, MAGIC);
+        }
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > capacity - offset - RECORD_HEADER_SIZE) {
+                break;
+            }
+            int checksum = buffer.getInt(offset + 4);
+            ByteBuffer record = loaded.slice(offset + RECORD_HEADER_SIZE, length);
+            if (checksum != codec.checksum(record)) {
+                Log.e(TAG, "->crc mismatch at " + offset + ", following records dropped");
+                break;
+            }
+            int size = length + RECORD_HEADER_SIZE;
+            decode(record, size);
+            offset += size;
+        }
+        loaded.position = offset;
+        //丢弃未写完的记录，避免后续记录与残留数据混在一起
+        if (offset + RECORD_HEADER_SIZE <= capacity && buffer.getInt(offset) != 0) {
+            loaded.zero(offset, capacity);
+        }
+        mapping = loaded;
+    }
+
+    /**
+     * 解析一条记录
+     *
+     * @param record 记录内容
+     * @param size   记录总长度
+     */
+    private void decode(ByteBuffer record, int size) {
+        byte type = record.get();
+        String key = readString(record);
+        Integer previous = recordSizes.remove(key);
+        if (previous != null) {
+            garbageSize += previous;
+        }
+        Object value;
+        switch (type) {
+            case TYPE_STRING:
+                value = readString(record);
+                break;
+            case TYPE_INT:
+                value = record.getInt();
+                break;
+            case TYPE_LONG:
+                value = record.getLong();
+                break;
+            case TYPE_FLOAT:
+                value = record.getFloat();
+                break;
+            case TYPE_BOOLEAN:
+                value = record.get() != 0;
+                break;
+            case TYPE_STRING_SET:
+                int count = record.getInt();
+                Set<String> set = new HashSet<>();
+                for (int i = 0; i < count; i++) {
+                    set.add(readString(record));
+                }
+                value = Collections.unmodifiableSet(set);
+                break;
+            default:
+                value = null;
+                break;
+        }
+        if (value == null) {
+            values.remove(key);
+            garbageSize += size;
+        } else {
+            values.put(key, value);
+            recordSizes.put(key, size);
+        }
+    }
+
+    /**
+     * @return 压缩及迁移使用的临时文件
+     */
+    private File tempFile() {
+        return new File(file.getPath() + ".tmp");
+    }
+
+    /**
+     * 追加记录，空间不足时扩容
+     *
+     * @param mapping 映射文件
+     * @param codec   记录编码，用于计算校验
+     * @param record  记录内容
+     * @throws IOException 文件读写失败
+     */
+    private static void append(Mapping mapping, RecordCodec codec, ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        int size = length + RECORD_HEADER_SIZE;
+        int position = mapping.position;
+        if (position + size > mapping.buffer.capacity()) {
+            mapping.grow(position + size);
+        }
+        int checksum = codec.checksum(record);
+        ByteBuffer target = mapping.slice(position + RECORD_HEADER_SIZE, length);
+        target.put(record);
+        mapping.buffer.putInt(position + 4, checksum);
+        //长度最后写入，写入中断时该记录被视为未写完
+        mapping.buffer.putInt(position, length);
+        mapping.position = position + size;
+    }
+
+    /**
+     * 数据写入文件并同步到磁盘，预留与数据同样大小的追加空间
+     *
+     * @param codec    记录编码
+     * @param snapshot 数据
+     * @param target   目标文件
+     * @param sizes    输出每个键的记录长度
+     * @return 数据结束位置
+     * @throws IOException 文件读写失败
+     */
+    private static int writeSnapshot(RecordCodec codec, Map<String, Object> snapshot, File target, Map<String, Integer> sizes) throws IOException {
+        RandomAccessFile out = new RandomAccessFile(target, "rw");
+        try {
+            out.setLength(0);
+            FileChannel channel = out.getChannel();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).flip();
+            channel.write(header);
+            ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            int size = HEADER_SIZE;
+            for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+                ByteBuffer record = codec.encode(entry.getKey(), entry.getValue());
+                int recordSize = RECORD_HEADER_SIZE + record.remaining();
+                recordHeader.clear();
+                recordHeader.putInt(record.remaining()).putInt(codec.checksum(record)).flip();
+                channel.write(recordHeader);
+                channel.write(record);
+                sizes.put(entry.getKey(), recordSize);
+                size += recordSize;
+            }
+            int capacity = MIN_CAPACITY;
+            while (capacity < size * 2) {
+                capacity *= 2;
+            }
+            out.setLength(capacity);
+            channel.force(true);
+            return size;
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @param record 记录
+     * @return 读取的字符串
+     */
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * @param value 值
+     * @return 记录类型
+     */
+    private static byte typeOf(Object value) {
+        if (value instanceof String) {
+            return TYPE_STRING;
+        }
+        if (value instanceof Integer) {
+            return TYPE_INT;
+        }
+        if (value instanceof Long) {
+            return TYPE_LONG;
+        }
+        if (value instanceof Float) {
+            return TYPE_FLOAT;
+        }
+        if (value instanceof Boolean) {
+            return TYPE_BOOLEAN;
+        }
+        if (value instanceof Set) {
+            return TYPE_STRING_SET;
+        }
+        return TYPE_REMOVE;
+    }
+
+    /**
+     * @param value 值
+     * @return 可存储的值，Set转换为不可修改的副本，不支持的类型返回null
+     */
+    private static Object toStoredValue(Object value) {
+        if (value instanceof Set) {
+            Set<String> set = new HashSet<>();
+            for (Object item : (Set<?>) value) {
+                set.add(String.valueOf(item));
+            }
+            return Collections.unmodifiableSet(set);
+        }
+        return typeOf(value) == TYPE_REMOVE ? null : value;
+    }
+
+    /**
+     * @return 压缩线程
+     */
+    static synchronized Executor compactExecutor() {
+        if (compactExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread thread = new Thread(r, "MappedStore-compact");
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            compactExecutor = executor;
+        }
+        return compactExecutor;
+    }
+
+    /**
+     * 映射文件及写入位置
+     */
+    private static final class Mapping {
+
+        private final RandomAccessFile accessFile;
+        private MappedByteBuffer buffer;
+        /**
+         * 下一条记录写入位置
+         */
+        private int position;
+
+        private Mapping(RandomAccessFile accessFile, MappedByteBuffer buffer) {
+            this.accessFile = accessFile;
+            this.buffer = buffer;
+        }
+
+        /**
+         * 打开并映射文件
+         *
+         * @param file 文件
+         * @return 映射，写入位置为文件头之后
+         * @throws IOException 文件读写失败
+         */
+        static Mapping open(File file) throws IOException {
+            RandomAccessFile accessFile = new RandomAccessFile(file, "rw");
+            try {
+                int capacity = (int) Math.max(MIN_CAPACITY, accessFile.length());
+                MappedByteBuffer buffer = accessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                Mapping mapping = new Mapping(accessFile, buffer);
+                mapping.position = HEADER_SIZE;
+                return mapping;
+            } catch (IOException e) {
+                accessFile.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 扩大映射区域
+         *
+         * @param required 需要的大小
+         * @throws IOException 文件读写失败
+         */
+        void grow(int required) throws IOException {
+            long capacity = buffer.capacity();
+            while (capacity < required) {
+                capacity *= 2;
+            }
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IOException("store too large: " + required);
+            }
+            buffer = accessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        /**
+         * @param offset 开始位置
+         * @param length 长度
+         * @return 映射区域的片段
+         */
+        ByteBuffer slice(int offset, int length) {
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.limit(offset + length).position(offset);
+            return duplicate.slice();
+        }
+
+        /**
+         * 清零映射区域
+         *
+         * @param start 开始位置
+         * @param end   结束位置（不包含）
+         */
+        void zero(int start, int end) {
+            for (int i = start; i < end; i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+
+        /**
+         * 关闭文件，映射区域由GC释放
+         */
+        void close() {
+            try {
+                accessFile.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+    }
+
+    /**
+     * 记录编码及校验，非线程安全
+     */
+    private static final class RecordCodec {
+
+        private final CRC32 crc = new CRC32();
+        /**
+         * 计算校验时的读取缓冲
+         */
+        private final byte[] crcBytes = new byte[4096];
+        /**
+         * 记录编码缓冲
+         */
+        private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        /**
+         * 编码记录内容
+         *
+         * @param key   键
+         * @param value 值，null表示删除
+         * @return 记录内容，下次编码前有效
+         */
+        ByteBuffer encode(String key, Object value) {
+            byte[] keyBytes = key.getBytes(UTF_8);
+            buffer.clear();
+            ByteBuffer out = ensureCapacity(16 + keyBytes.length);
+            out.put(typeOf(value));
+            out.putInt(keyBytes.length).put(keyBytes);
+            if (value instanceof String) {
+                byte[] bytes = ((String) value).getBytes(UTF_8);
+                ensureCapacity(4 + bytes.length).putInt(bytes.length).put(bytes);
+            } else if (value instanceof Integer) {
+                out.putInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.putLong((Long) value);
+            } else if (value instanceof Float) {
+                out.putFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                out.put((byte) ((Boolean) value ? 1 : 0));
+            } else if (value instanceof Set) {
+                Set<?> set = (Set<?>) value;
+                ensureCapacity(4).putInt(set.size());
+                for (Object item : set) {
+                    byte[] bytes = String.valueOf(item).getBytes(UTF_8);
+                    ensureCapacity(4 + bytes.length).putInt(bytes.length).put(bytes);
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        /**
+         * @param size 需要的剩余空间
+         * @return 编码缓冲
+         */
+        private ByteBuffer ensureCapacity(int size) {
+            if (buffer.remaining() < size) {
+                int capacity = buffer.capacity();
+                while (capacity - buffer.position() < size) {
+                    capacity *= 2;
+                }
+                ByteBuffer expanded = ByteBuffer.allocate(capacity);
+                buffer.flip();
+                expanded.put(buffer);
+                buffer = expanded;
+            }
+            return buffer;
+        }
+
+        /**
+         * @param data 数据，读取后位置不变
+         * @return CRC32
+         */
+        int checksum(ByteBuffer data) {
+            crc.reset();
+            if (data.hasArray()) {
+                crc.update(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                return (int) crc.getValue();
+            }
+            ByteBuffer duplicate = data.duplicate();
+            while (duplicate.hasRemaining()) {
+                int length = Math.min(crcBytes.length, duplicate.remaining());
+                duplicate.get(crcBytes, 0, length);
+                crc.update(crcBytes, 0, length);
+            }
+            return (int) crc.getValue();
+        }
+
+    }
+
+}
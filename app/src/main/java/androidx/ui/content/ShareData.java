@@ -4,15 +4,62 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 分享数据
+ * 分享数据<br/>
+ * SharedPreferences对象只获取一次，读取过的值保存在内存缓存中，
+ * 多个值一起保存时使用{@link #edit(Context)}合并为一次提交。<br/>
+ * 调用{@link #useMappedStore(Context)}后改为内存映射文件存储，每次保存只追加修改的键。
  */
 public class ShareData {
 
     private static final String SHARE_PREFERENCE_NAME = "_SP_DATA";
     private static final String TAG = ShareData.class.getSimpleName();
+    /**
+     * 缓存中表示不存在的值
+     */
+    private static final Object ABSENT = new Object();
+    /**
+     * 已读取的值
+     */
+    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
+    /**
+     * 缓存修改次数，提交或监听到修改时增加，
+     * 读取期间有修改时读到的可能是旧值，不保留在缓存中
+     */
+    private static final AtomicLong VERSION = new AtomicLong();
+    /**
+     * 数据保存对象
+     */
+    private static volatile SharedPreferences preferences;
+    /**
+     * 内存映射存储，不为null时代替SharedPreferences
+     */
+    private static volatile MappedStore mappedStore;
+    /**
+     * 其他地方直接修改SharedPreferences时清除对应缓存，
+     * SharedPreferences只持有监听的弱引用，需要静态保存
+     */
+    private static final SharedPreferences.OnSharedPreferenceChangeListener CHANGE_LISTENER = new SharedPreferences.OnSharedPreferenceChangeListener() {
+        @Override
+        public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+            VERSION.incrementAndGet();
+            if (key == null) {
+                CACHE.clear();
+            } else {
+                CACHE.remove(key);
+            }
+        }
+    };
 
     /**
      * 数据存储构造函数
@@ -30,10 +77,92 @@ public class ShareData {
         if (context == null) {
             return null;
         }
+        SharedPreferences sp = preferences;
+        if (sp == null) {
+            synchronized (ShareData.class) {
+                sp = preferences;
+                if (sp == null) {
+                    String name = getName(context);
+                    Log.i(TAG, "->name = " + name);
+                    sp = context.getApplicationContext().getSharedPreferences(name, Context.MODE_PRIVATE);
+                    sp.registerOnSharedPreferenceChangeListener(CHANGE_LISTENER);
+                    preferences = sp;
+                }
+            }
+        }
+        return sp;
+    }
+
+    /**
+     * @param context 上下文
+     * @return 存储名称
+     */
+    private static String getName(Context context) {
         String PACKAGE_NAME = context.getApplicationContext().getPackageName().replace(".", "_").toUpperCase();
-        String name = PACKAGE_NAME +"_"+ SHARE_PREFERENCE_NAME;
-        Log.i(TAG, "->name = " + name);
-        return context.getSharedPreferences(name, Context.MODE_PRIVATE);
+        return PACKAGE_NAME + "_" + SHARE_PREFERENCE_NAME;
+    }
+
+    /**
+     * 使用内存映射文件存储，数据追加写入，适合频繁保存或值较大的情况。<br/>
+     * 第一次调用时迁移SharedPreferences中的数据，之后SharedPreferences文件不再更新，
+     * 需要在读写数据之前调用，建议在Application.onCreate中调用。
+     *
+     * @param context 上下文
+     * @return 是否成功，失败时继续使用SharedPreferences
+     */
+    public static boolean useMappedStore(Context context) {
+        if (mappedStore != null) {
+            return true;
+        }
+        synchronized (ShareData.class) {
+            if (mappedStore == null) {
+                File file = new File(context.getApplicationContext().getFilesDir(), getName(context) + ".kv");
+                try {
+                    Map<String, ?> initial = file.exists() ? null : getSharedPreferences(context).getAll();
+                    mappedStore = MappedStore.open(file, initial);
+                    CACHE.clear();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    Log.e(TAG, "->open mapped store failed " + file);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 子线程预加载数据，避免主线程第一次读取时等待文件解析，
+     * 建议在Application.onCreate中调用
+     *
+     * @param context 上下文
+     */
+    public static void preload(final Context context) {
+        if (context == null || preferences != null || mappedStore != null) {
+            return;
+        }
+        new Thread(TAG + "-preload") {
+            @Override
+            public void run() {
+                super.run();
+                //contains会等待文件加载完成
+                getSharedPreferences(context).contains(SHARE_PREFERENCE_NAME);
+            }
+        }.start();
+    }
+
+    /**
+     * 批量编辑，多个值一次提交
+     * <pre>
+     * ShareData.edit(context).put("token", token).put("login", true).apply();
+     * </pre>
+     *
+     * @param context 上下文
+     * @return 编辑器
+     */
+    public static Editor edit(Context context) {
+        MappedStore store = mappedStore;
+        return store != null ? new Editor(store) : new Editor(getSharedPreferences(context));
     }
 
     /**
@@ -44,9 +173,7 @@ public class ShareData {
      * @param value   值
      */
     public static void put(Context context, String key, String value) {
-        SharedPreferences.Editor editor = getSharedPreferences(context).edit();
-        editor.putString(key, value);
-        editor.apply();
+        edit(context).put(key, value).apply();
     }
 
     /**
@@ -57,9 +184,7 @@ public class ShareData {
      * @param value   值
      */
     public static void put(Context context, String key, int value) {
-        SharedPreferences.Editor editor = getSharedPreferences(context).edit();
-        editor.putInt(key, value);
-        editor.apply();
+        edit(context).put(key, value).apply();
     }
 
     /**
@@ -70,9 +195,7 @@ public class ShareData {
      * @param value   值
      */
     public static void put(Context context, String key, long value) {
-        SharedPreferences.Editor editor = getSharedPreferences(context).edit();
-        editor.putLong(key, value);
-        editor.apply();
+        edit(context).put(key, value).apply();
     }
 
     /**
@@ -83,9 +206,7 @@ public class ShareData {
      * @param value   值
      */
     public static void put(Context context, String key, boolean value) {
-        SharedPreferences.Editor editor = getSharedPreferences(context).edit();
-        editor.putBoolean(key, value);
-        editor.apply();
+        edit(context).put(key, value).apply();
     }
 
     /**
@@ -96,9 +217,7 @@ public class ShareData {
      * @param value   值
      */
     public static void put(Context context, String key, float value) {
-        SharedPreferences.Editor editor = getSharedPreferences(context).edit();
-        editor.putFloat(key, value);
-        editor.apply();
+        edit(context).put(key, value).apply();
     }
 
     /**
@@ -109,9 +228,17 @@ public class ShareData {
      * @param value   值
      */
     public static void put(Context context, String key, Set<String> value) {
-        SharedPreferences.Editor editor = getSharedPreferences(context).edit();
-        editor.putStringSet(key, value);
-        editor.apply();
+        edit(context).put(key, value).apply();
+    }
+
+    /**
+     * 删除
+     *
+     * @param context 上下文
+     * @param key     键
+     */
+    public static void remove(Context context, String key) {
+        edit(context).remove(key).apply();
     }
 
     /**
@@ -123,7 +250,8 @@ public class ShareData {
      * @return
      */
     public static String getString(Context context, String key, String defValue) {
-        return getSharedPreferences(context).getString(key, defValue);
+        Object value = get(context, key, String.class);
+        return value == ABSENT ? defValue : (String) value;
     }
 
     /**
@@ -135,7 +263,8 @@ public class ShareData {
      * @return
      */
     public static int getInt(Context context, String key, int defValue) {
-        return getSharedPreferences(context).getInt(key, defValue);
+        Object value = get(context, key, Integer.class);
+        return value == ABSENT ? defValue : (Integer) value;
     }
 
     /**
@@ -147,7 +276,21 @@ public class ShareData {
      * @return
      */
     public static long getLong(Context context, String key, long defValue) {
-        return getSharedPreferences(context).getLong(key, defValue);
+        Object value = get(context, key, Long.class);
+        return value == ABSENT ? defValue : (Long) value;
+    }
+
+    /**
+     * 获取float
+     *
+     * @param context  上下文
+     * @param key      键
+     * @param defValue 默认值
+     * @return
+     */
+    public static float getFloat(Context context, String key, float defValue) {
+        Object value = get(context, key, Float.class);
+        return value == ABSENT ? defValue : (Float) value;
     }
 
     /**
@@ -159,7 +302,8 @@ public class ShareData {
      * @return
      */
     public static boolean getBoolean(Context context, String key, boolean defValue) {
-        return getSharedPreferences(context).getBoolean(key, defValue);
+        Object value = get(context, key, Boolean.class);
+        return value == ABSENT ? defValue : (Boolean) value;
     }
 
     /**
@@ -168,10 +312,199 @@ public class ShareData {
      * @param context  上下文
      * @param key      键
      * @param defValue 默认值
-     * @return
+     * @return 不可修改的Set
      */
     public static Set<String> getStringSet(Context context, String key, Set defValue) {
-        return getSharedPreferences(context).getStringSet(key, defValue);
+        Object value = get(context, key, Set.class);
+        return value == ABSENT ? defValue : (Set<String>) value;
+    }
+
+    /**
+     * 从缓存获取值，没有缓存时从SharedPreferences读取
+     *
+     * @param context 上下文
+     * @param key     键
+     * @param type    值类型
+     * @return 不存在时返回{@link #ABSENT}
+     */
+    private static Object get(Context context, String key, Class<?> type) {
+        MappedStore store = mappedStore;
+        if (store != null) {
+            Object value = store.get(key);
+            return value == null ? ABSENT : value;
+        }
+        long version = VERSION.get();
+        Object value = CACHE.get(key);
+        if (value != null) {
+            return value;
+        }
+        SharedPreferences sp = getSharedPreferences(context);
+        if (!sp.contains(key)) {
+            value = ABSENT;
+        } else if (type == String.class) {
+            value = sp.getString(key, null);
+        } else if (type == Integer.class) {
+            value = sp.getInt(key, 0);
+        } else if (type == Long.class) {
+            value = sp.getLong(key, 0L);
+        } else if (type == Float.class) {
+            value = sp.getFloat(key, 0F);
+        } else if (type == Boolean.class) {
+            value = sp.getBoolean(key, false);
+        } else {
+            Set<String> set = sp.getStringSet(key, null);
+            value = set == null ? null : Collections.unmodifiableSet(new HashSet<>(set));
+        }
+        if (value == null) {
+            value = ABSENT;
+        }
+        //读取期间其他线程已写入时以写入的值为准
+        Object previous = CACHE.putIfAbsent(key, value);
+        if (previous != null) {
+            return previous;
+        }
+        //写入后监听可能已清除该键，读到的旧值不能留在缓存中
+        if (VERSION.get() != version) {
+            CACHE.remove(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 批量编辑器，提交时同时更新缓存
+     */
+    public static class Editor {
+
+        /**
+         * SharedPreferences编辑器，使用内存映射存储时为null
+         */
+        private final SharedPreferences.Editor editor;
+        private final MappedStore store;
+        /**
+         * 待更新缓存，值为null表示删除
+         */
+        private final Map<String, Object> changes = new HashMap<>();
+        private boolean clear;
+
+        private Editor(SharedPreferences sp) {
+            this.editor = sp.edit();
+            this.store = null;
+        }
+
+        private Editor(MappedStore store) {
+            this.editor = null;
+            this.store = store;
+        }
+
+        public Editor put(String key, String value) {
+            if (editor != null) {
+                editor.putString(key, value);
+            }
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor put(String key, int value) {
+            if (editor != null) {
+                editor.putInt(key, value);
+            }
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor put(String key, long value) {
+            if (editor != null) {
+                editor.putLong(key, value);
+            }
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor put(String key, boolean value) {
+            if (editor != null) {
+                editor.putBoolean(key, value);
+            }
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor put(String key, float value) {
+            if (editor != null) {
+                editor.putFloat(key, value);
+            }
+            changes.put(key, value);
+            return this;
+        }
+
+        public Editor put(String key, Set<String> value) {
+            if (editor != null) {
+                editor.putStringSet(key, value);
+            }
+            changes.put(key, value == null ? null : Collections.unmodifiableSet(new HashSet<>(value)));
+            return this;
+        }
+
+        public Editor remove(String key) {
+            if (editor != null) {
+                editor.remove(key);
+            }
+            changes.put(key, null);
+            return this;
+        }
+
+        /**
+         * 清除全部数据，与SharedPreferences一致，先清除再写入本次修改
+         *
+         * @return
+         */
+        public Editor clear() {
+            if (editor != null) {
+                editor.clear();
+            }
+            clear = true;
+            return this;
+        }
+
+        /**
+         * 异步提交，使用内存映射存储时只写入映射区域，压缩在后台线程执行
+         */
+        public void apply() {
+            if (store != null) {
+                store.write(changes, clear);
+                return;
+            }
+            updateCache();
+            editor.apply();
+        }
+
+        /**
+         * 同步提交
+         *
+         * @return 是否成功，使用内存映射存储时写入或同步到磁盘失败返回false
+         */
+        public boolean commit() {
+            if (store != null) {
+                boolean written = store.write(changes, clear);
+                return store.force() && written;
+            }
+            updateCache();
+            return editor.commit();
+        }
+
+        /**
+         * 更新缓存，值为null时与SharedPreferences一致视为删除
+         */
+        private void updateCache() {
+            VERSION.incrementAndGet();
+            if (clear) {
+                CACHE.clear();
+            }
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                Object value = entry.getValue();
+                CACHE.put(entry.getKey(), value == null ? ABSENT : value);
+            }
+        }
+
     }
 
 }
@@ -3,21 +3,46 @@ package androidx.ui.flow;
 import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
-import android.widget.FrameLayout;
+import android.view.ViewGroup;
 
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.ui.recycler.ViewHolder;
+import androidx.ui.recycler.ViewHolderPool;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * 流式布局适配器
+ * 流式布局适配器，数据改变时复用已有子视图，
+ * 移除的视图按布局资源放入回收池供后续使用。<br/>
+ * 数据量大时使用{@link #setRecyclerView(RecyclerView)}，只创建可见的item。
  */
 public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
 
+    /**
+     * 每种布局默认最大回收个数
+     */
+    public static final int DEFAULT_MAX_RECYCLED_VIEWS = 8;
+
     private List<T> items;
     private Context context;
     private FlowLayout flowLayout;
+    /**
+     * RecyclerView模式下的桥接适配器
+     */
+    private FlowRecyclerAdapter recyclerAdapter;
+    /**
+     * RecyclerView模式下的列表，作为item视图的父级
+     */
+    private RecyclerView recyclerView;
+    /**
+     * 与布局子视图顺序一致的视图容器
+     */
+    private final List<ViewHolder> holders = new ArrayList<>();
+    /**
+     * 回收池，按布局资源存放
+     */
+    private final ViewHolderPool recycledHolders = new ViewHolderPool(DEFAULT_MAX_RECYCLED_VIEWS);
     /**
      * 构建流式布局适配器
      *
@@ -33,7 +58,43 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
      * @param layout 布局
      */
     public void setFlowLayout(FlowLayout layout) {
+        if (flowLayout != null) {
+            flowLayout.removeAllViews();
+        }
+        holders.clear();
+        recycledHolders.clear();
+        recyclerAdapter = null;
+        recyclerView = null;
         this.flowLayout = layout;
+        if (layout != null) {
+            layout.removeAllViews();
+        }
+    }
+
+    /**
+     * 使用RecyclerView显示，只创建可见的item，滚动时回收复用，适合数据量大的情况。<br/>
+     * 未设置布局管理器时使用{@link FlowLayoutManager}，
+     * 相同布局资源的item复用视图，{@link ViewHolder#getViewType()}仍为{@link #getItemViewType(int)}的值。
+     *
+     * @param recyclerView 列表
+     */
+    public void setRecyclerView(RecyclerView recyclerView) {
+        setFlowLayout(null);
+        if (!(recyclerView.getLayoutManager() instanceof FlowLayoutManager)) {
+            recyclerView.setLayoutManager(new FlowLayoutManager());
+        }
+        this.recyclerView = recyclerView;
+        recyclerAdapter = new FlowRecyclerAdapter(this);
+        recyclerView.setAdapter(recyclerAdapter);
+    }
+
+    /**
+     * 设置每种布局最大回收个数
+     *
+     * @param maxRecycledViews 最大回收个数，0不回收
+     */
+    public void setMaxRecycledViews(int maxRecycledViews) {
+        recycledHolders.setMaxRecycledViews(maxRecycledViews);
     }
 
     /**
@@ -79,27 +140,128 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
     protected abstract int getItemLayoutResId(int viewType);
 
     /**
-     * 通知数据源改变
+     * 通知数据源改变，布局资源相同的位置直接重新绑定，不重新创建视图
      */
     public void notifyDataSetChanged() {
+        if (recyclerAdapter != null) {
+            recyclerAdapter.notifyDataSetChanged();
+            return;
+        }
+        if (flowLayout == null) {
+            return;
+        }
+        int count = getItemCount();
+        for (int i = 0; i < count; i++) {
+            if (i < holders.size() && isReusable(holders.get(i), i)) {
+                bindViewHolder(holders.get(i), i);
+            } else {
+                if (i < holders.size()) {
+                    recycle(i);
+                }
+                onCreate(flowLayout, i);
+            }
+        }
+        for (int i = holders.size() - 1; i >= count; i--) {
+            recycle(i);
+        }
+    }
+
+    /**
+     * 通知位置数据改变，只重新绑定该位置
+     *
+     * @param position 位置
+     */
+    public void notifyItemChanged(int position) {
+        if (recyclerAdapter != null) {
+            recyclerAdapter.notifyItemChanged(position);
+            return;
+        }
+        if (flowLayout == null || position < 0 || position >= holders.size()) {
+            return;
+        }
+        if (isReusable(holders.get(position), position)) {
+            bindViewHolder(holders.get(position), position);
+        } else {
+            recycle(position);
+            onCreate(flowLayout, position);
+        }
+    }
+
+    /**
+     * 通知位置插入数据，只创建该位置视图
+     *
+     * @param position 位置
+     */
+    public void notifyItemInserted(int position) {
+        if (recyclerAdapter != null) {
+            recyclerAdapter.notifyItemInserted(position);
+            return;
+        }
+        if (flowLayout == null) {
+            return;
+        }
+        if (holders.size() != getItemCount() - 1 || position < 0 || position > holders.size()) {
+            //视图与数据不一致时全部刷新
+            notifyDataSetChanged();
+            return;
+        }
+        onCreate(flowLayout, position);
+        updateItemPositions(position + 1);
+    }
+
+    /**
+     * 通知位置数据已删除，只移除该位置视图
+     *
+     * @param position 位置
+     */
+    public void notifyItemRemoved(int position) {
+        if (recyclerAdapter != null) {
+            recyclerAdapter.notifyItemRemoved(position);
+            return;
+        }
         if (flowLayout == null) {
             return;
         }
-        flowLayout.removeAllViews();
-        for (int i = 0; i < getItemCount(); i++) {
-            onCreate(flowLayout, i);
+        if (holders.size() != getItemCount() + 1 || position < 0 || position >= holders.size()) {
+            //视图与数据不一致时全部刷新
+            notifyDataSetChanged();
+            return;
+        }
+        recycle(position);
+        updateItemPositions(position);
+    }
+
+    /**
+     * 更新位置之后的视图容器位置及视图类型
+     *
+     * @param start 开始位置
+     */
+    private void updateItemPositions(int start) {
+        for (int i = start; i < holders.size(); i++) {
+            ViewHolder holder = holders.get(i);
+            holder.setItemPosition(i);
+            holder.setViewType(getItemViewType(i));
         }
     }
 
+    /**
+     * 视图容器能否直接用于该位置，视图类型默认为位置，按布局资源判断
+     *
+     * @param holder   视图容器
+     * @param position 位置
+     * @return 布局资源是否相同
+     */
+    private boolean isReusable(ViewHolder holder, int position) {
+        return getItemLayoutResId(holder.getViewType()) == getItemLayoutResId(getItemViewType(position));
+    }
+
     /**
      * @param viewType 视图类型
      * @return item视图
      */
     protected View getItemView(int viewType) {
-        FrameLayout parent = new FrameLayout(getContext());
-        View itemView = LayoutInflater.from(getContext()).inflate(getItemLayoutResId(viewType), parent, false);
-        parent.addView(itemView);
-        return parent;
+        ViewGroup parent = flowLayout != null ? flowLayout : recyclerView;
+        return LayoutInflater.from(getContext()).inflate(getItemLayoutResId(viewType), parent, false);
     }
 
     /**
@@ -107,12 +269,49 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
      * @param position 位置
      */
     protected void onCreate(FlowLayout parent, int position) {
-        View itemView = getItemView(getItemViewType(position));
-        ViewHolder holder = new ViewHolder(itemView, getItemViewType(position));
+        int viewType = getItemViewType(position);
+        ViewHolder holder = recycledHolders.obtain(getItemLayoutResId(viewType));
+        if (holder == null) {
+            View itemView = getItemView(viewType);
+            holder = new ViewHolder(itemView, viewType);
+            holder.setOnItemClickLister(this);
+        }
+        bindViewHolder(holder, position);
+        holders.add(position, holder);
+        parent.addView(holder.getItemView(), position);
+    }
+
+    /**
+     * 绑定视图数据
+     *
+     * @param holder   视图容器
+     * @param position 位置
+     */
+    private void bindViewHolder(ViewHolder holder, int position) {
         holder.setItemPosition(position);
-        holder.setOnItemClickLister(this);
+        holder.setViewType(getItemViewType(position));
         onItemBindViewHolder(holder, position);
-        parent.addView(itemView);
+    }
+
+    /**
+     * 移除位置视图并放入回收池
+     *
+     * @param position 位置
+     */
+    private void recycle(int position) {
+        ViewHolder holder = holders.remove(position);
+        flowLayout.removeView(holder.getItemView());
+        onViewRecycled(holder);
+        recycledHolders.put(getItemLayoutResId(holder.getViewType()), holder);
+    }
+
+    /**
+     * 视图被移除放入回收池，可在此释放图片等资源
+     *
+     * @param holder 视图容器
+     */
+    protected void onViewRecycled(ViewHolder holder) {
+
     }
 
     /**
@@ -130,7 +329,7 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
      */
     public void removeItem(int position) {
         items.remove(position);
-        notifyDataSetChanged();
+        notifyItemRemoved(position);
     }
 
     /**
@@ -143,7 +342,7 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
             items = new ArrayList<>();
         }
         items.add(item);
-        notifyDataSetChanged();
+        notifyItemInserted(items.size() - 1);
     }
 
     /**
@@ -157,7 +356,7 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
             items = new ArrayList<>();
         }
         items.add(position, item);
-        notifyDataSetChanged();
+        notifyItemInserted(position);
     }
 
     /**
@@ -170,7 +369,7 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
             items = new ArrayList<>();
         }
         items.add(0, item);
-        notifyDataSetChanged();
+        notifyItemInserted(0);
     }
 
     /**
@@ -182,9 +381,8 @@ public abstract class FlowAdapter<T> implements ViewHolder.OnItemClickLister {
         if (items == null) {
             items = new ArrayList<>();
         }
-        int position = getItemCount() == 0 ? 0 : getItemCount() - 1;
-        items.add(position, item);
-        notifyDataSetChanged();
+        items.add(item);
+        notifyItemInserted(items.size() - 1);
     }
 
     /**
@@ -10,16 +10,18 @@ import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.core.view.MarginLayoutParamsCompat;
 import androidx.core.view.ViewCompat;
 import androidx.ui.R;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * 水平布局子元素，直到行满，然后移动到下一行。 称呼
- * {@link FlowLayout#setSingleLine(boolean)} 禁用回流并将所有子级排成一行。
+ * {@link FlowLayout#setSingleLine(boolean)} 禁用回流并将所有子级排成一行。<br/>
+ * 测量结果按子视图缓存，只从第一个改变的子视图开始重新测量和换行，
+ * {@link FlowLayout#setMaxLines(int)} 超出行数的子视图不再测量。
  */
 public class FlowLayout extends ViewGroup {
 
@@ -27,6 +29,51 @@ public class FlowLayout extends ViewGroup {
     private int itemSpacing;
     private boolean singleLine;
     private int rowCount;
+    /**
+     * 最大行数，超出的子视图不测量也不显示
+     */
+    private int maxLines = Integer.MAX_VALUE;
+
+    //=========================[测量缓存]=========================
+    /**
+     * 缓存是否可用
+     */
+    private boolean cacheValid;
+    private int cachedWidthSpec;
+    private int cachedHeightSpec;
+    private int cachedPaddingStart;
+    private int cachedPaddingEnd;
+    private boolean cachedRtl;
+    /**
+     * 缓存对应的子视图
+     */
+    private View[] cachedChildren = new View[0];
+    /**
+     * 子视图测量时是否为GONE
+     */
+    private boolean[] cachedGones = new boolean[0];
+    /**
+     * 子视图测量宽高
+     */
+    private int[] cachedWidths = new int[0];
+    private int[] cachedHeights = new int[0];
+    /**
+     * 子视图相对内容区域的起始位置和顶部位置
+     */
+    private int[] childStarts = new int[0];
+    private int[] childTops = new int[0];
+    /**
+     * 子视图所在行，隐藏或超出最大行数为-1
+     */
+    private int[] childRows = new int[0];
+    /**
+     * 排列完该子视图后的状态：下一个起始位置、当前行顶部、当前行底部、最大结束位置、行数
+     */
+    private int[] nextStarts = new int[0];
+    private int[] lineTops = new int[0];
+    private int[] lineBottoms = new int[0];
+    private int[] maxEnds = new int[0];
+    private int[] rowCounts = new int[0];
 
     public FlowLayout(@NonNull Context context) {
         this(context, null);
@@ -53,6 +100,7 @@ public class FlowLayout extends ViewGroup {
         TypedArray array = context.obtainStyledAttributes(attrs, R.styleable.FlowLayout);
         lineSpacing = array.getDimensionPixelSize(R.styleable.FlowLayout_android_verticalSpacing, 0);
         itemSpacing = array.getDimensionPixelSize(R.styleable.FlowLayout_android_horizontalSpacing, 0);
+        maxLines = array.getInt(R.styleable.FlowLayout_android_maxLines, Integer.MAX_VALUE);
         array.recycle();
     }
 
@@ -70,7 +118,7 @@ public class FlowLayout extends ViewGroup {
      */
     public void setLineSpacing(int lineSpacing) {
         this.lineSpacing = lineSpacing;
-        invalidate();
+        invalidateMeasureCache();
     }
 
     /**
@@ -87,7 +135,7 @@ public class FlowLayout extends ViewGroup {
      */
     public void setItemSpacing(int itemSpacing) {
         this.itemSpacing = itemSpacing;
-        invalidate();
+        invalidateMeasureCache();
     }
 
     /**
@@ -102,6 +150,83 @@ public class FlowLayout extends ViewGroup {
      */
     public void setSingleLine(boolean singleLine) {
         this.singleLine = singleLine;
+        invalidateMeasureCache();
+    }
+
+    /**
+     * @return 最大行数
+     */
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    /**
+     * 设置最大行数，超出的子视图不测量也不显示
+     *
+     * @param maxLines 最大行数
+     */
+    public void setMaxLines(int maxLines) {
+        this.maxLines = maxLines <= 0 ? Integer.MAX_VALUE : maxLines;
+        invalidateMeasureCache();
+    }
+
+    /**
+     * 清除测量缓存并重新布局
+     */
+    public void invalidateMeasureCache() {
+        cacheValid = false;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * 确保缓存数组容量
+     *
+     * @param count 子视图个数
+     */
+    private void ensureCacheCapacity(int count) {
+        if (cachedChildren.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, cachedChildren.length * 2);
+        cachedChildren = Arrays.copyOf(cachedChildren, capacity);
+        cachedGones = Arrays.copyOf(cachedGones, capacity);
+        cachedWidths = Arrays.copyOf(cachedWidths, capacity);
+        cachedHeights = Arrays.copyOf(cachedHeights, capacity);
+        childStarts = Arrays.copyOf(childStarts, capacity);
+        childTops = Arrays.copyOf(childTops, capacity);
+        childRows = Arrays.copyOf(childRows, capacity);
+        nextStarts = Arrays.copyOf(nextStarts, capacity);
+        lineTops = Arrays.copyOf(lineTops, capacity);
+        lineBottoms = Arrays.copyOf(lineBottoms, capacity);
+        maxEnds = Arrays.copyOf(maxEnds, capacity);
+        rowCounts = Arrays.copyOf(rowCounts, capacity);
+    }
+
+    /**
+     * 第一个需要重新测量的子视图位置，之前的子视图沿用缓存的测量和排列结果，
+     * 增删子视图时从增删位置开始不一致，之前的位置不受影响
+     *
+     * @param count 子视图个数
+     * @return 位置
+     */
+    private int findFirstDirtyChild(int count) {
+        for (int i = 0; i < count; i++) {
+            View child = getChildAt(i);
+            boolean gone = child.getVisibility() == View.GONE;
+            if (cachedChildren[i] != child || cachedGones[i] != gone) {
+                return i;
+            }
+            //GONE的子视图不布局，请求布局标记一直存在，不作为改变
+            if (!gone && child.isLayoutRequested()) {
+                return i;
+            }
+            if (childRows[i] >= 0 && (child.getMeasuredWidth() != cachedWidths[i]
+                    || child.getMeasuredHeight() != cachedHeights[i])) {
+                return i;
+            }
+        }
+        return count;
     }
 
     @Override
@@ -110,53 +235,79 @@ public class FlowLayout extends ViewGroup {
         final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
         final int height = MeasureSpec.getSize(heightMeasureSpec);
         final int heightMode = MeasureSpec.getMode(heightMeasureSpec);
-        final int maxWidth = widthMode == MeasureSpec.AT_MOST || widthMode == MeasureSpec.EXACTLY ? width : Integer.MAX_VALUE;
-        int childLeft = getPaddingLeft();
-        int childTop = getPaddingTop();
-        int childBottom = childTop;
-        int childRight = childLeft;
-        int maxChildRight = 0;
-        final int maxRight = maxWidth - getPaddingRight();
-        for (int i = 0; i < getChildCount(); i++) {
+        final boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+        final int paddingStart = isRtl ? getPaddingRight() : getPaddingLeft();
+        final int paddingEnd = isRtl ? getPaddingLeft() : getPaddingRight();
+        final int count = getChildCount();
+        final int maxEnd = widthMode == MeasureSpec.AT_MOST || widthMode == MeasureSpec.EXACTLY
+                ? width - paddingStart - paddingEnd : Integer.MAX_VALUE;
+        ensureCacheCapacity(count);
+        int first = 0;
+        if (cacheValid && cachedWidthSpec == widthMeasureSpec && cachedHeightSpec == heightMeasureSpec
+                && cachedPaddingStart == paddingStart && cachedPaddingEnd == paddingEnd && cachedRtl == isRtl) {
+            first = findFirstDirtyChild(count);
+        }
+        //从第一个改变的子视图继续排列
+        int childStart = first == 0 ? 0 : nextStarts[first - 1];
+        int lineTop = first == 0 ? 0 : lineTops[first - 1];
+        int lineBottom = first == 0 ? 0 : lineBottoms[first - 1];
+        int maxChildEnd = first == 0 ? 0 : maxEnds[first - 1];
+        int rows = first == 0 ? 0 : rowCounts[first - 1];
+        for (int i = first; i < count; i++) {
             View child = getChildAt(i);
-            if (child.getVisibility() == View.GONE) {
-                continue;
-            }
-            measureChild(child, widthMeasureSpec, heightMeasureSpec);
-            LayoutParams lp = child.getLayoutParams();
-            int leftMargin = 0;
-            int rightMargin = 0;
-            if (lp instanceof MarginLayoutParams) {
-                MarginLayoutParams marginLp = (MarginLayoutParams) lp;
-                leftMargin += marginLp.leftMargin;
-                rightMargin += marginLp.rightMargin;
-            }
-            childRight = childLeft + leftMargin + child.getMeasuredWidth();
-            //如果当前孩子的右边界超过Flowlayout的最大右边界并且flowlayout是
-            //不局限于一行，将此子元素移动到下一行并将其左边界重置为
-            //flowlayout 的左边界。
-            if (childRight > maxRight && !isSingleLine()) {
-                childLeft = getPaddingLeft();
-                childTop = childBottom + lineSpacing;
-            }
-            childRight = childLeft + leftMargin + child.getMeasuredWidth();
-            childBottom = childTop + child.getMeasuredHeight();
-            //如果当前孩子的右边界超过它，则更新 Flowlayout 的最大右边界。
-            if (childRight > maxChildRight) {
-                maxChildRight = childRight;
-            }
-            childLeft += (leftMargin + rightMargin + child.getMeasuredWidth()) + itemSpacing;
-            // 对于所有前面的孩子，下一个考虑孩子的右边距
-            // 孩子的左边界 (childLeft)。 然而， childLeft 在最后一个孩子之后被忽略，所以
-            // 最后一个孩子的右边距需要显式添加到 Flowlayout 的最大右边界。
-            if (i == (getChildCount() - 1)) {
-                maxChildRight += rightMargin;
+            cachedChildren[i] = child;
+            cachedGones[i] = child.getVisibility() == View.GONE;
+            childRows[i] = -1;
+            if (child.getVisibility() != View.GONE && rows <= maxLines) {
+                LayoutParams lp = child.getLayoutParams();
+                int startMargin = 0;
+                int endMargin = 0;
+                int topMargin = 0;
+                int bottomMargin = 0;
+                if (lp instanceof MarginLayoutParams) {
+                    MarginLayoutParams marginLp = (MarginLayoutParams) lp;
+                    startMargin = isRtl ? marginLp.rightMargin : marginLp.leftMargin;
+                    endMargin = isRtl ? marginLp.leftMargin : marginLp.rightMargin;
+                    topMargin = marginLp.topMargin;
+                    bottomMargin = marginLp.bottomMargin;
+                }
+                //当前行放不下时换行，超出最大行数后不再测量后续子视图
+                measureChildWithMargins(child, widthMeasureSpec, 0, heightMeasureSpec, 0);
+                int childWidth = child.getMeasuredWidth();
+                if (rows == 0) {
+                    rows = 1;
+                } else if (!singleLine && childStart > 0 && childStart + startMargin + childWidth > maxEnd) {
+                    rows++;
+                    childStart = 0;
+                    lineTop = lineBottom + lineSpacing;
+                }
+                if (rows <= maxLines) {
+                    int childHeight = child.getMeasuredHeight();
+                    cachedWidths[i] = childWidth;
+                    cachedHeights[i] = childHeight;
+                    childStarts[i] = childStart + startMargin;
+                    childTops[i] = lineTop + topMargin;
+                    childRows[i] = rows - 1;
+                    lineBottom = Math.max(lineBottom, lineTop + topMargin + childHeight + bottomMargin);
+                    maxChildEnd = Math.max(maxChildEnd, childStart + startMargin + childWidth + endMargin);
+                    childStart += startMargin + childWidth + endMargin + itemSpacing;
+                }
             }
+            nextStarts[i] = childStart;
+            lineTops[i] = lineTop;
+            lineBottoms[i] = lineBottom;
+            maxEnds[i] = maxChildEnd;
+            rowCounts[i] = rows;
         }
-        maxChildRight += getPaddingRight();
-        childBottom += getPaddingBottom();
-        int finalWidth = getMeasuredDimension(width, widthMode, maxChildRight);
-        int finalHeight = getMeasuredDimension(height, heightMode, childBottom);
+        rowCount = Math.min(rows, maxLines);
+        cacheValid = true;
+        cachedWidthSpec = widthMeasureSpec;
+        cachedHeightSpec = heightMeasureSpec;
+        cachedPaddingStart = paddingStart;
+        cachedPaddingEnd = paddingEnd;
+        cachedRtl = isRtl;
+        int finalWidth = getMeasuredDimension(width, widthMode, maxChildEnd + paddingStart + paddingEnd);
+        int finalHeight = getMeasuredDimension(height, heightMode, lineBottom + getPaddingTop() + getPaddingBottom());
         setMeasuredDimension(finalWidth, finalHeight);
     }
 
@@ -173,52 +324,68 @@ public class FlowLayout extends ViewGroup {
 
     @Override
     protected void onLayout(boolean sizeChanged, int left, int top, int right, int bottom) {
-        if (getChildCount() == 0) {
+        int count = getChildCount();
+        if (!cacheValid || count > cachedChildren.length) {
+            //未经过测量直接布局时补充测量
+            measure(MeasureSpec.makeMeasureSpec(right - left, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(bottom - top, MeasureSpec.EXACTLY));
+        }
+        if (count == 0) {
             //没有孩子时不要重新布局。
             rowCount = 0;
             return;
         }
-        rowCount = 1;
-        boolean isRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
-        int paddingStart = isRtl ? getPaddingRight() : getPaddingLeft();
-        int paddingEnd = isRtl ? getPaddingLeft() : getPaddingRight();
-        int childStart = paddingStart;
-        int childTop = getPaddingTop();
-        int childBottom = childTop;
-        int childEnd;
-        final int maxChildEnd = right - left - paddingEnd;
-        for (int i = 0; i < getChildCount(); i++) {
+        boolean isRtl = cachedRtl;
+        int width = right - left;
+        int paddingTop = getPaddingTop();
+        for (int i = 0; i < count; i++) {
             View child = getChildAt(i);
+            int row = childRows[i];
+            child.setTag(R.id.row_index_key, row);
             if (child.getVisibility() == View.GONE) {
-                child.setTag(R.id.row_index_key, -1);
                 continue;
             }
-            LayoutParams lp = child.getLayoutParams();
-            int startMargin = 0;
-            int endMargin = 0;
-            if (lp instanceof MarginLayoutParams) {
-                MarginLayoutParams marginLp = (MarginLayoutParams) lp;
-                startMargin = MarginLayoutParamsCompat.getMarginStart(marginLp);
-                endMargin = MarginLayoutParamsCompat.getMarginEnd(marginLp);
-            }
-            childEnd = childStart + startMargin + child.getMeasuredWidth();
-            if (!singleLine && (childEnd > maxChildEnd)) {
-                childStart = paddingStart;
-                childTop = childBottom + lineSpacing;
-                rowCount++;
+            if (row < 0) {
+                //超出最大行数不显示
+                child.layout(0, 0, 0, 0);
+                continue;
             }
-            child.setTag(R.id.row_index_key, rowCount - 1);
-            childEnd = childStart + startMargin + child.getMeasuredWidth();
-            childBottom = childTop + child.getMeasuredHeight();
+            int childWidth = child.getMeasuredWidth();
+            int childTop = paddingTop + childTops[i];
+            int childBottom = childTop + child.getMeasuredHeight();
             if (isRtl) {
-                child.layout(maxChildEnd - childEnd, childTop, maxChildEnd - childStart - startMargin, childBottom);
+                int childRight = width - cachedPaddingStart - childStarts[i];
+                child.layout(childRight - childWidth, childTop, childRight, childBottom);
             } else {
-                child.layout(childStart + startMargin, childTop, childEnd, childBottom);
+                int childLeft = cachedPaddingStart + childStarts[i];
+                child.layout(childLeft, childTop, childLeft + childWidth, childBottom);
             }
-            childStart += (startMargin + endMargin + child.getMeasuredWidth()) + itemSpacing;
         }
     }
 
+    @Override
+    protected boolean checkLayoutParams(LayoutParams p) {
+        return p instanceof MarginLayoutParams;
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new MarginLayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public LayoutParams generateLayoutParams(AttributeSet attrs) {
+        return new MarginLayoutParams(getContext(), attrs);
+    }
+
+    @Override
+    protected LayoutParams generateLayoutParams(LayoutParams p) {
+        if (p instanceof MarginLayoutParams) {
+            return new MarginLayoutParams((MarginLayoutParams) p);
+        }
+        return new MarginLayoutParams(p);
+    }
+
     /**
      * @return 行数
      */
@@ -0,0 +1,645 @@
+package androidx.ui.flow;
+
+import android.graphics.PointF;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.LinearSmoothScroller;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 流式布局管理器，换行、间距规则与{@link FlowLayout}一致，
+ * 只创建可见行的item，滚动时由RecyclerView回收复用。<br/>
+ * 多行时纵向滚动，{@link #setSingleLine(boolean)}单行时横向滚动。
+ * item位置按顺序逐个测量并缓存，数据改变时只清除改变位置所在行之后的缓存。<br/>
+ * 滚动方向上尺寸不限（例如放在NestedScrollView中）时与LinearLayoutManager一致，布局全部item。
+ */
+public class FlowLayoutManager extends RecyclerView.LayoutManager implements RecyclerView.SmoothScroller.ScrollVectorProvider {
+
+    private int lineSpacing;
+    private int itemSpacing;
+    private boolean singleLine;
+
+    //=========================[位置缓存]=========================
+    /**
+     * 已测量item个数，从0开始连续
+     */
+    private int measuredCount;
+    /**
+     * item所在行
+     */
+    private int[] itemRows = new int[0];
+    /**
+     * item在行内的起始位置（包含外边距）
+     */
+    private int[] itemStarts = new int[0];
+    /**
+     * item宽高（包含装饰和外边距）
+     */
+    private int[] itemWidths = new int[0];
+    private int[] itemHeights = new int[0];
+    /**
+     * 已知行数，最后一行可能未测量完
+     */
+    private int rowCount;
+    /**
+     * 行第一个item位置
+     */
+    private int[] rowFirsts = new int[0];
+    /**
+     * 行顶部位置
+     */
+    private int[] rowTops = new int[0];
+    /**
+     * 行高度
+     */
+    private int[] rowHeights = new int[0];
+    /**
+     * 缓存对应的内容宽度
+     */
+    private int cachedContentWidth = -1;
+
+    //=========================[滚动]=========================
+    private int scrollX;
+    private int scrollY;
+    /**
+     * 等待滚动到的位置
+     */
+    private int pendingScrollPosition = RecyclerView.NO_POSITION;
+    /**
+     * 本次填充中已测量未添加的视图，只保留可见范围内的
+     */
+    private final SparseArray<View> measuredViews = new SparseArray<>();
+
+    public FlowLayoutManager() {
+    }
+
+    /**
+     * @param lineSpacing 行间距
+     * @param itemSpacing item间距
+     */
+    public FlowLayoutManager(int lineSpacing, int itemSpacing) {
+        this.lineSpacing = lineSpacing;
+        this.itemSpacing = itemSpacing;
+    }
+
+    /**
+     * @return 行间距
+     */
+    public int getLineSpacing() {
+        return lineSpacing;
+    }
+
+    /**
+     * 设置行间距
+     *
+     * @param lineSpacing 行间距
+     */
+    public void setLineSpacing(int lineSpacing) {
+        this.lineSpacing = lineSpacing;
+        invalidateFrom(0);
+        requestLayout();
+    }
+
+    /**
+     * @return item间距
+     */
+    public int getItemSpacing() {
+        return itemSpacing;
+    }
+
+    /**
+     * 设置item间距
+     *
+     * @param itemSpacing item间距
+     */
+    public void setItemSpacing(int itemSpacing) {
+        this.itemSpacing = itemSpacing;
+        invalidateFrom(0);
+        requestLayout();
+    }
+
+    /**
+     * @return 是否单行
+     */
+    public boolean isSingleLine() {
+        return singleLine;
+    }
+
+    /**
+     * 设置是否单行，单行时横向滚动
+     *
+     * @param singleLine 是否单行
+     */
+    public void setSingleLine(boolean singleLine) {
+        this.singleLine = singleLine;
+        scrollX = 0;
+        scrollY = 0;
+        invalidateFrom(0);
+        requestLayout();
+    }
+
+    @Override
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+        return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public boolean isAutoMeasureEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean canScrollVertically() {
+        return !singleLine;
+    }
+
+    @Override
+    public boolean canScrollHorizontally() {
+        return singleLine;
+    }
+
+    //=========================[数据改变]=========================
+
+    @Override
+    public void onAdapterChanged(RecyclerView.Adapter oldAdapter, RecyclerView.Adapter newAdapter) {
+        invalidateFrom(0);
+        scrollX = 0;
+        scrollY = 0;
+    }
+
+    @Override
+    public void onItemsChanged(RecyclerView recyclerView) {
+        invalidateFrom(0);
+    }
+
+    @Override
+    public void onItemsAdded(RecyclerView recyclerView, int positionStart, int itemCount) {
+        invalidateFrom(positionStart);
+    }
+
+    @Override
+    public void onItemsRemoved(RecyclerView recyclerView, int positionStart, int itemCount) {
+        invalidateFrom(positionStart);
+    }
+
+    @Override
+    public void onItemsUpdated(RecyclerView recyclerView, int positionStart, int itemCount) {
+        invalidateFrom(positionStart);
+    }
+
+    @Override
+    public void onItemsMoved(RecyclerView recyclerView, int from, int to, int itemCount) {
+        invalidateFrom(Math.min(from, to));
+    }
+
+    /**
+     * 清除位置所在行及之后的缓存
+     *
+     * @param position 位置
+     */
+    private void invalidateFrom(int position) {
+        if (position >= measuredCount) {
+            return;
+        }
+        int row = position <= 0 ? 0 : itemRows[position];
+        measuredCount = position <= 0 ? 0 : rowFirsts[row];
+        rowCount = row;
+    }
+
+    //=========================[测量]=========================
+
+    /**
+     * @return 是否从右到左布局
+     */
+    private boolean isRtl() {
+        return getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+    }
+
+    /**
+     * @return 内容宽度
+     */
+    private int getContentWidth() {
+        return getWidth() - getPaddingLeft() - getPaddingRight();
+    }
+
+    /**
+     * @return 内容高度
+     */
+    private int getContentHeight() {
+        return getHeight() - getPaddingTop() - getPaddingBottom();
+    }
+
+    /**
+     * @return 滚动方向上尺寸是否不限，不限时布局全部item
+     */
+    private boolean isInfinite() {
+        return singleLine ? getWidthMode() == View.MeasureSpec.UNSPECIFIED : getHeightMode() == View.MeasureSpec.UNSPECIFIED;
+    }
+
+    /**
+     * @param scroll 滚动位置
+     * @param extent 可见尺寸
+     * @return 可见范围结束位置
+     */
+    private int getVisibleEnd(int scroll, int extent) {
+        return isInfinite() ? Integer.MAX_VALUE : scroll + extent;
+    }
+
+    /**
+     * 确保缓存数组容量
+     *
+     * @param itemCount item个数
+     */
+    private void ensureCapacity(int itemCount) {
+        if (itemRows.length < itemCount) {
+            int capacity = Math.max(itemCount, itemRows.length * 2);
+            itemRows = Arrays.copyOf(itemRows, capacity);
+            itemStarts = Arrays.copyOf(itemStarts, capacity);
+            itemWidths = Arrays.copyOf(itemWidths, capacity);
+            itemHeights = Arrays.copyOf(itemHeights, capacity);
+        }
+        if (rowFirsts.length < rowCount + 1) {
+            int capacity = Math.max(16, rowFirsts.length * 2);
+            rowFirsts = Arrays.copyOf(rowFirsts, capacity);
+            rowTops = Arrays.copyOf(rowTops, capacity);
+            rowHeights = Arrays.copyOf(rowHeights, capacity);
+        }
+    }
+
+    /**
+     * 测量下一个item并计算位置，不在保留范围内的视图测量后立即回收
+     *
+     * @param recycler  回收器
+     * @param state     状态
+     * @param keepStart 保留范围开始位置
+     * @param keepEnd   保留范围结束位置
+     */
+    private void measureNextItem(RecyclerView.Recycler recycler, RecyclerView.State state, int keepStart, int keepEnd) {
+        int position = measuredCount;
+        ensureCapacity(state.getItemCount());
+        View view = obtainView(recycler, position);
+        RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) view.getLayoutParams();
+        int startMargin = isRtl() ? lp.rightMargin : lp.leftMargin;
+        int width = getDecoratedMeasuredWidth(view) + lp.leftMargin + lp.rightMargin;
+        int height = getDecoratedMeasuredHeight(view) + lp.topMargin + lp.bottomMargin;
+        int row;
+        int start;
+        if (position == 0) {
+            row = 0;
+            start = 0;
+        } else {
+            row = itemRows[position - 1];
+            start = itemStarts[position - 1] + itemWidths[position - 1] + itemSpacing;
+            //与FlowLayout一致，当前行放不下（不计结束外边距）时换行，行首item不换行
+            if (!singleLine && start + startMargin + getDecoratedMeasuredWidth(view) > cachedContentWidth) {
+                row++;
+                start = 0;
+            }
+        }
+        if (row == rowCount) {
+            ensureCapacity(state.getItemCount());
+            rowFirsts[row] = position;
+            rowTops[row] = row == 0 ? 0 : rowTops[row - 1] + rowHeights[row - 1] + lineSpacing;
+            rowHeights[row] = 0;
+            rowCount++;
+        }
+        rowHeights[row] = Math.max(rowHeights[row], height);
+        itemRows[position] = row;
+        itemStarts[position] = start;
+        itemWidths[position] = width;
+        itemHeights[position] = height;
+        measuredCount++;
+        int itemStart = singleLine ? start : rowTops[row];
+        int itemEnd = itemStart + (singleLine ? width : height);
+        if (itemEnd <= keepStart || itemStart >= keepEnd) {
+            measuredViews.remove(position);
+            recycler.recycleView(view);
+        }
+    }
+
+    /**
+     * 测量item直到覆盖滚动方向上的指定范围，最后一行需测量完整
+     *
+     * @param recycler 回收器
+     * @param state    状态
+     * @param start    开始位置，之前的视图测量后回收
+     * @param end      结束位置
+     */
+    private void measureUntil(RecyclerView.Recycler recycler, RecyclerView.State state, int start, int end) {
+        int itemCount = state.getItemCount();
+        while (measuredCount < itemCount) {
+            int last = measuredCount - 1;
+            if (last >= 0) {
+                if ((singleLine ? itemStarts[last] : rowTops[itemRows[last]]) >= end) {
+                    break;
+                }
+            }
+            measureNextItem(recycler, state, start, end);
+        }
+    }
+
+    /**
+     * 获取并测量视图，同一次填充中复用
+     *
+     * @param recycler 回收器
+     * @param position 位置
+     * @return
+     */
+    private View obtainView(RecyclerView.Recycler recycler, int position) {
+        View view = measuredViews.get(position);
+        if (view == null) {
+            view = recycler.getViewForPosition(position);
+            measureChildWithMargins(view, 0, 0);
+            measuredViews.put(position, view);
+        }
+        return view;
+    }
+
+    /**
+     * @return 已测量内容的结束位置
+     */
+    private int getMeasuredContentEnd() {
+        if (measuredCount == 0) {
+            return 0;
+        }
+        int last = measuredCount - 1;
+        if (singleLine) {
+            return itemStarts[last] + itemWidths[last];
+        }
+        return rowTops[rowCount - 1] + rowHeights[rowCount - 1];
+    }
+
+    //=========================[布局]=========================
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (state.isPreLayout()) {
+            return;
+        }
+        int itemCount = state.getItemCount();
+        if (itemCount == 0) {
+            removeAndRecycleAllViews(recycler);
+            invalidateFrom(0);
+            scrollX = 0;
+            scrollY = 0;
+            return;
+        }
+        if (cachedContentWidth != getContentWidth()) {
+            cachedContentWidth = getContentWidth();
+            invalidateFrom(0);
+        }
+        if (measuredCount > itemCount) {
+            invalidateFrom(itemCount);
+        }
+        detachAndScrapAttachedViews(recycler);
+        if (pendingScrollPosition != RecyclerView.NO_POSITION) {
+            int position = Math.min(pendingScrollPosition, itemCount - 1);
+            pendingScrollPosition = RecyclerView.NO_POSITION;
+            //目标位置之前的item只需要位置，测量后立即回收
+            int scroll = singleLine ? scrollX : scrollY;
+            int end = getVisibleEnd(scroll, singleLine ? getContentWidth() : getContentHeight());
+            while (measuredCount <= position) {
+                measureNextItem(recycler, state, scroll, end);
+            }
+            if (singleLine) {
+                scrollX = itemStarts[position];
+            } else {
+                scrollY = rowTops[itemRows[position]];
+            }
+        }
+        fill(recycler, state);
+    }
+
+    /**
+     * 填充可见范围内的item
+     *
+     * @param recycler 回收器
+     * @param state    状态
+     */
+    private void fill(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        int contentWidth = getContentWidth();
+        int contentHeight = getContentHeight();
+        if (isInfinite()) {
+            scrollX = 0;
+            scrollY = 0;
+        }
+        if (singleLine) {
+            measureUntil(recycler, state, scrollX, getVisibleEnd(scrollX, contentWidth));
+        } else {
+            measureUntil(recycler, state, scrollY, getVisibleEnd(scrollY, contentHeight));
+        }
+        //数据减少后滚动位置可能超出内容
+        if (measuredCount == state.getItemCount() && !isInfinite()) {
+            int end = getMeasuredContentEnd();
+            if (singleLine) {
+                scrollX = Math.max(0, Math.min(scrollX, end - contentWidth));
+            } else {
+                scrollY = Math.max(0, Math.min(scrollY, end - contentHeight));
+            }
+        }
+        boolean rtl = isRtl();
+        int left = scrollX;
+        int right = singleLine ? getVisibleEnd(scrollX, contentWidth) : scrollX + contentWidth;
+        int bottom = singleLine ? scrollY + contentHeight : getVisibleEnd(scrollY, contentHeight);
+        int position = singleLine ? findFirstItemAfter(scrollX) : rowFirsts[findFirstRowAfter(scrollY)];
+        for (; position < measuredCount; position++) {
+            int row = itemRows[position];
+            if (rowTops[row] >= bottom) {
+                break;
+            }
+            int start = itemStarts[position];
+            if (start >= right) {
+                if (singleLine) {
+                    break;
+                }
+                continue;
+            }
+            if (start + itemWidths[position] <= left) {
+                continue;
+            }
+            View view = obtainView(recycler, position);
+            measuredViews.remove(position);
+            addView(view);
+            int itemLeft = start - scrollX;
+            int itemTop = getPaddingTop() + rowTops[row] - scrollY;
+            if (rtl) {
+                int itemRight = getWidth() - getPaddingRight() - itemLeft;
+                layoutDecoratedWithMargins(view, itemRight - itemWidths[position], itemTop, itemRight, itemTop + itemHeights[position]);
+            } else {
+                itemLeft += getPaddingLeft();
+                layoutDecoratedWithMargins(view, itemLeft, itemTop, itemLeft + itemWidths[position], itemTop + itemHeights[position]);
+            }
+        }
+        //测量过但不可见的视图回收
+        for (int i = 0; i < measuredViews.size(); i++) {
+            recycler.recycleView(measuredViews.valueAt(i));
+        }
+        measuredViews.clear();
+    }
+
+    /**
+     * 回收滚动后未重新添加的废弃视图，滚动不会触发布局，RecyclerView不会清理废弃视图
+     *
+     * @param recycler 回收器
+     */
+    private void recycleScrap(RecyclerView.Recycler recycler) {
+        List<RecyclerView.ViewHolder> scrapList = new ArrayList<>(recycler.getScrapList());
+        for (RecyclerView.ViewHolder holder : scrapList) {
+            removeAndRecycleView(holder.itemView, recycler);
+        }
+    }
+
+    /**
+     * @param y 纵向位置
+     * @return 底部超过位置的第一行
+     */
+    private int findFirstRowAfter(int y) {
+        int low = 0;
+        int high = rowCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rowTops[middle] + rowHeights[middle] <= y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.max(0, low);
+    }
+
+    /**
+     * @param x 横向位置
+     * @return 结束位置超过x的第一个item
+     */
+    private int findFirstItemAfter(int x) {
+        int low = 0;
+        int high = measuredCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (itemStarts[middle] + itemWidths[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.max(0, low);
+    }
+
+    //=========================[滚动]=========================
+
+    @Override
+    public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (singleLine || getChildCount() == 0 || dy == 0) {
+            return 0;
+        }
+        detachAndScrapAttachedViews(recycler);
+        int target = scrollY + dy;
+        if (dy > 0) {
+            measureUntil(recycler, state, target, target + getContentHeight());
+            if (measuredCount == state.getItemCount()) {
+                target = Math.min(target, Math.max(0, getMeasuredContentEnd() - getContentHeight()));
+            }
+        } else {
+            target = Math.max(0, target);
+        }
+        int consumed = target - scrollY;
+        scrollY = target;
+        fill(recycler, state);
+        recycleScrap(recycler);
+        return consumed;
+    }
+
+    @Override
+    public int scrollHorizontallyBy(int dx, RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (!singleLine || getChildCount() == 0 || dx == 0) {
+            return 0;
+        }
+        detachAndScrapAttachedViews(recycler);
+        int target = scrollX + dx;
+        if (dx > 0) {
+            measureUntil(recycler, state, target, target + getContentWidth());
+            if (measuredCount == state.getItemCount()) {
+                target = Math.min(target, Math.max(0, getMeasuredContentEnd() - getContentWidth()));
+            }
+        } else {
+            target = Math.max(0, target);
+        }
+        int consumed = target - scrollX;
+        scrollX = target;
+        fill(recycler, state);
+        recycleScrap(recycler);
+        return consumed;
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        pendingScrollPosition = position;
+        requestLayout();
+    }
+
+    @Override
+    public void smoothScrollToPosition(RecyclerView recyclerView, RecyclerView.State state, int position) {
+        LinearSmoothScroller scroller = new LinearSmoothScroller(recyclerView.getContext());
+        scroller.setTargetPosition(position);
+        startSmoothScroll(scroller);
+    }
+
+    @Override
+    public PointF computeScrollVectorForPosition(int targetPosition) {
+        if (getChildCount() == 0) {
+            return null;
+        }
+        int direction = targetPosition < getPosition(getChildAt(0)) ? -1 : 1;
+        return singleLine ? new PointF(direction, 0) : new PointF(0, direction);
+    }
+
+    //=========================[滚动条]=========================
+
+    /**
+     * @return 估算的内容总长度，未测量部分按已测量平均值计算
+     */
+    private int estimateContentLength(RecyclerView.State state) {
+        int end = getMeasuredContentEnd();
+        if (measuredCount == 0 || measuredCount >= state.getItemCount()) {
+            return end;
+        }
+        return (int) ((long) end * state.getItemCount() / measuredCount);
+    }
+
+    @Override
+    public int computeVerticalScrollOffset(RecyclerView.State state) {
+        return scrollY;
+    }
+
+    @Override
+    public int computeVerticalScrollExtent(RecyclerView.State state) {
+        return getContentHeight();
+    }
+
+    @Override
+    public int computeVerticalScrollRange(RecyclerView.State state) {
+        return singleLine ? 0 : estimateContentLength(state);
+    }
+
+    @Override
+    public int computeHorizontalScrollOffset(RecyclerView.State state) {
+        return scrollX;
+    }
+
+    @Override
+    public int computeHorizontalScrollExtent(RecyclerView.State state) {
+        return getContentWidth();
+    }
+
+    @Override
+    public int computeHorizontalScrollRange(RecyclerView.State state) {
+        return singleLine ? estimateContentLength(state) : 0;
+    }
+
+}
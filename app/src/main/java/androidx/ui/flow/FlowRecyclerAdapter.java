@@ -0,0 +1,64 @@
+package androidx.ui.flow;
+
+import android.util.SparseIntArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.ui.recycler.ViewHolder;
+
+/**
+ * 流式布局适配器在RecyclerView中的桥接，
+ * 视图创建、绑定和回收都交给{@link FlowAdapter}处理。<br/>
+ * {@link FlowAdapter#getItemViewType(int)}默认为位置，RecyclerView的视图类型使用布局资源，
+ * 相同布局的item可以复用，视图由{@link FlowAdapter#getItemView(int)}创建。
+ */
+class FlowRecyclerAdapter extends RecyclerView.Adapter<ViewHolder> {
+
+    private final FlowAdapter<?> adapter;
+    /**
+     * 布局资源对应的最近一次视图类型，创建视图时使用
+     */
+    private final SparseIntArray viewTypes = new SparseIntArray();
+
+    FlowRecyclerAdapter(FlowAdapter<?> adapter) {
+        this.adapter = adapter;
+    }
+
+    @Override
+    public int getItemCount() {
+        return adapter.getItemCount();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        int viewType = adapter.getItemViewType(position);
+        int layoutResId = adapter.getItemLayoutResId(viewType);
+        viewTypes.put(layoutResId, viewType);
+        return layoutResId;
+    }
+
+    @Override
+    public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        //RecyclerView的视图类型即布局资源，创建前已调用getItemViewType
+        int itemViewType = viewTypes.get(viewType);
+        View itemView = adapter.getItemView(itemViewType);
+        ViewHolder holder = new ViewHolder(itemView, itemViewType);
+        holder.setOnItemClickLister(adapter);
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(ViewHolder holder, int position) {
+        //位置由RecyclerView维护，插入删除后不需要重新绑定
+        holder.setItemPosition(RecyclerView.NO_POSITION);
+        holder.setViewType(adapter.getItemViewType(position));
+        adapter.onItemBindViewHolder(holder, position);
+    }
+
+    @Override
+    public void onViewRecycled(ViewHolder holder) {
+        adapter.onViewRecycled(holder);
+    }
+
+}
@@ -5,15 +5,12 @@ import android.text.TextUtils;
 import android.util.Log;
 
 import androidx.ui.R;
+import androidx.ui.text.DateTime;
 import androidx.ui.text.Time;
+import androidx.ui.wheel.WheelRangeDataSource;
 
-import java.text.DecimalFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
+import java.util.TimeZone;
 
 /**
  * 日期选择器
@@ -38,6 +35,10 @@ public class DatePicker extends WheelPicker {
      * 确认监听
      */
     private OnDatePickerConfirmListener onDatePickerConfirmListener;
+    /**
+     * 日期计算，滚动时复用，不创建Calendar
+     */
+    private final DateTime dateTime = new DateTime();
 
     public DatePicker(Context context) {
         super(context, 6);
@@ -46,11 +47,9 @@ public class DatePicker extends WheelPicker {
         for (int i = 0; i < 6; i++) {
             setUnit(i, UNIT[i]);
         }
-        Calendar calendar = Calendar.getInstance();
-        long time = calendar.getTimeInMillis();
+        long time = System.currentTimeMillis();
         setSelected(time);
-        calendar.add(Calendar.YEAR, 80);
-        setBoundary(time, calendar.getTimeInMillis());
+        setBoundary(time, dateTime.setTimeInMillis(time).addYears(80).getTimeInMillis());
     }
 
     /**
@@ -90,13 +89,10 @@ public class DatePicker extends WheelPicker {
             Log.e(TAG, "setBoundary start or end is empty.");
             return;
         }
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat(pattern);
-            long startTime = dateFormat.parse(start).getTime();
-            long endTime = dateFormat.parse(end).getTime();
-            setBoundary(startTime, endTime);
-        } catch (ParseException e) {
-            e.printStackTrace();
+        Date startDate = Time.parse(start, pattern);
+        Date endDate = Time.parse(end, pattern);
+        if (startDate != null && endDate != null) {
+            setBoundary(startDate.getTime(), endDate.getTime());
         }
     }
 
@@ -122,10 +118,9 @@ public class DatePicker extends WheelPicker {
      * @param pattern 时间格式
      */
     public void setSelected(String text, String pattern) {
-        try {
-            setSelected(new SimpleDateFormat(pattern).parse(text).getTime());
-        } catch (ParseException e) {
-            e.printStackTrace();
+        Date date = Time.parse(text, pattern);
+        if (date != null) {
+            setSelected(date.getTime());
         }
     }
 
@@ -141,7 +136,22 @@ public class DatePicker extends WheelPicker {
      * @return 格式化选中时间
      */
     public String getSelectedFormatDate(String pattern) {
-        return new SimpleDateFormat(pattern).format(new Date(selected));
+        return Time.format(selected, pattern);
+    }
+
+    /**
+     * 设置滚轮数值范围，文字在滚轮绘制时才生成
+     *
+     * @param wheel  滚轮位置
+     * @param min    最小值
+     * @param max    最大值（包含）
+     * @param digits 最少位数，不足补0
+     * @return 数据源
+     */
+    protected WheelRangeDataSource setDatePickRange(int wheel, int min, int max, int digits) {
+        WheelRangeDataSource source = new WheelRangeDataSource(min, max, digits, getUnit(wheel));
+        getWheel(wheel).setDataSource(source);
+        return source;
     }
 
     /**
@@ -152,28 +162,19 @@ public class DatePicker extends WheelPicker {
      * @param selectedYear 选择年份
      */
     protected void setDatePickYear(int startYear, int endYear, int selectedYear) {
-        List<String> years = new ArrayList<>();
-        int yearIndex = 0;
-        String unit = getUnit(0);
-        for (int i = startYear; i <= endYear; i++) {
-            if (i == selectedYear) {
-                yearIndex = i - startYear;
-            }
-            years.add(i + unit);
-        }
-        getWheel(0).setDataSource(years);
+        WheelRangeDataSource years = setDatePickRange(0, startYear, endYear, 0);
+        int yearIndex = Math.max(0, years.indexOf(selectedYear));
         getWheel(0).setCurrentIndex(yearIndex);
         getWheel(0).setOnWheelChangedListener((view, oldIndex, newIndex) -> {
-            int year = Integer.parseInt(trimUnit(unit, view.getCurrentItem().toString()));
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTimeInMillis(start);
-            int startMonth = calendar.get(Calendar.MONTH) + 1;
-            calendar.setTimeInMillis(end);
-            int endMonth = calendar.get(Calendar.MONTH) + 1;
-            calendar.setTimeInMillis(selected);
-            int selectedMonth = calendar.get(Calendar.MONTH) + 1;
-            calendar.set(Calendar.YEAR, year);
-            setSelected(calendar.getTimeInMillis());
+            int year = years.getValue(view.getCurrentIndex());
+            dateTime.setTimeInMillis(start);
+            int startMonth = dateTime.getMonth();
+            dateTime.setTimeInMillis(end);
+            int endMonth = dateTime.getMonth();
+            dateTime.setTimeInMillis(selected);
+            int selectedMonth = dateTime.getMonth();
+            dateTime.setYear(year);
+            setSelected(dateTime.getTimeInMillis());
             setDatePickMonth(startYear, endYear, year, startMonth, endMonth, selectedMonth);
         });
     }
@@ -190,48 +191,33 @@ public class DatePicker extends WheelPicker {
      */
     protected void setDatePickMonth(int startYear, int endYear, int selectedYear,
                                     int startMonth, int endMonth, int selectedMonth) {
-        DecimalFormat decimalFormat = new DecimalFormat("00");
-        String unit = getUnit(1);
-        List<String> months = new ArrayList<>();
-        int monthIndex = 0;
-        //选择年份和开始年份相同
+        int min, max;
         if (selectedYear == startYear) {
-            for (int i = startMonth; i < 13; i++) {
-                if (i == selectedMonth) {
-                    monthIndex = i - startMonth;
-                }
-                months.add(decimalFormat.format(i) + unit);
-            }
+            //选择年份和开始年份相同
+            min = startMonth;
+            max = 12;
         } else if (selectedYear == endYear) {
             //选择年份和结束年份相同
-            for (int i = 1; i <= endMonth; i++) {
-                if (i == selectedMonth) {
-                    monthIndex = i - 1;
-                }
-                months.add(decimalFormat.format(i) + unit);
-            }
+            min = 1;
+            max = endMonth;
         } else {
-            for (int i = 1; i < 13; i++) {
-                if (i == selectedMonth) {
-                    monthIndex = i - 1;
-                }
-                months.add(decimalFormat.format(i) + unit);
-            }
+            min = 1;
+            max = 12;
         }
-        getWheel(1).setDataSource(months);
+        WheelRangeDataSource months = setDatePickRange(1, min, max, 2);
+        int monthIndex = Math.max(0, months.indexOf(selectedMonth));
         getWheel(1).setOnWheelChangedListener(null);
         getWheel(1).setCurrentIndex(monthIndex);
         getWheel(1).setOnWheelChangedListener((view, oldIndex, newIndex) -> {
-            int month = Integer.parseInt(trimUnit(unit, view.getCurrentItem().toString()));
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTimeInMillis(start);
-            int startDay = calendar.get(Calendar.DAY_OF_MONTH);
-            calendar.setTimeInMillis(end);
-            int endDay = calendar.get(Calendar.DAY_OF_MONTH);
-            calendar.setTimeInMillis(selected);
-            int selectedDay = calendar.get(Calendar.DAY_OF_MONTH);
-            calendar.set(Calendar.MONTH, month - 1);
-            setSelected(calendar.getTimeInMillis());
+            int month = months.getValue(view.getCurrentIndex());
+            dateTime.setTimeInMillis(start);
+            int startDay = dateTime.getDay();
+            dateTime.setTimeInMillis(end);
+            int endDay = dateTime.getDay();
+            dateTime.setTimeInMillis(selected);
+            int selectedDay = dateTime.getDay();
+            dateTime.setMonth(month);
+            setSelected(dateTime.getTimeInMillis());
             setDatePickerDay(startYear, endYear, selectedYear, startMonth, endMonth, month, startDay, endDay, selectedDay);
         });
     }
@@ -253,47 +239,32 @@ public class DatePicker extends WheelPicker {
                                     int startMonth, int endMonth, int selectedMonth,
                                     int startDay, int endDay, int selectedDay
     ) {
-        DecimalFormat decimalFormat = new DecimalFormat("00");
-        String unit = getUnit(2);
-        List<String> days = new ArrayList<>();
-        int dayIndex = 0;
+        int min, max;
         if (selectedYear == startYear && selectedMonth == startMonth) {
-            for (int i = startDay; i <= Time.days(selectedYear, selectedMonth); i++) {
-                if (i == selectedDay) {
-                    dayIndex = i - startDay;
-                }
-                days.add(decimalFormat.format(i) + unit);
-            }
+            min = startDay;
+            max = Time.days(selectedYear, selectedMonth);
         } else if (selectedYear == endYear && selectedMonth == endMonth) {
-            for (int i = 1; i <= endDay; i++) {
-                if (i == selectedDay) {
-                    dayIndex = i - 1;
-                }
-                days.add(decimalFormat.format(i) + unit);
-            }
+            min = 1;
+            max = endDay;
         } else {
-            for (int i = 1; i <= Time.days(selectedYear, selectedMonth); i++) {
-                if (i == selectedDay) {
-                    dayIndex = i - 1;
-                }
-                days.add(decimalFormat.format(i) + unit);
-            }
+            min = 1;
+            max = Time.days(selectedYear, selectedMonth);
         }
-        getWheel(2).setDataSource(days);
+        WheelRangeDataSource days = setDatePickRange(2, min, max, 2);
+        int dayIndex = Math.max(0, days.indexOf(selectedDay));
         getWheel(2).setOnWheelChangedListener(null);
         getWheel(2).setCurrentIndex(dayIndex);
         getWheel(2).setOnWheelChangedListener((view, oldIndex, newIndex) -> {
-            int day = Integer.parseInt(trimUnit(unit, view.getCurrentItem().toString()));
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTimeInMillis(start);
-            int startHour = calendar.get(Calendar.HOUR_OF_DAY);
-            calendar.setTimeInMillis(end);
-            int endHour = calendar.get(Calendar.HOUR_OF_DAY);
-            calendar.setTimeInMillis(selected);
-            int selectedHour = calendar.get(Calendar.HOUR_OF_DAY);
-            int month = calendar.get(Calendar.MONTH) + 1;
-            calendar.set(Calendar.DAY_OF_MONTH, day);
-            setSelected(calendar.getTimeInMillis());
+            int day = days.getValue(view.getCurrentIndex());
+            dateTime.setTimeInMillis(start);
+            int startHour = dateTime.getHour();
+            dateTime.setTimeInMillis(end);
+            int endHour = dateTime.getHour();
+            dateTime.setTimeInMillis(selected);
+            int selectedHour = dateTime.getHour();
+            int month = dateTime.getMonth();
+            dateTime.setDay(day);
+            setSelected(dateTime.getTimeInMillis());
             setDatePickerHour(startYear, endYear, selectedYear, startMonth, endMonth, month, startDay, endDay, day, startHour, endHour, selectedHour);
         });
     }
@@ -319,47 +290,32 @@ public class DatePicker extends WheelPicker {
                                      int startDay, int endDay, int selectedDay,
                                      int startHour, int endHour, int selectedHour
     ) {
-        DecimalFormat decimalFormat = new DecimalFormat("00");
-        String unit = getUnit(3);
-        List<String> hours = new ArrayList<>();
-        int hourIndex = 0;
+        int min, max;
         if (selectedYear == startYear && selectedMonth == startMonth && selectedDay == startDay) {
-            for (int i = startHour; i <= 23; i++) {
-                if (i == selectedHour) {
-                    hourIndex = i - startHour;
-                }
-                hours.add(decimalFormat.format(i) + unit);
-            }
+            min = startHour;
+            max = 23;
         } else if (selectedYear == endYear && selectedMonth == endMonth && selectedDay == endDay) {
-            for (int i = 0; i <= endHour; i++) {
-                if (i == selectedHour) {
-                    hourIndex = i;
-                }
-                hours.add(decimalFormat.format(i) + unit);
-            }
+            min = 0;
+            max = endHour;
         } else {
-            for (int i = 0; i <= 23; i++) {
-                if (i == selectedHour) {
-                    hourIndex = i;
-                }
-                hours.add(decimalFormat.format(i) + unit);
-            }
+            min = 0;
+            max = 23;
         }
-        getWheel(3).setDataSource(hours);
+        WheelRangeDataSource hours = setDatePickRange(3, min, max, 2);
+        int hourIndex = Math.max(0, hours.indexOf(selectedHour));
         getWheel(3).setOnWheelChangedListener(null);
         getWheel(3).setCurrentIndex(hourIndex);
         getWheel(3).setOnWheelChangedListener((view, oldIndex, newIndex) -> {
-            int hour = Integer.parseInt(trimUnit(unit, view.getCurrentItem().toString()));
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTimeInMillis(start);
-            int startMinute = calendar.get(Calendar.MINUTE);
-            calendar.setTimeInMillis(end);
-            int endMinute = calendar.get(Calendar.MINUTE);
-            calendar.setTimeInMillis(selected);
-            int day = calendar.get(Calendar.DAY_OF_MONTH);
-            int selectedMinute = calendar.get(Calendar.MINUTE);
-            calendar.set(Calendar.HOUR_OF_DAY, hour);
-            setSelected(calendar.getTimeInMillis());
+            int hour = hours.getValue(view.getCurrentIndex());
+            dateTime.setTimeInMillis(start);
+            int startMinute = dateTime.getMinute();
+            dateTime.setTimeInMillis(end);
+            int endMinute = dateTime.getMinute();
+            dateTime.setTimeInMillis(selected);
+            int day = dateTime.getDay();
+            int selectedMinute = dateTime.getMinute();
+            dateTime.setHour(hour);
+            setSelected(dateTime.getTimeInMillis());
             setDatePickerMinute(startYear, endYear, selectedYear, startMonth, endMonth, selectedMonth, startDay, endDay, day, startHour, endHour, hour, startMinute, endMinute, selectedMinute);
         });
     }
@@ -389,49 +345,34 @@ public class DatePicker extends WheelPicker {
                                        int startHour, int endHour, int selectedHour,
                                        int startMinute, int endMinute, int selectedMinute
     ) {
-        DecimalFormat decimalFormat = new DecimalFormat("00");
-        String unit = getUnit(4);
-        List<String> minutes = new ArrayList<>();
-        int minuteIndex = 0;
+        int min, max;
         if (selectedYear == startYear && selectedMonth == startMonth && selectedDay == startDay && selectedHour == startHour) {
-            for (int i = startMinute; i <= 59; i++) {
-                if (i == selectedMinute) {
-                    minuteIndex = i - startMinute;
-                }
-                minutes.add(decimalFormat.format(i) + unit);
-            }
+            min = startMinute;
+            max = 59;
         } else if (selectedYear == endYear && selectedMonth == endMonth && selectedDay == endDay && selectedHour == endHour) {
-            for (int i = 0; i <= endMinute; i++) {
-                if (i == selectedMinute) {
-                    minuteIndex = i;
-                }
-                minutes.add(decimalFormat.format(i) + unit);
-            }
+            min = 0;
+            max = endMinute;
         } else {
-            for (int i = 0; i <= 59; i++) {
-                if (i == selectedMinute) {
-                    minuteIndex = i;
-                }
-                minutes.add(decimalFormat.format(i) + unit);
-            }
+            min = 0;
+            max = 59;
         }
-        getWheel(4).setDataSource(minutes);
+        WheelRangeDataSource minutes = setDatePickRange(4, min, max, 2);
+        int minuteIndex = Math.max(0, minutes.indexOf(selectedMinute));
         getWheel(4).setCurrentIndex(minuteIndex);
         getWheel(4).setOnWheelChangedListener((view, oldIndex, newIndex) -> {
-            int minute = Integer.parseInt(trimUnit(unit, view.getCurrentItem().toString()));
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTimeInMillis(start);
-            int startSecond = calendar.get(Calendar.SECOND);
-            calendar.setTimeInMillis(end);
-            int endSecond = calendar.get(Calendar.SECOND);
-            calendar.setTimeInMillis(selected);
-            int year = calendar.get(Calendar.YEAR);
-            int month = calendar.get(Calendar.MONTH) + 1;
-            int day = calendar.get(Calendar.DAY_OF_MONTH);
-            int hour = calendar.get(Calendar.HOUR_OF_DAY);
-            int selectedSecond = calendar.get(Calendar.SECOND);
-            calendar.set(Calendar.MINUTE, minute);
-            setSelected(calendar.getTimeInMillis());
+            int minute = minutes.getValue(view.getCurrentIndex());
+            dateTime.setTimeInMillis(start);
+            int startSecond = dateTime.getSecond();
+            dateTime.setTimeInMillis(end);
+            int endSecond = dateTime.getSecond();
+            dateTime.setTimeInMillis(selected);
+            int year = dateTime.getYear();
+            int month = dateTime.getMonth();
+            int day = dateTime.getDay();
+            int hour = dateTime.getHour();
+            int selectedSecond = dateTime.getSecond();
+            dateTime.setMinute(minute);
+            setSelected(dateTime.getTimeInMillis());
             setDatePickerSecond(startYear, endYear, year, startMonth, endMonth, month, startDay, endDay, day, startHour, endHour, hour, startMinute, endMinute, minute, startSecond, endSecond, selectedSecond);
         });
     }
@@ -463,33 +404,19 @@ public class DatePicker extends WheelPicker {
                                        int startMinute, int endMinute, int selectedMinute,
                                        int startSecond, int endSecond, int selectedSecond
     ) {
-        DecimalFormat decimalFormat = new DecimalFormat("00");
-        String unit = getUnit(5);
-        List<String> seconds = new ArrayList<>();
-        int secondIndex = 0;
+        int min, max;
         if (selectedYear == startYear && selectedMonth == startMonth && selectedDay == startDay && selectedHour == startHour && selectedMinute == startMinute) {
-            for (int i = startSecond; i <= 59; i++) {
-                if (i == selectedSecond) {
-                    secondIndex = i - startSecond;
-                }
-                seconds.add(decimalFormat.format(i) + unit);
-            }
+            min = startSecond;
+            max = 59;
         } else if (selectedYear == endYear && selectedMonth == endMonth && selectedDay == endDay && selectedHour == endHour && selectedMinute == endMinute) {
-            for (int i = 0; i <= endSecond; i++) {
-                if (i == selectedSecond) {
-                    secondIndex = i;
-                }
-                seconds.add(decimalFormat.format(i) + unit);
-            }
+            min = 0;
+            max = endSecond;
         } else {
-            for (int i = 0; i <= 59; i++) {
-                if (i == selectedSecond) {
-                    secondIndex = i;
-                }
-                seconds.add(decimalFormat.format(i) + unit);
-            }
+            min = 0;
+            max = 59;
         }
-        getWheel(5).setDataSource(seconds);
+        WheelRangeDataSource seconds = setDatePickRange(5, min, max, 2);
+        int secondIndex = Math.max(0, seconds.indexOf(selectedSecond));
         getWheel(5).setCurrentIndex(secondIndex);
     }
 
@@ -508,33 +435,33 @@ public class DatePicker extends WheelPicker {
      * @param selected
      */
     protected void setDatePickDataSource(long start, long end, long selected) {
-        Calendar calendar = Calendar.getInstance();
+        dateTime.setTimeZone(TimeZone.getDefault());
         //=========================[开始]=========================
-        calendar.setTimeInMillis(start);
-        int startYear = calendar.get(Calendar.YEAR);
-        int startMonth = calendar.get(Calendar.MONTH) + 1;
-        int startDay = calendar.get(Calendar.DAY_OF_MONTH);
-        int startHour = calendar.get(Calendar.HOUR_OF_DAY);
-        int startMinute = calendar.get(Calendar.MINUTE);
-        int startSecond = calendar.get(Calendar.SECOND);
+        dateTime.setTimeInMillis(start);
+        int startYear = dateTime.getYear();
+        int startMonth = dateTime.getMonth();
+        int startDay = dateTime.getDay();
+        int startHour = dateTime.getHour();
+        int startMinute = dateTime.getMinute();
+        int startSecond = dateTime.getSecond();
         Log.i(TAG, "start time " + startYear + "-" + startMonth + "-" + startDay + " " + startHour + ":" + startMinute + ":" + startSecond);
         //=========================[结束]=========================
-        calendar.setTimeInMillis(end);
-        int endYear = calendar.get(Calendar.YEAR);
-        int endMonth = calendar.get(Calendar.MONTH) + 1;
-        int endDay = calendar.get(Calendar.DAY_OF_MONTH);
-        int endHour = calendar.get(Calendar.HOUR_OF_DAY);
-        int endMinute = calendar.get(Calendar.MINUTE);
-        int endSecond = calendar.get(Calendar.SECOND);
+        dateTime.setTimeInMillis(end);
+        int endYear = dateTime.getYear();
+        int endMonth = dateTime.getMonth();
+        int endDay = dateTime.getDay();
+        int endHour = dateTime.getHour();
+        int endMinute = dateTime.getMinute();
+        int endSecond = dateTime.getSecond();
         Log.i(TAG, "end time " + endYear + "-" + endMonth + "-" + endDay + " " + endHour + ":" + endMinute + ":" + endSecond);
         //=========================[选择]=========================
-        calendar.setTimeInMillis(selected);
-        int selectedYear = calendar.get(Calendar.YEAR);
-        int selectedMonth = calendar.get(Calendar.MONTH) + 1;
-        int selectedDay = calendar.get(Calendar.DAY_OF_MONTH);
-        int selectedHour = calendar.get(Calendar.HOUR_OF_DAY);
-        int selectedMinute = calendar.get(Calendar.MINUTE);
-        int selectedSecond = calendar.get(Calendar.SECOND);
+        dateTime.setTimeInMillis(selected);
+        int selectedYear = dateTime.getYear();
+        int selectedMonth = dateTime.getMonth();
+        int selectedDay = dateTime.getDay();
+        int selectedHour = dateTime.getHour();
+        int selectedMinute = dateTime.getMinute();
+        int selectedSecond = dateTime.getSecond();
         Log.i(TAG, "selected time " + selectedYear + "-" + selectedMonth + "-" + selectedDay + " " + selectedHour + ":" + selectedMinute + ":" + selectedSecond);
         //=========================[年份]=========================
         setDatePickYear(startYear, endYear, selectedYear);
@@ -12,6 +12,7 @@ import android.widget.TextView;
 import androidx.ui.R;
 import androidx.ui.app.AppDialog;
 import androidx.ui.wheel.Wheel3DView;
+import androidx.ui.wheel.WheelDataSource;
 import androidx.ui.wheel.WheelView;
 
 import java.util.ArrayList;
@@ -460,6 +461,16 @@ public class WheelPicker extends AppDialog implements View.OnClickListener {
         getWheel(index).setDataSource(collection);
     }
 
+    /**
+     * 设置数据源，文字在绘制时按需获取
+     *
+     * @param index  滚轮集合位置
+     * @param source 数据源
+     */
+    public void setWheelsDataSource(int index, WheelDataSource source) {
+        getWheel(index).setDataSource(source);
+    }
+
 
     @Override
     public void onClick(View v) {
@@ -0,0 +1,76 @@
+package androidx.ui.recycler;
+
+import java.util.List;
+
+/**
+ * 分页数据源，由{@link PagedList}在后台线程调用加载，
+ * 适配器通过setPageSource使用，不需要自己记录页码。
+ *
+ * @param <K> 页面标识，例如页码或游标
+ * @param <T> 数据
+ */
+public interface PageSource<K, T> {
+
+    /**
+     * @return 第一次加载的页面标识
+     */
+    K getInitialKey();
+
+    /**
+     * 加载页面，在后台线程调用
+     *
+     * @param key 页面标识
+     * @return 页面数据
+     * @throws Exception 加载失败，下次滑动到该位置时重新加载，第一页失败时需要调用{@link PagedList#retry()}
+     */
+    Page<K, T> load(K key) throws Exception;
+
+    /**
+     * 页面数据
+     *
+     * @param <K> 页面标识
+     * @param <T> 数据
+     */
+    class Page<K, T> {
+
+        private final List<T> items;
+        private final K prevKey;
+        private final K nextKey;
+
+        /**
+         * 构建页面数据
+         *
+         * @param items   数据
+         * @param prevKey 上一页标识，没有上一页为null
+         * @param nextKey 下一页标识，没有下一页为null
+         */
+        public Page(List<T> items, K prevKey, K nextKey) {
+            this.items = items;
+            this.prevKey = prevKey;
+            this.nextKey = nextKey;
+        }
+
+        /**
+         * @return 数据
+         */
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * @return 上一页标识
+         */
+        public K getPrevKey() {
+            return prevKey;
+        }
+
+        /**
+         * @return 下一页标识
+         */
+        public K getNextKey() {
+            return nextKey;
+        }
+
+    }
+
+}
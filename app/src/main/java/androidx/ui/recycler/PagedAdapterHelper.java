@@ -0,0 +1,78 @@
+package androidx.ui.recycler;
+
+import java.util.List;
+
+/**
+ * 适配器使用分页列表的公共部分，{@link RecyclerAdapter}和{@link SwipeRecyclerAdapter}共用。<br/>
+ * 统计附加到窗口的Item个数作为分页列表的显示个数，显示范围内的页面不释放；
+ * 绑定数据时加载附近页面，替换数据时旧的分页列表停止使用。
+ */
+final class PagedAdapterHelper {
+
+    /**
+     * 附加到窗口的Item个数
+     */
+    private int attachedCount;
+
+    /**
+     * 创建分页列表，显示个数为当前附加到窗口的Item个数
+     *
+     * @param source   分页数据源
+     * @param callback 数据改变回调
+     * @return 分页列表
+     */
+    <K, T> PagedList<K, T> create(PageSource<K, T> source, PagedList.Callback callback) {
+        PagedList<K, T> list = new PagedList<>(source, callback);
+        list.setVisibleItemCount(attachedCount);
+        return list;
+    }
+
+    /**
+     * Item附加到窗口
+     *
+     * @param data 当前数据
+     */
+    void onViewAttachedToWindow(List<?> data) {
+        attachedCount++;
+        if (data instanceof PagedList) {
+            ((PagedList<?, ?>) data).setVisibleItemCount(attachedCount);
+        }
+    }
+
+    /**
+     * Item从窗口移除
+     *
+     * @param data 当前数据
+     */
+    void onViewDetachedFromWindow(List<?> data) {
+        attachedCount = Math.max(0, attachedCount - 1);
+        if (data instanceof PagedList) {
+            ((PagedList<?, ?>) data).setVisibleItemCount(attachedCount);
+        }
+    }
+
+    /**
+     * 绑定数据时加载位置附近的页面
+     *
+     * @param data     当前数据
+     * @param position 数据位置
+     */
+    void loadAround(List<?> data, int position) {
+        if (data instanceof PagedList) {
+            ((PagedList<?, ?>) data).loadAround(position);
+        }
+    }
+
+    /**
+     * 替换数据时旧的分页列表停止使用，不会再回调
+     *
+     * @param previous 当前数据
+     * @param data     新数据
+     */
+    void replace(List<?> previous, List<?> data) {
+        if (previous instanceof PagedList && previous != data) {
+            ((PagedList<?, ?>) previous).detach();
+        }
+    }
+
+}
@@ -0,0 +1,562 @@
+package androidx.ui.recycler;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页列表，按{@link PageSource}在后台线程加载页面，主线程更新并通知范围改变。<br/>
+ * 内存中最多保留{@link #setMaxPages(int)}页数据，距离当前位置最远的页面被释放，
+ * 释放的页面保留位置，对应Item为null（占位），再次滑动到该位置时重新加载。
+ * 显示范围内的页面不会释放，一屏超过最大页数时暂时保留更多页面。<br/>
+ * 第一页加载失败时列表为空，通过{@link #setOnLoadFailedListener(OnLoadFailedListener)}监听后调用{@link #retry()}重新加载。<br/>
+ * 列表只读，只能在主线程（或构建时指定的线程）访问。
+ *
+ * @param <K> 页面标识
+ * @param <T> 数据
+ */
+public class PagedList<K, T> extends AbstractList<T> {
+
+    /**
+     * 默认内存中最多保留页数
+     */
+    public static final int DEFAULT_MAX_PAGES = 5;
+    /**
+     * 默认距离首尾多少个Item时加载相邻页面
+     */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 10;
+
+    private static final int LOAD_INITIAL = 0;
+    private static final int LOAD_APPEND = 1;
+    private static final int LOAD_PREPEND = 2;
+    private static final int LOAD_RELOAD = 3;
+
+    /**
+     * 默认加载线程
+     */
+    private static Executor defaultLoadExecutor;
+    /**
+     * 默认主线程
+     */
+    private static Executor defaultMainExecutor;
+
+    private final PageSource<K, T> source;
+    /**
+     * 加载线程
+     */
+    private final Executor loadExecutor;
+    /**
+     * 应用加载结果的线程，访问列表的线程
+     */
+    private final Executor mainExecutor;
+    private final Callback callback;
+    private OnLoadFailedListener onLoadFailedListener;
+    /**
+     * 页面，按位置顺序
+     */
+    private final List<PageEntry<K, T>> pages = new ArrayList<>();
+    /**
+     * 页面开始位置
+     */
+    private int[] pageStarts = new int[8];
+    /**
+     * Item总数（包含占位）
+     */
+    private int size;
+    private int maxPages = DEFAULT_MAX_PAGES;
+    private int prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+    /**
+     * 最后访问的页面
+     */
+    private int lastAccessedPage;
+    /**
+     * 最后访问的位置
+     */
+    private int lastAccessedIndex;
+    /**
+     * 显示的Item个数，最后访问位置前后该范围内的页面不释放
+     */
+    private int visibleItemCount;
+    private boolean initialLoading;
+    /**
+     * 第一页是否加载失败
+     */
+    private boolean initialFailed;
+    private boolean appending;
+    private boolean prepending;
+    /**
+     * 是否已停止使用
+     */
+    private boolean detached;
+
+    /**
+     * 构建分页列表并开始加载第一页
+     *
+     * @param source   数据源
+     * @param callback 数据改变回调
+     */
+    public PagedList(PageSource<K, T> source, Callback callback) {
+        this(source, callback, defaultLoadExecutor(), defaultMainExecutor());
+    }
+
+    /**
+     * 构建分页列表并开始加载第一页
+     *
+     * @param source       数据源
+     * @param callback     数据改变回调
+     * @param loadExecutor 加载线程
+     * @param mainExecutor 应用加载结果的线程，列表只能在该线程访问
+     */
+    public PagedList(PageSource<K, T> source, Callback callback, Executor loadExecutor, Executor mainExecutor) {
+        this.source = source;
+        this.callback = callback;
+        this.loadExecutor = loadExecutor;
+        this.mainExecutor = mainExecutor;
+        initialLoading = true;
+        load(LOAD_INITIAL, null, source.getInitialKey());
+    }
+
+    /**
+     * 设置内存中最多保留页数
+     *
+     * @param maxPages 页数，最少2页
+     */
+    public void setMaxPages(int maxPages) {
+        this.maxPages = Math.max(2, maxPages);
+        trimPages();
+    }
+
+    /**
+     * 设置显示的Item个数，由适配器按附加到窗口的Item个数设置，
+     * 最后访问位置前后该范围内的页面不会释放，避免一屏包含多页时释放显示中的页面后反复重新加载
+     *
+     * @param visibleItemCount 显示的Item个数
+     */
+    public void setVisibleItemCount(int visibleItemCount) {
+        this.visibleItemCount = Math.max(0, visibleItemCount);
+    }
+
+    /**
+     * 设置加载失败监听
+     *
+     * @param onLoadFailedListener 加载失败监听
+     */
+    public void setOnLoadFailedListener(OnLoadFailedListener onLoadFailedListener) {
+        this.onLoadFailedListener = onLoadFailedListener;
+    }
+
+    /**
+     * 重新加载失败的页面，第一页加载失败时重新加载第一页，
+     * 否则重新加载最后访问位置附近未加载的页面
+     */
+    public void retry() {
+        if (detached) {
+            return;
+        }
+        if (initialFailed) {
+            initialFailed = false;
+            initialLoading = true;
+            load(LOAD_INITIAL, null, source.getInitialKey());
+            return;
+        }
+        loadAround(lastAccessedIndex);
+    }
+
+    /**
+     * 设置预加载距离
+     *
+     * @param prefetchDistance 距离首尾多少个Item时加载相邻页面
+     */
+    public void setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取Item，不触发加载
+     *
+     * @param index 位置
+     * @return Item，页面已释放或未加载时为null
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        int page = pageOf(index);
+        List<T> items = pages.get(page).items;
+        return items == null ? null : items.get(index - pageStarts[page]);
+    }
+
+    /**
+     * 访问位置，适配器绑定数据时调用，加载相邻页面或已释放的页面
+     *
+     * @param index 位置
+     */
+    public void loadAround(int index) {
+        if (detached || index < 0 || index >= size) {
+            return;
+        }
+        int page = pageOf(index);
+        lastAccessedPage = page;
+        lastAccessedIndex = index;
+        PageEntry<K, T> entry = pages.get(page);
+        if (entry.items == null && !entry.loading) {
+            entry.loading = true;
+            load(LOAD_RELOAD, entry, entry.key);
+        }
+        PageEntry<K, T> last = pages.get(pages.size() - 1);
+        if (!appending && last.nextKey != null && index >= size - 1 - prefetchDistance) {
+            appending = true;
+            load(LOAD_APPEND, null, last.nextKey);
+        }
+        PageEntry<K, T> first = pages.get(0);
+        if (!prepending && first.prevKey != null && index <= prefetchDistance) {
+            prepending = true;
+            load(LOAD_PREPEND, null, first.prevKey);
+        }
+    }
+
+    /**
+     * 停止使用，之后加载的结果不再应用
+     */
+    public void detach() {
+        detached = true;
+    }
+
+    /**
+     * @return 是否正在加载第一页
+     */
+    public boolean isInitialLoading() {
+        return initialLoading;
+    }
+
+    /**
+     * @return 第一页是否加载失败，需要调用{@link #retry()}重新加载
+     */
+    public boolean isInitialFailed() {
+        return initialFailed;
+    }
+
+    /**
+     * 后台加载页面
+     *
+     * @param type  加载类型
+     * @param entry 重新加载的页面
+     * @param key   页面标识
+     */
+    private void load(final int type, final PageEntry<K, T> entry, final K key) {
+        loadExecutor.execute(() -> {
+            if (detached) {
+                return;
+            }
+            PageSource.Page<K, T> page = null;
+            Exception error = null;
+            try {
+                page = source.load(key);
+            } catch (Exception e) {
+                e.printStackTrace();
+                error = e;
+            }
+            final PageSource.Page<K, T> result = page;
+            final Exception exception = error;
+            mainExecutor.execute(() -> {
+                if (result == null) {
+                    onPageFailed(type, entry, exception);
+                } else {
+                    onPageLoaded(type, entry, key, result);
+                }
+            });
+        });
+    }
+
+    /**
+     * 主线程处理加载失败
+     *
+     * @param type  加载类型
+     * @param entry 重新加载的页面
+     * @param e     异常，加载返回null时为null
+     */
+    private void onPageFailed(int type, PageEntry<K, T> entry, Exception e) {
+        finishLoading(type, entry);
+        if (detached) {
+            return;
+        }
+        if (type == LOAD_INITIAL) {
+            initialFailed = true;
+        }
+        if (onLoadFailedListener != null) {
+            onLoadFailedListener.onLoadFailed(type == LOAD_INITIAL, e);
+        }
+    }
+
+    /**
+     * 清除加载中状态
+     *
+     * @param type  加载类型
+     * @param entry 重新加载的页面
+     */
+    private void finishLoading(int type, PageEntry<K, T> entry) {
+        switch (type) {
+            case LOAD_INITIAL:
+                initialLoading = false;
+                break;
+            case LOAD_APPEND:
+                appending = false;
+                break;
+            case LOAD_PREPEND:
+                prepending = false;
+                break;
+            default:
+                entry.loading = false;
+                break;
+        }
+    }
+
+    /**
+     * 主线程应用加载结果
+     *
+     * @param type  加载类型
+     * @param entry 重新加载的页面
+     * @param key   页面标识
+     * @param page  页面数据
+     */
+    private void onPageLoaded(int type, PageEntry<K, T> entry, K key, PageSource.Page<K, T> page) {
+        finishLoading(type, entry);
+        if (detached) {
+            return;
+        }
+        List<T> items = page.getItems() == null ? Collections.<T>emptyList() : page.getItems();
+        if (type == LOAD_RELOAD) {
+            int index = pages.indexOf(entry);
+            if (index < 0) {
+                return;
+            }
+            int start = pageStarts[index];
+            int oldSize = entry.size;
+            entry.items = items;
+            entry.size = items.size();
+            entry.prevKey = page.getPrevKey();
+            entry.nextKey = page.getNextKey();
+            updatePageStarts();
+            //重新加载后条数可能变化
+            int changed = Math.min(oldSize, entry.size);
+            if (changed > 0) {
+                callback.onItemRangeChanged(start, changed);
+            }
+            if (entry.size > oldSize) {
+                callback.onItemRangeInserted(start + oldSize, entry.size - oldSize);
+            } else if (entry.size < oldSize) {
+                callback.onItemRangeRemoved(start + entry.size, oldSize - entry.size);
+            }
+        } else {
+            PageEntry<K, T> added = new PageEntry<>(key, items, page.getPrevKey(), page.getNextKey());
+            int start;
+            if (type == LOAD_PREPEND) {
+                pages.add(0, added);
+                lastAccessedPage++;
+                lastAccessedIndex += added.size;
+                start = 0;
+            } else {
+                pages.add(added);
+                start = size;
+            }
+            updatePageStarts();
+            if (added.size > 0) {
+                callback.onItemRangeInserted(start, added.size);
+            }
+            //空页面不会触发绑定，直接继续加载
+            if (added.size == 0) {
+                if (type == LOAD_PREPEND && added.prevKey != null && !prepending) {
+                    prepending = true;
+                    load(LOAD_PREPEND, null, added.prevKey);
+                } else if (type != LOAD_PREPEND && added.nextKey != null && !appending) {
+                    appending = true;
+                    load(LOAD_APPEND, null, added.nextKey);
+                }
+            }
+        }
+        trimPages();
+    }
+
+    /**
+     * 释放超出数量的页面，保留位置作为占位，显示范围内的页面不释放
+     */
+    private void trimPages() {
+        int loaded = 0;
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i).items != null) {
+                loaded++;
+            }
+        }
+        int low = lastAccessedIndex - visibleItemCount;
+        int high = lastAccessedIndex + visibleItemCount;
+        while (loaded > maxPages) {
+            int farthest = -1;
+            for (int i = 0; i < pages.size(); i++) {
+                PageEntry<K, T> entry = pages.get(i);
+                boolean visible = pageStarts[i] <= high && pageStarts[i] + entry.size > low;
+                if (entry.items != null && !visible && (farthest < 0 || Math.abs(i - lastAccessedPage) > Math.abs(farthest - lastAccessedPage))) {
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) {
+                //剩余页面都在显示范围内
+                break;
+            }
+            PageEntry<K, T> entry = pages.get(farthest);
+            entry.items = null;
+            loaded--;
+            if (entry.size > 0) {
+                callback.onItemRangeChanged(pageStarts[farthest], entry.size);
+            }
+        }
+    }
+
+    /**
+     * 更新页面开始位置和总数
+     */
+    private void updatePageStarts() {
+        if (pageStarts.length < pages.size()) {
+            pageStarts = new int[Math.max(pages.size(), pageStarts.length * 2)];
+        }
+        int start = 0;
+        for (int i = 0; i < pages.size(); i++) {
+            pageStarts[i] = start;
+            start += pages.get(i).size;
+        }
+        size = start;
+    }
+
+    /**
+     * @param index 位置
+     * @return 位置所在页面
+     */
+    private int pageOf(int index) {
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (pageStarts[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return 默认加载线程，所有分页列表共用
+     */
+    private static synchronized Executor defaultLoadExecutor() {
+        if (defaultLoadExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread thread = new Thread(r, "PagedList-load");
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            defaultLoadExecutor = executor;
+        }
+        return defaultLoadExecutor;
+    }
+
+    /**
+     * @return 默认主线程
+     */
+    private static synchronized Executor defaultMainExecutor() {
+        if (defaultMainExecutor == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+            defaultMainExecutor = handler::post;
+        }
+        return defaultMainExecutor;
+    }
+
+    /**
+     * 页面
+     */
+    private static class PageEntry<K, T> {
+
+        final K key;
+        K prevKey;
+        K nextKey;
+        /**
+         * 数据，已释放为null
+         */
+        List<T> items;
+        int size;
+        /**
+         * 是否正在重新加载
+         */
+        boolean loading;
+
+        PageEntry(K key, List<T> items, K prevKey, K nextKey) {
+            this.key = key;
+            this.items = items;
+            this.size = items.size();
+            this.prevKey = prevKey;
+            this.nextKey = nextKey;
+        }
+
+    }
+
+    /**
+     * 加载失败监听，在主线程调用
+     */
+    public interface OnLoadFailedListener {
+
+        /**
+         * 加载失败
+         *
+         * @param initial 是否第一页，第一页失败时需要调用{@link PagedList#retry()}
+         * @param e       异常，加载返回null时为null
+         */
+        void onLoadFailed(boolean initial, Exception e);
+
+    }
+
+    /**
+     * 数据改变回调，在主线程调用
+     */
+    public interface Callback {
+
+        /**
+         * 插入Item
+         *
+         * @param positionStart 开始位置
+         * @param itemCount     个数
+         */
+        void onItemRangeInserted(int positionStart, int itemCount);
+
+        /**
+         * Item改变（页面加载或释放）
+         *
+         * @param positionStart 开始位置
+         * @param itemCount     个数
+         */
+        void onItemRangeChanged(int positionStart, int itemCount);
+
+        /**
+         * 删除Item（重新加载后条数减少）
+         *
+         * @param positionStart 开始位置
+         * @param itemCount     个数
+         */
+        void onItemRangeRemoved(int positionStart, int itemCount);
+
+    }
+
+}
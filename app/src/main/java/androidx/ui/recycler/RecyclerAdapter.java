@@ -2,18 +2,26 @@ package androidx.ui.recycler;
 
 import android.content.Context;
 import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.ColorRes;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.ui.sqlite.CursorList;
 import androidx.ui.util.Size;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Recycler使用的基础Adapter
@@ -36,6 +44,34 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * View容器
      */
     private ViewHolder viewHolder;
+    /**
+     * 差异比较回调，设置后setItems在后台计算差异并局部刷新
+     */
+    private DiffUtil.ItemCallback<T> diffCallback;
+    /**
+     * 差异比较是否检测移动
+     */
+    private boolean detectMoves = true;
+    /**
+     * 差异比较代数，连续提交时只应用最后一次
+     */
+    private volatile int diffGeneration;
+    /**
+     * 等待应用的数据
+     */
+    private List<T> diffPending;
+    /**
+     * 分页列表的显示个数统计和加载
+     */
+    private final PagedAdapterHelper pagedHelper = new PagedAdapterHelper();
+    /**
+     * 差异比较线程
+     */
+    private static Executor diffExecutor;
+    /**
+     * 主线程
+     */
+    private static Handler diffHandler;
 
     public RecyclerAdapter(Context context) {
         this.context = context;
@@ -71,9 +107,22 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
         viewHolder.setItemPosition(position);
         viewHolder.setOnItemClickLister(this);
         viewHolder.setOnItemFocusChangeListener(this);
+        pagedHelper.loadAround(data, position);
         onItemBindViewHolder(viewHolder, position);
     }
 
+    @Override
+    public void onViewAttachedToWindow(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        pagedHelper.onViewAttachedToWindow(data);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        pagedHelper.onViewDetachedFromWindow(data);
+    }
+
     /**
      * 绑定数据
      *
@@ -136,6 +185,13 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param data
      */
     public void setItems(List<T> data, boolean notify) {
+        pagedHelper.replace(this.data, data);
+        if (notify && diffCallback != null && data != this.data && isDiffable(this.data) && isDiffable(data)) {
+            submitItems(data);
+            return;
+        }
+        diffGeneration++;
+        diffPending = null;
         this.data = data;
         if (placeholder != null) {
             placeholder.setVisibility(getItemCount() == 0 ? View.VISIBLE : View.GONE);
@@ -170,12 +226,268 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
         }
     }
 
+    /**
+     * 设置分页数据源，自动加载分页，内存中只保留部分页面，
+     * 已释放页面的Item为null（占位），{@link #getItem(int)}返回null时需要显示占位视图。<br/>
+     * 分页数据只读，不能再调用添加、删除Item的方法。
+     *
+     * @param source 分页数据源
+     * @return 分页列表，可设置保留页数、预加载距离及加载失败监听，第一页加载失败时调用{@link PagedList#retry()}重新加载
+     */
+    public <K> PagedList<K, T> setPageSource(PageSource<K, T> source) {
+        //替换数据时旧的分页列表停止使用，不会再回调
+        PagedList<K, T> list = pagedHelper.create(source, new PagedList.Callback() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                notifyItemRangeInserted(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                notifyItemRangeChanged(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                notifyItemRangeRemoved(positionStart, itemCount);
+            }
+        });
+        setItems(list, false);
+        notifyDataSetChanged();
+        return list;
+    }
+
+    /**
+     * 设置差异比较回调，设置后{@link #setItems(List)}、{@link #setPageItems(int, List)}
+     * 在后台线程计算新旧数据差异，再在主线程局部刷新，保留Item动画；
+     * 连续提交时只应用最后一次的数据。<br/>
+     * 提交的是当前数据本身（例如修改{@link #getItems()}后再次设置）、
+     * 或新旧数据是游标列表和分页列表时不计算差异，使用notifyDataSetChanged。
+     *
+     * @param diffCallback 差异比较回调，null则使用notifyDataSetChanged
+     */
+    public void setDiffCallback(DiffUtil.ItemCallback<T> diffCallback) {
+        this.diffCallback = diffCallback;
+    }
+
+    /**
+     * 获取差异比较回调
+     *
+     * @return
+     */
+    public DiffUtil.ItemCallback<T> getDiffCallback() {
+        return diffCallback;
+    }
+
+    /**
+     * 设置差异比较是否检测移动，数据量大且不关心移动动画时可关闭
+     *
+     * @param detectMoves 是否检测移动
+     */
+    public void setDetectMoves(boolean detectMoves) {
+        this.detectMoves = detectMoves;
+    }
+
+    /**
+     * 是否可以计算差异，计算差异需要复制全部元素，
+     * 游标列表和分页列表复制时会读取每一行，直接刷新
+     *
+     * @param list 列表
+     * @return
+     */
+    private boolean isDiffable(List<T> list) {
+        return !(list instanceof PagedList) && !(list instanceof CursorList);
+    }
+
+    /**
+     * 提交数据，后台计算差异后局部刷新
+     *
+     * @param data 数据
+     */
+    private void submitItems(List<T> data) {
+        final int generation = ++diffGeneration;
+        int oldSize = Size.of(this.data);
+        int newSize = Size.of(data);
+        if (oldSize == 0 || newSize == 0) {
+            diffPending = null;
+            this.data = data;
+            if (oldSize > 0) {
+                notifyItemRangeRemoved(0, oldSize);
+            } else if (newSize > 0) {
+                notifyItemRangeInserted(0, newSize);
+            }
+            if (placeholder != null) {
+                placeholder.setVisibility(newSize == 0 ? View.VISIBLE : View.GONE);
+            }
+            return;
+        }
+        diffPending = data;
+        final List<T> oldItems = new ArrayList<>(this.data);
+        final List<T> newItems = new ArrayList<>(data);
+        final DiffUtil.ItemCallback<T> callback = diffCallback;
+        final boolean moves = detectMoves;
+        diffExecutor().execute(() -> {
+            if (generation != diffGeneration) {
+                return;
+            }
+            final DiffUtil.DiffResult result;
+            try {
+                result = DiffUtil.calculateDiff(new ItemDiffCallback<>(oldItems, newItems, callback), moves);
+            } catch (Exception e) {
+                e.printStackTrace();
+                diffHandler.post(() -> applyItems(generation, oldItems, newItems, null));
+                return;
+            }
+            diffHandler.post(() -> applyItems(generation, oldItems, newItems, result));
+        });
+    }
+
+    /**
+     * 主线程应用差异结果
+     *
+     * @param generation 提交代数
+     * @param oldItems   计算时的旧数据
+     * @param newItems   计算时的新数据
+     * @param result     差异结果
+     */
+    private void applyItems(int generation, List<T> oldItems, List<T> newItems, DiffUtil.DiffResult result) {
+        if (generation != diffGeneration) {
+            return;
+        }
+        List<T> pending = diffPending;
+        diffPending = null;
+        //计算期间数据被直接修改时，差异结果已不可靠
+        boolean consistent = result != null && isSame(data, oldItems) && isSame(pending, newItems);
+        this.data = pending;
+        if (consistent) {
+            result.dispatchUpdatesTo(this);
+        } else {
+            notifyDataSetChanged();
+        }
+        if (placeholder != null) {
+            placeholder.setVisibility(getItemCount() == 0 ? View.VISIBLE : View.GONE);
+        }
+    }
+
+    /**
+     * 两个列表元素是否完全相同
+     *
+     * @param list     列表
+     * @param snapshot 快照
+     * @return
+     */
+    private boolean isSame(List<T> list, List<T> snapshot) {
+        if (Size.of(list) != snapshot.size()) {
+            return false;
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (list.get(i) != snapshot.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 差异比较线程，所有Adapter共用
+     */
+    private static synchronized Executor diffExecutor() {
+        if (diffExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread thread = new Thread(r, "RecyclerAdapter-diff");
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            diffExecutor = executor;
+            diffHandler = new Handler(Looper.getMainLooper());
+        }
+        return diffExecutor;
+    }
+
+    /**
+     * 列表差异比较
+     *
+     * @param <T>
+     */
+    private static class ItemDiffCallback<T> extends DiffUtil.Callback {
+
+        private final List<T> oldItems;
+        private final List<T> newItems;
+        private final DiffUtil.ItemCallback<T> callback;
+
+        ItemDiffCallback(List<T> oldItems, List<T> newItems, DiffUtil.ItemCallback<T> callback) {
+            this.oldItems = oldItems;
+            this.newItems = newItems;
+            this.callback = callback;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldItems.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newItems.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            T oldItem = oldItems.get(oldItemPosition);
+            T newItem = newItems.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return callback.areItemsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            T oldItem = oldItems.get(oldItemPosition);
+            T newItem = newItems.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return callback.areContentsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+            T oldItem = oldItems.get(oldItemPosition);
+            T newItem = newItems.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return null;
+            }
+            return callback.getChangePayload(oldItem, newItem);
+        }
+
+    }
+
+    /**
+     * 差异比较未完成时，修改等待应用的数据副本并重新提交，
+     * 直接修改当前数据会在差异应用时被覆盖
+     *
+     * @return 等待应用的数据副本，没有等待应用的数据时返回null
+     */
+    private List<T> copyPending() {
+        return diffPending == null ? null : new ArrayList<>(diffPending);
+    }
+
     /**
      * 添加Items
      *
      * @param data
      */
     public void addItems(List<T> data) {
+        List<T> pending = copyPending();
+        if (pending != null) {
+            if (data != null) {
+                pending.addAll(data);
+            }
+            submitItems(pending);
+            return;
+        }
         int size = data == null ? 0 : data.size();
         int positionStart = getItemCount();
         getItems().addAll(data);
@@ -191,6 +503,14 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param t
      */
     public void addItem(T t) {
+        List<T> pending = copyPending();
+        if (pending != null) {
+            if (t != null) {
+                pending.add(t);
+                submitItems(pending);
+            }
+            return;
+        }
         int positionStart = getItemCount();
         if (t != null) {
             getItems().add(t);
@@ -206,11 +526,18 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param item     实体
      */
     public void addItem(int position, T item) {
-        if (item != null) {
-            getItems().add(position, item);
-            notifyItemInserted(position);
-            notifyItemRangeChanged(position, getItemCount() - position);
+        if (item == null) {
+            return;
+        }
+        List<T> pending = copyPending();
+        if (pending != null) {
+            pending.add(position, item);
+            submitItems(pending);
+            return;
         }
+        getItems().add(position, item);
+        notifyItemInserted(position);
+        notifyItemRangeChanged(position, getItemCount() - position);
     }
 
     /**
@@ -232,7 +559,7 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param item 实体
      */
     public void addLast(T item) {
-        if (getItemCount() == 0) {
+        if (getItemCount() == 0 || diffPending != null) {
             addItem(item);
         } else {
             int index = getItemCount();
@@ -246,6 +573,14 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param position 位置
      */
     public void removeItem(int position) {
+        List<T> pending = copyPending();
+        if (pending != null) {
+            if (position < pending.size()) {
+                pending.remove(position);
+                submitItems(pending);
+            }
+            return;
+        }
         int count = getItemCount();
         if (count > 0 && position < count) {
             data.remove(position);
@@ -261,11 +596,23 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param itemCount     个数
      */
     public void removeItems(int positionStart, int itemCount) {
+        List<T> pending = copyPending();
+        if (pending != null) {
+            int start = Math.max(0, Math.min(positionStart, pending.size()));
+            int end = Math.max(start, Math.min(positionStart + itemCount, pending.size()));
+            if (end > start) {
+                pending.subList(start, end).clear();
+                submitItems(pending);
+            }
+            return;
+        }
         int count = getItemCount();
-        if (count > 0) {
-            data.removeAll(data.subList(positionStart, itemCount));
-            notifyItemRangeRemoved(positionStart, itemCount);
-            notifyItemRangeChanged(positionStart, itemCount);
+        int start = Math.max(0, Math.min(positionStart, count));
+        int end = Math.max(start, Math.min(positionStart + itemCount, count));
+        if (end > start) {
+            data.subList(start, end).clear();
+            notifyItemRangeRemoved(start, end - start);
+            notifyItemRangeChanged(start, count - end);
         }
     }
 
@@ -276,17 +623,34 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter implements
      * @param toPosition   目标位置
      */
     public void swapItem(int fromPosition, int toPosition) {
+        List<T> pending = copyPending();
+        if (pending != null) {
+            move(pending, fromPosition, toPosition);
+            submitItems(pending);
+            return;
+        }
+        move(data, fromPosition, toPosition);
+        notifyItemMoved(fromPosition, toPosition);
+        notifyItemRangeChanged(0, getItemCount());
+    }
+
+    /**
+     * 移动元素，中间的元素依次前移或后移
+     *
+     * @param list         列表
+     * @param fromPosition 开始位置
+     * @param toPosition   目标位置
+     */
+    private static <T> void move(List<T> list, int fromPosition, int toPosition) {
         if (fromPosition < toPosition) {
             for (int i = fromPosition; i < toPosition; i++) {
-                Collections.swap(data, i, i + 1);
+                Collections.swap(list, i, i + 1);
             }
         } else {
             for (int i = fromPosition; i > toPosition; i--) {
-                Collections.swap(data, i, i - 1);
+                Collections.swap(list, i, i - 1);
             }
         }
-        notifyItemMoved(fromPosition, toPosition);
-        notifyItemRangeChanged(0, getItemCount());
     }
 
     /**
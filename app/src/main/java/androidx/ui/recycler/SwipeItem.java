@@ -97,7 +97,7 @@ public class SwipeItem<T> {
         return data;
     }
 
-    public void setData(T ordinary) {
+    public void setData(T data) {
         this.data = data;
     }
 
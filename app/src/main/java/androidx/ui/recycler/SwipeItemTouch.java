@@ -38,9 +38,9 @@ public class SwipeItemTouch<T> implements View.OnTouchListener {
     private float swipeRatio = 1.0F;
     //侧滑动画持续事件
     private int swipeDuration = 300;
-    //item动画
+    //item动画，每次动画前从当前位置的SwipeItem获取
     private SwipeItemAnimator itemAnimator;
-    //菜单动画
+    //菜单动画，每次动画前从当前位置的SwipeItem获取
     private SwipeItemAnimator menuAnimator;
 
     public SwipeItemTouch(SwipeRecyclerAdapter<T> adapter) {
@@ -58,8 +58,8 @@ public class SwipeItemTouch<T> implements View.OnTouchListener {
         this.position = position;
         itemView = holder.itemView;
         SwipeItem<T> item = adapter.getSwipeItem(position);
-        itemAnimator = item.getItemAnimator();
-        menuAnimator = item.getMenuAnimator();
+        itemAnimator = null;
+        menuAnimator = null;
         itemLayout = adapter.findSwipeItemLayout(itemView);
         menuLayout = adapter.findSwipeMenuLayout(itemView);
         menuView = adapter.findSwipeMenuView(itemView);
@@ -210,6 +210,9 @@ public class SwipeItemTouch<T> implements View.OnTouchListener {
      * 强制打开侧滑菜单
      */
     public void openSwipe(boolean animator) {
+        if (animator) {
+            prepareAnimator();
+        }
         if (itemLayout != null) {
             if (animator) {
                 itemAnimator.start(holder.itemView, itemLayout, -menuWidth);
@@ -231,6 +234,9 @@ public class SwipeItemTouch<T> implements View.OnTouchListener {
      * 强制关闭侧滑
      */
     public void closeSwipe(boolean animator) {
+        if (animator) {
+            prepareAnimator();
+        }
         if (itemLayout != null) {
             if (animator) {
                 itemAnimator.start(itemView, itemLayout, 0);
@@ -249,6 +255,19 @@ public class SwipeItemTouch<T> implements View.OnTouchListener {
     }
 
 
+    /**
+     * 侧滑动画在首次使用时获取，每次都从当前SwipeItem重新读取，
+     * Item删除后动画会回收给其他Item使用，不能沿用之前的引用
+     */
+    private void prepareAnimator() {
+        SwipeItem<T> item = adapter.getSwipeItem(position);
+        adapter.prepareSwipeItemAnimator(item);
+        itemAnimator = item.getItemAnimator();
+        menuAnimator = item.getMenuAnimator();
+        itemAnimator.setDuration(swipeDuration);
+        menuAnimator.setDuration(swipeDuration);
+    }
+
     /**
      * @return 侧滑百分比（移动距离判断）
      */
@@ -279,12 +298,6 @@ public class SwipeItemTouch<T> implements View.OnTouchListener {
      */
     public void setSwipeDuration(int swipeDuration) {
         this.swipeDuration = swipeDuration;
-        if (itemAnimator != null) {
-            itemAnimator.setDuration(swipeDuration);
-        }
-        if (menuAnimator != null) {
-            menuAnimator.setDuration(swipeDuration);
-        }
     }
 
     /**
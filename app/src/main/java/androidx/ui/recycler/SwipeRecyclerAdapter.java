@@ -14,8 +14,11 @@ import androidx.annotation.DrawableRes;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.core.widget.NestedScrollView;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 import androidx.ui.R;
+import androidx.ui.util.Size;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -59,6 +62,10 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * 扩展数据集合
      */
     private List<T> dataList;
+    /**
+     * 分页列表的显示个数统计和加载
+     */
+    private final PagedAdapterHelper pagedHelper = new PagedAdapterHelper();
     /**
      * 空视图
      */
@@ -166,13 +173,62 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * 是否加载更多正在加载
      */
     private boolean loading;
+    /**
+     * 距离末尾多少个Item时触发加载更多，0为滑动到底部时触发
+     */
+    private int prefetchDistance;
+    /**
+     * 加载更多请求是否未完成，未完成时不重复触发，
+     * 数据改变、请求完成或失败后可再次触发
+     */
+    private boolean loadingRequested;
+    /**
+     * 加载失败最大自动重试次数
+     */
+    private int maxRetryCount;
+    /**
+     * 第一次重试延迟，之后每次翻倍
+     */
+    private long retryDelay = DEFAULT_RETRY_DELAY;
+    /**
+     * 已重试次数
+     */
+    private int retryCount;
+    /**
+     * 默认重试延迟
+     */
+    public static final long DEFAULT_RETRY_DELAY = 1000L;
+    /**
+     * 最大重试延迟
+     */
+    public static final long MAX_RETRY_DELAY = 30 * 1000L;
     /**
      * item默认动画
      */
     private SwipeDefaultItemAnimator defaultItemAnimator;
+    /**
+     * 侧滑动画缓存池，首次侧滑时才分配动画，删除的Item动画回收复用
+     */
+    private List<SwipeItemAnimator> swipeAnimatorPool;
+    /**
+     * 侧滑动画缓存池大小
+     */
+    private static final int SWIPE_ANIMATOR_POOL_SIZE = 8;
 
     public SwipeRecyclerAdapter(Context context) {
         this.context = context;
+        //数据改变说明上次加载已成功返回，允许再次触发加载更多
+        registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                onLoadingComplete();
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                onLoadingComplete();
+            }
+        });
     }
 
     /**
@@ -291,15 +347,147 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
                     defaultLoadingView.setLoading(true);
                 }
             }
-            //滑动到底部情况
-            if (isScrolledBottom && !isScrolledTop) {
+            //滑动到底部或距离末尾小于预加载距离
+            if ((isScrolledBottom && !isScrolledTop) || isPrefetchReached(v)) {
                 if (defaultLoadingView != null) {
                     defaultLoadingView.setLoading(true);
                 }
-                if (onLoadingListener != null) {
-                    onLoadingListener.onLoading();
-                }
+                requestLoading();
+            }
+        }
+    }
+
+    /**
+     * 是否到达预加载位置，只支持RecyclerView
+     *
+     * @param v 滑动控件
+     * @return
+     */
+    private boolean isPrefetchReached(View v) {
+        if (prefetchDistance <= 0 || !(v instanceof RecyclerView)) {
+            return false;
+        }
+        int lastPosition = findLastVisiblePosition((RecyclerView) v);
+        //按最后一个数据Item计算，不包含头部、底部和加载更多
+        int lastDataPosition = getHeaderCount() + Size.of(dataList) - 1;
+        return lastPosition != RecyclerView.NO_POSITION && lastPosition >= lastDataPosition - prefetchDistance;
+    }
+
+    /**
+     * 最后一个可见Item位置
+     *
+     * @param recyclerView 列表
+     * @return 没有可见Item返回{@link RecyclerView#NO_POSITION}
+     */
+    protected int findLastVisiblePosition(RecyclerView recyclerView) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            return ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+        }
+        if (layoutManager instanceof StaggeredGridLayoutManager) {
+            int[] positions = ((StaggeredGridLayoutManager) layoutManager).findLastVisibleItemPositions(null);
+            int last = RecyclerView.NO_POSITION;
+            for (int position : positions) {
+                last = Math.max(last, position);
             }
+            return last;
+        }
+        if (layoutManager == null || layoutManager.getChildCount() == 0) {
+            return RecyclerView.NO_POSITION;
+        }
+        return layoutManager.getPosition(layoutManager.getChildAt(layoutManager.getChildCount() - 1));
+    }
+
+    /**
+     * 触发加载更多，上次请求未完成时忽略
+     */
+    private void requestLoading() {
+        if (loadingRequested || onLoadingListener == null) {
+            return;
+        }
+        loadingRequested = true;
+        onLoadingListener.onLoading();
+    }
+
+    /**
+     * 加载失败重试
+     */
+    private final Runnable retryLoading = new Runnable() {
+        @Override
+        public void run() {
+            requestLoading();
+        }
+    };
+
+    /**
+     * 设置预加载距离，距离末尾指定个数Item时提前触发加载更多
+     *
+     * @param prefetchDistance 预加载Item个数，0为滑动到底部时触发
+     */
+    public void setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+    }
+
+    /**
+     * @return 预加载距离
+     */
+    public int getPrefetchDistance() {
+        return prefetchDistance;
+    }
+
+    /**
+     * 设置加载失败自动重试
+     *
+     * @param maxRetryCount 最大重试次数，0不重试
+     * @param retryDelay    第一次重试延迟（毫秒），之后每次翻倍
+     */
+    public void setRetry(int maxRetryCount, long retryDelay) {
+        this.maxRetryCount = maxRetryCount;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * 重试延迟，可重写修改退避策略
+     *
+     * @param retryCount 已重试次数
+     * @return 延迟（毫秒）
+     */
+    protected long getRetryDelay(int retryCount) {
+        return Math.min(MAX_RETRY_DELAY, retryDelay << Math.min(retryCount, 16));
+    }
+
+    /**
+     * 加载更多请求成功，取消等待中的重试，允许再次触发加载更多，数据改变时自动调用；
+     * 请求成功但没有新数据时需要手动调用，否则不会再触发加载更多
+     */
+    public void onLoadingComplete() {
+        loadingRequested = false;
+        retryCount = 0;
+        removeRetryLoading();
+    }
+
+    /**
+     * 加载更多请求失败，设置了重试时延迟后重新触发加载更多
+     */
+    public void onLoadingFailed() {
+        loadingRequested = false;
+        removeRetryLoading();
+        View view = recyclerView != null ? recyclerView : nestedScrollView;
+        if (view != null && retryCount < maxRetryCount) {
+            view.postDelayed(retryLoading, getRetryDelay(retryCount));
+            retryCount++;
+        }
+    }
+
+    /**
+     * 移除等待中的重试
+     */
+    private void removeRetryLoading() {
+        if (recyclerView != null) {
+            recyclerView.removeCallbacks(retryLoading);
+        }
+        if (nestedScrollView != null) {
+            nestedScrollView.removeCallbacks(retryLoading);
         }
     }
 
@@ -807,6 +995,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         } else if (viewType == SwipeExpansion.LOADING) {
             onLoadingBindViewHolder(holder, loadingArgs);
         } else {
+            pagedHelper.loadAround(dataList, position - getHeaderCount());
             if (isSwipeEnable()) {
                 onSwipeBindViewHolder(holder, position);
             } else {
@@ -815,6 +1004,18 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         }
     }
 
+    @Override
+    public void onViewAttachedToWindow(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        pagedHelper.onViewAttachedToWindow(dataList);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        pagedHelper.onViewDetachedFromWindow(dataList);
+    }
+
     /**
      * 添加item点击事件
      *
@@ -890,13 +1091,13 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      */
     protected void onSwipeBindViewHolder(ViewHolder holder, int position) {
         if (getSwipeItem(position).isSwipe()) {
-            SwipeItemTouch itemTouch = items.get(position).getSwipeItemTouch();
+            SwipeItemTouch itemTouch = getSwipeItem(position).getSwipeItemTouch();
             if (itemTouch == null) {
                 itemTouch = new SwipeItemTouch(this);
                 itemTouch.setSwipeDuration(swipeDuration);
                 itemTouch.setSwipeRatio(swipeRatio);
                 itemTouch.setSwipeThreshold(swipeThreshold);
-                items.get(position).setSwipeItemTouch(itemTouch);
+                getSwipeItem(position).setSwipeItemTouch(itemTouch);
             }
             itemTouch.initialize(holder, position);
             holder.itemView.setOnTouchListener(itemTouch);
@@ -925,6 +1126,9 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         View menuView = findSwipeMenuView(holder.itemView);
         int menuWidth = menuView == null ? 0 : menuView.getMeasuredWidth();
         SwipeItem item = getSwipeItem(position);
+        if (animator) {
+            prepareSwipeItemAnimator(item);
+        }
         boolean isOpen = item.isOpen();
         if (isOpen) {
             if (animator) {
@@ -984,7 +1188,8 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         List<SwipeItem<T>> items = getSwipeItems();
         int size = items == null ? 0 : items.size();
         for (int i = 0; i < size; i++) {
-            if (getSwipeItem(i).isOpen()) {
+            SwipeItem<T> item = items.get(i);
+            if (item != null && item.isOpen()) {
                 return true;
             }
         }
@@ -998,7 +1203,8 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      */
     public int findOpenSwipeItemPosition() {
         for (int i = 0; i < getSwipeItemCount(); i++) {
-            if (getSwipeItem(i).isOpen()) {
+            SwipeItem<T> item = items.get(i);
+            if (item != null && item.isOpen()) {
                 return i;
             }
         }
@@ -1028,8 +1234,8 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      */
     public void closeSwipe(boolean animator) {
         for (int i = 0; i < getSwipeItemCount(); i++) {
-            SwipeItem<T> item = getSwipeItem(i);
-            if (item.isOpen()) {
+            SwipeItem<T> item = items.get(i);
+            if (item != null && item.isOpen()) {
                 closeSwipe(i, animator);
             }
         }
@@ -1115,8 +1321,11 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * @param sources
      */
     public void setDataSource(List<T> sources, boolean notify) {
+        pagedHelper.replace(dataList, sources);
         dataList = sources;
-        items = new ArrayList<>();
+        //按位置复用已有的SwipeItem，数据未变的Item保留侧滑状态
+        List<SwipeItem<T>> previous = items;
+        items = new ArrayList<>(Size.of(sources) + 3);
         expansions = new ArrayList<>();
         if (isHasHeader() && isShowHeader()) {
             SwipeExpansion expansion = new SwipeExpansion(SwipeExpansion.HEADER);
@@ -1124,9 +1333,39 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
             items.add(new SwipeItem(expansion));
         }
         int size = sources == null ? 0 : sources.size();
+        int reuse = 0;
+        int previousSize = previous == null ? 0 : previous.size();
+        boolean swipe = isSwipeEnable();
+        boolean paged = sources instanceof PagedList;
         for (int index = 0; index < size; index++) {
-            items.add(new SwipeItem(sources.get(index), isSwipeEnable(), createSwipeItemAnimator(), createSwipeItemAnimator()));
+            T data = sources.get(index);
             lastPosition = index + 1;
+            //分页已释放的位置不保留SwipeItem，绑定时再创建
+            if (paged && data == null) {
+                items.add(null);
+                continue;
+            }
+            SwipeItem<T> item = null;
+            while (reuse < previousSize && item == null) {
+                SwipeItem<T> candidate = previous.get(reuse++);
+                if (candidate != null && candidate.getExpansion() == null) {
+                    item = candidate;
+                }
+            }
+            if (item == null) {
+                item = new SwipeItem(data, swipe, null, null);
+            } else if (item.getData() != data) {
+                item.setData(data);
+                item.setOpen(false);
+                cancelSwipeItemAnimator(item);
+            }
+            item.setSwipe(swipe);
+            items.add(item);
+        }
+        for (int i = reuse; i < previousSize; i++) {
+            if (previous.get(i) != null) {
+                recycleSwipeItemAnimator(previous.get(i));
+            }
         }
         if (isHasFooter() && isShowFooter()) {
             SwipeExpansion expansion = new SwipeExpansion(SwipeExpansion.FOOTER);
@@ -1143,6 +1382,69 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         }
     }
 
+    /**
+     * 准备侧滑动画，首次侧滑时从缓存池获取或创建
+     *
+     * @param item 侧滑Item
+     */
+    protected void prepareSwipeItemAnimator(SwipeItem<T> item) {
+        if (item.getItemAnimator() == null) {
+            item.setItemAnimator(obtainSwipeItemAnimator());
+        }
+        if (item.getMenuAnimator() == null) {
+            item.setMenuAnimator(obtainSwipeItemAnimator());
+        }
+    }
+
+    /**
+     * 获取侧滑动画
+     *
+     * @return
+     */
+    private SwipeItemAnimator obtainSwipeItemAnimator() {
+        int size = swipeAnimatorPool == null ? 0 : swipeAnimatorPool.size();
+        if (size > 0) {
+            SwipeItemAnimator animator = swipeAnimatorPool.remove(size - 1);
+            animator.setDuration(swipeDuration);
+            return animator;
+        }
+        return createSwipeItemAnimator();
+    }
+
+    /**
+     * 取消Item侧滑动画
+     *
+     * @param item 侧滑Item
+     */
+    private void cancelSwipeItemAnimator(SwipeItem<T> item) {
+        if (item.getItemAnimator() != null) {
+            item.getItemAnimator().cancel();
+        }
+        if (item.getMenuAnimator() != null) {
+            item.getMenuAnimator().cancel();
+        }
+    }
+
+    /**
+     * 回收已删除Item的侧滑动画
+     *
+     * @param item 侧滑Item
+     */
+    private void recycleSwipeItemAnimator(SwipeItem<T> item) {
+        cancelSwipeItemAnimator(item);
+        if (swipeAnimatorPool == null) {
+            swipeAnimatorPool = new ArrayList<>();
+        }
+        if (item.getItemAnimator() != null && swipeAnimatorPool.size() < SWIPE_ANIMATOR_POOL_SIZE) {
+            swipeAnimatorPool.add(item.getItemAnimator());
+        }
+        if (item.getMenuAnimator() != null && swipeAnimatorPool.size() < SWIPE_ANIMATOR_POOL_SIZE) {
+            swipeAnimatorPool.add(item.getMenuAnimator());
+        }
+        item.setItemAnimator(null);
+        item.setMenuAnimator(null);
+    }
+
     /**
      * 创建侧滑动画
      *
@@ -1175,7 +1477,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         List<T> list = new ArrayList<>();
         for (int i = 0; i < items.size(); i++) {
             SwipeItem<T> item = items.get(i);
-            T data = item.getData();
+            T data = item == null ? null : item.getData();
             if (data != null) {
                 list.add(data);
             }
@@ -1195,7 +1497,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * @return 是否是普通Item
      */
     public boolean isData(int position) {
-        return items.get(position).getData() != null;
+        return getSwipeItem(position).getData() != null;
     }
 
     /**
@@ -1203,17 +1505,23 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * @return Item数据
      */
     public T getItem(int position) {
-        return items.get(position).getData();
+        SwipeItem<T> item = items.get(position);
+        return item == null ? null : item.getData();
     }
 
     /**
-     * 获取侧滑Item
+     * 获取侧滑Item，分页已释放的位置在获取时创建
      *
      * @param position 位置
      * @return
      */
     public SwipeItem<T> getSwipeItem(int position) {
-        return items.get(position);
+        SwipeItem<T> item = items.get(position);
+        if (item == null) {
+            item = new SwipeItem(null, isSwipeEnable(), null, null);
+            items.set(position, item);
+        }
+        return item;
     }
 
     /**
@@ -1221,7 +1529,8 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * @return 是否是扩展Item(Header / Footer / More)
      */
     public boolean isExpansion(int position) {
-        return items.get(position).getExpansion() != null;
+        SwipeItem<T> item = items.get(position);
+        return item != null && item.getExpansion() != null;
     }
 
     /**
@@ -1229,7 +1538,8 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      * @return 扩展Item
      */
     public SwipeExpansion getExpansion(int position) {
-        return items.get(position).getExpansion();
+        SwipeItem<T> item = items.get(position);
+        return item == null ? null : item.getExpansion();
     }
 
     /**
@@ -1254,7 +1564,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
             items = new ArrayList<>();
         }
         dataList.add(item);
-        items.add(lastPosition, new SwipeItem(item, isSwipeEnable(), false, createSwipeItemAnimator(), createSwipeItemAnimator()));
+        items.add(lastPosition, new SwipeItem(item, isSwipeEnable(), false, null, null));
         lastPosition = dataList.size();
         notifyItemInserted(lastPosition);
     }
@@ -1273,7 +1583,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
             items = new ArrayList<>();
         }
         dataList.add(position, item);
-        items.add(position, new SwipeItem(item, isSwipeEnable(), false, createSwipeItemAnimator(), createSwipeItemAnimator()));
+        items.add(position, new SwipeItem(item, isSwipeEnable(), false, null, null));
         lastPosition = dataList.size();
         notifyItemInserted(position);
     }
@@ -1291,7 +1601,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
             items = new ArrayList<>();
         }
         dataList.add(0, item);
-        items.add(0, new SwipeItem(item, isSwipeEnable(), false, createSwipeItemAnimator(), createSwipeItemAnimator()));
+        items.add(0, new SwipeItem(item, isSwipeEnable(), false, null, null));
         int position = isHasHeader() && isShowHeader() ? 1 : 0;
         lastPosition = dataList.size();
         notifyItemInserted(position);
@@ -1322,6 +1632,107 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         }
     }
 
+    /**
+     * 设置分页数据源，自动加载分页，内存中只保留部分页面，
+     * 已释放页面的Item为null（占位），{@link #getItem(int)}返回null时需要显示占位视图。<br/>
+     * 分页数据只读，不能再调用添加、删除、移动Item的方法。
+     *
+     * @param source 分页数据源
+     * @return 分页列表，可设置保留页数、预加载距离及加载失败监听，第一页加载失败时调用{@link PagedList#retry()}重新加载
+     */
+    public <K> PagedList<K, T> setPageSource(PageSource<K, T> source) {
+        //替换数据时旧的分页列表停止使用，不会再回调
+        PagedList<K, T> list = pagedHelper.create(source, new PagedList.Callback() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                insertPagedSwipeItems(positionStart, itemCount);
+                notifyItemRangeInserted(positionStart + getHeaderCount(), itemCount);
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                updatePagedSwipeItems(positionStart, itemCount);
+                notifyItemRangeChanged(positionStart + getHeaderCount(), itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                removePagedSwipeItems(positionStart, itemCount);
+                notifyItemRangeRemoved(positionStart + getHeaderCount(), itemCount);
+            }
+        });
+        setDataSource(list);
+        return list;
+    }
+
+    /**
+     * 分页插入数据后插入对应的SwipeItem
+     *
+     * @param positionStart 数据开始位置
+     * @param itemCount     个数
+     */
+    private void insertPagedSwipeItems(int positionStart, int itemCount) {
+        List<SwipeItem<T>> inserted = new ArrayList<>(itemCount);
+        boolean swipe = isSwipeEnable();
+        for (int i = positionStart; i < positionStart + itemCount; i++) {
+            T data = dataList.get(i);
+            inserted.add(data == null ? null : new SwipeItem(data, swipe, null, null));
+        }
+        items.addAll(positionStart + getHeaderCount(), inserted);
+        lastPosition = dataList.size();
+    }
+
+    /**
+     * 分页加载或释放后更新对应的SwipeItem，释放的位置不保留SwipeItem
+     *
+     * @param positionStart 数据开始位置
+     * @param itemCount     个数
+     */
+    private void updatePagedSwipeItems(int positionStart, int itemCount) {
+        int offset = getHeaderCount();
+        for (int i = positionStart; i < positionStart + itemCount; i++) {
+            T data = dataList.get(i);
+            SwipeItem<T> item = items.get(i + offset);
+            if (data == null) {
+                if (item != null) {
+                    recycleSwipeItemAnimator(item);
+                    items.set(i + offset, null);
+                }
+            } else if (item == null) {
+                items.set(i + offset, new SwipeItem(data, isSwipeEnable(), null, null));
+            } else if (item.getData() != data) {
+                item.setData(data);
+                item.setOpen(false);
+                cancelSwipeItemAnimator(item);
+            }
+        }
+    }
+
+    /**
+     * 分页删除数据后删除对应的SwipeItem
+     *
+     * @param positionStart 数据开始位置
+     * @param itemCount     个数
+     */
+    private void removePagedSwipeItems(int positionStart, int itemCount) {
+        int offset = getHeaderCount();
+        List<SwipeItem<T>> removed = items.subList(positionStart + offset, positionStart + offset + itemCount);
+        for (SwipeItem<T> item : removed) {
+            if (item != null) {
+                recycleSwipeItemAnimator(item);
+            }
+        }
+        removed.clear();
+        lastPosition = dataList.size();
+    }
+
+    /**
+     * @return 头部Item个数
+     */
+    private int getHeaderCount() {
+        return isHasHeader() && isShowHeader() ? 1 : 0;
+    }
+
     /**
      * 添加多个Item
      *
@@ -1344,7 +1755,7 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
      */
     public void removeItem(int position) {
         items.get(position).setOpen(false);
-        items.remove(position);
+        recycleSwipeItemAnimator(items.remove(position));
         notifyItemRemoved(position);
         notifySwipeItemChanged();
     }
@@ -1358,7 +1769,11 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
     public void removeItems(int positionStart, int itemCount) {
         int size = getItemCount();
         if (positionStart < size && (positionStart + itemCount - 1) < size) {
-            items.removeAll(items.subList(positionStart, positionStart + itemCount));
+            List<SwipeItem<T>> removed = items.subList(positionStart, positionStart + itemCount);
+            for (int i = 0; i < removed.size(); i++) {
+                recycleSwipeItemAnimator(removed.get(i));
+            }
+            items.removeAll(removed);
             notifyItemRangeRemoved(positionStart, itemCount);
         }
         notifySwipeItemChanged();
@@ -1390,8 +1805,8 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
     public void notifySwipeItemChanged() {
         dataList = new ArrayList<>();
         for (int i = 0; i < getSwipeItemCount(); i++) {
-            SwipeItem<T> item = getSwipeItem(i);
-            T data = item.getData();
+            SwipeItem<T> item = items.get(i);
+            T data = item == null ? null : item.getData();
             if (data != null) {
                 dataList.add(data);
             }
@@ -1647,6 +2062,9 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
         int size = items == null ? 0 : items.size();
         for (int i = 0; i < size; i++) {
             SwipeItem<T> item = items.get(i);
+            if (item == null) {
+                continue;
+            }
             SwipeItemAnimator itemAnimator = item.getItemAnimator();
             if (itemAnimator != null) {
                 itemAnimator.cancel();
@@ -1658,6 +2076,9 @@ public abstract class SwipeRecyclerAdapter<T> extends RecyclerView.Adapter imple
             item.setItemAnimator(null);
             item.setMenuAnimator(null);
         }
+        if (swipeAnimatorPool != null) {
+            swipeAnimatorPool.clear();
+        }
         if (defaultItemAnimator != null) {
             defaultItemAnimator.release();
         }
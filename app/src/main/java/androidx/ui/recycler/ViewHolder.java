@@ -1,6 +1,8 @@
 package androidx.ui.recycler;
 
+import android.util.SparseArray;
 import android.view.View;
+import android.view.ViewParent;
 
 import androidx.annotation.IdRes;
 import androidx.recyclerview.widget.RecyclerView;
@@ -22,6 +24,14 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * 位置
      */
     public int itemPosition = -1;
+    /**
+     * 已查找的控件，按id缓存，避免每次绑定遍历视图树
+     */
+    private final SparseArray<View> views = new SparseArray<>();
+    /**
+     * 缓存对应的Item视图，{@link #itemView}被直接赋值时清除缓存
+     */
+    private View cachedItemView;
 
     public ViewHolder(View itemView) {
         super(itemView);
@@ -68,6 +78,7 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      */
     public void setItemView(View itemView) {
         this.itemView = itemView;
+        views.clear();
     }
 
     /**
@@ -88,10 +99,42 @@ public class ViewHolder extends RecyclerView.ViewHolder {
 
     /**
      * @param id view id
-     * @return item中view
+     * @return item中view，第一次查找后缓存，缓存的控件已不在Item中（例如已inflate的ViewStub、被移除或替换的控件）时重新查找
      */
     public <T extends View> T find(@IdRes int id) {
-        return itemView.findViewById(id);
+        if (cachedItemView != itemView) {
+            views.clear();
+            cachedItemView = itemView;
+        }
+        View view = views.get(id);
+        if (view != null && !isChild(view)) {
+            views.remove(id);
+            view = null;
+        }
+        if (view == null) {
+            view = itemView.findViewById(id);
+            //未找到不缓存，控件可能之后动态添加
+            if (view != null) {
+                views.put(id, view);
+            }
+        }
+        return (T) view;
+    }
+
+    /**
+     * @param view 控件
+     * @return 控件是否仍在Item视图树中
+     */
+    private boolean isChild(View view) {
+        View child = view;
+        while (child != itemView) {
+            ViewParent parent = child.getParent();
+            if (!(parent instanceof View)) {
+                return false;
+            }
+            child = (View) parent;
+        }
+        return true;
     }
 
     /**
@@ -103,7 +146,7 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return
      */
     public <T extends View> T find(Class<T> cls, @IdRes int id) {
-        return itemView.findViewById(id);
+        return find(id);
     }
 
     /**
@@ -0,0 +1,96 @@
+package androidx.ui.recycler;
+
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 视图容器回收池，按类型（视图类型或布局资源）存放移除的视图容器，
+ * 每种类型最多保留{@link #getMaxRecycledViews()}个，超出的直接丢弃。<br/>
+ * 供不使用RecyclerView的适配器复用视图，只能在主线程访问。
+ */
+public class ViewHolderPool {
+
+    /**
+     * 按类型存放的视图容器
+     */
+    private final SparseArray<List<ViewHolder>> holders = new SparseArray<>();
+    /**
+     * 每种类型最大回收个数
+     */
+    private int maxRecycledViews;
+
+    /**
+     * 构建回收池
+     *
+     * @param maxRecycledViews 每种类型最大回收个数，0不回收
+     */
+    public ViewHolderPool(int maxRecycledViews) {
+        this.maxRecycledViews = maxRecycledViews;
+    }
+
+    /**
+     * 设置每种类型最大回收个数，已回收超出的部分丢弃
+     *
+     * @param maxRecycledViews 最大回收个数，0不回收
+     */
+    public void setMaxRecycledViews(int maxRecycledViews) {
+        this.maxRecycledViews = maxRecycledViews;
+        for (int i = 0; i < holders.size(); i++) {
+            List<ViewHolder> pool = holders.valueAt(i);
+            while (pool.size() > maxRecycledViews) {
+                pool.remove(pool.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * @return 每种类型最大回收个数
+     */
+    public int getMaxRecycledViews() {
+        return maxRecycledViews;
+    }
+
+    /**
+     * 放入回收池
+     *
+     * @param type   类型
+     * @param holder 视图容器
+     * @return 是否放入，达到最大个数时丢弃
+     */
+    public boolean put(int type, ViewHolder holder) {
+        List<ViewHolder> pool = holders.get(type);
+        if (pool == null) {
+            pool = new ArrayList<>();
+            holders.put(type, pool);
+        }
+        if (pool.size() < maxRecycledViews) {
+            pool.add(holder);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 从回收池获取视图容器
+     *
+     * @param type 类型
+     * @return 没有可用视图容器返回null
+     */
+    public ViewHolder obtain(int type) {
+        List<ViewHolder> pool = holders.get(type);
+        if (pool == null || pool.isEmpty()) {
+            return null;
+        }
+        return pool.remove(pool.size() - 1);
+    }
+
+    /**
+     * 清空回收池
+     */
+    public void clear() {
+        holders.clear();
+    }
+
+}
@@ -0,0 +1,141 @@
+package androidx.ui.sqlite;
+
+import android.database.Cursor;
+
+import java.io.Closeable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 游标列表，查询结果不一次性转换为对象，
+ * 在{@link #get(int)}时才移动游标并映射当前行，
+ * 只缓存最近访问的一个窗口的行对象，可直接作为RecyclerAdapter数据源。<br/>
+ * 该列表只读且非线程安全，使用完成后需调用{@link #close()}关闭游标。<br/>
+ *
+ * @param <T> 对象类型
+ */
+public class CursorList<T> extends AbstractList<T> implements Closeable {
+
+    /**
+     * 默认缓存窗口大小
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 50;
+
+    /**
+     * 游标
+     */
+    private final Cursor cursor;
+    /**
+     * 行映射
+     */
+    private final RowMapper<T> mapper;
+    /**
+     * 行数
+     */
+    private final int count;
+    /**
+     * 缓存行对象
+     */
+    private final Object[] window;
+    /**
+     * 缓存行位置
+     */
+    private final int[] positions;
+
+    public CursorList(Cursor cursor, RowMapper<T> mapper) {
+        this(cursor, mapper, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 游标列表
+     *
+     * @param cursor     游标
+     * @param mapper     行映射
+     * @param windowSize 缓存窗口大小
+     */
+    public CursorList(Cursor cursor, RowMapper<T> mapper, int windowSize) {
+        this.cursor = cursor;
+        this.mapper = mapper;
+        this.count = cursor == null ? 0 : Math.max(cursor.getCount(), 0);
+        windowSize = Math.max(windowSize, 1);
+        this.window = new Object[windowSize];
+        this.positions = new int[windowSize];
+        for (int i = 0; i < windowSize; i++) {
+            positions[i] = -1;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + count);
+        }
+        if (isClosed()) {
+            throw new IllegalStateException("The cursor is closed.");
+        }
+        int slot = index % window.length;
+        if (positions[slot] != index) {
+            cursor.moveToPosition(index);
+            window[slot] = mapper.map(cursor);
+            positions[slot] = index;
+        }
+        return (T) window[slot];
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 获取分页数据
+     *
+     * @param page     页码，从1开始
+     * @param pageSize 每页数量
+     * @return 分页数据，超出范围返回空列表
+     */
+    public List<T> getPage(int page, int pageSize) {
+        int from = Math.max(page - 1, 0) * pageSize;
+        int to = Math.min(from + pageSize, count);
+        List<T> list = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    /**
+     * @param pageSize 每页数量
+     * @return 页数
+     */
+    public int getPageCount(int pageSize) {
+        return pageSize <= 0 ? 0 : (count + pageSize - 1) / pageSize;
+    }
+
+    /**
+     * @return 游标
+     */
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return 游标是否已关闭
+     */
+    public boolean isClosed() {
+        return cursor == null || cursor.isClosed();
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; i < window.length; i++) {
+            window[i] = null;
+            positions[i] = -1;
+        }
+        if (cursor != null && !cursor.isClosed()) {
+            cursor.close();
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package androidx.ui.sqlite;
+
+/**
+ * 数据库异步操作结果监听，回调在主线程执行。<br/>
+ *
+ * @param <T> 结果类型
+ */
+public interface OnSQLiteResultListener<T> {
+
+    /**
+     * 操作成功
+     *
+     * @param result 结果
+     */
+    void onSQLiteResult(T result);
+
+    /**
+     * 操作失败
+     *
+     * @param e 异常
+     */
+    void onSQLiteFailure(Exception e);
+
+}
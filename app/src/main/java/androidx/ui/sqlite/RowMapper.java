@@ -0,0 +1,20 @@
+package androidx.ui.sqlite;
+
+import android.database.Cursor;
+
+/**
+ * 游标行映射，将游标当前行转换为对象。<br/>
+ *
+ * @param <T> 对象类型
+ */
+public interface RowMapper<T> {
+
+    /**
+     * 映射游标当前行
+     *
+     * @param cursor 游标，已移动到需要映射的行
+     * @return 对象
+     */
+    T map(Cursor cursor);
+
+}
@@ -3,16 +3,20 @@ package androidx.ui.sqlite;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.text.TextUtils;
 import android.util.Log;
 
-import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 抽象类是基础utils在你扩展这个
@@ -56,14 +60,24 @@ public class SQLite implements OnSQLiteOpenListener {
     private final String DATABASE_NAME = "ui_sqlite.db";
     protected final String CREATE_TABLE_HEAD = "CREATE TABLE IF NOT EXISTS ";
     protected final String CREATE_PRIMARY_KEY = "TAB_ID INTEGER PRIMARY KEY AUTOINCREMENT,";
+    /**
+     * 批量操作默认每批数量
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    private final int BATCH_INSERT = 0;
+    private final int BATCH_UPDATE = 1;
+    private final int BATCH_UPSERT = 2;
 
     private int version;
     private Context context;
-    private SQLiteDatabase db;
+    private volatile SQLiteDatabase db;
+    private volatile SQLiteAsync async;
     private String databaseName;
     private SQLiteHelper sqLiteOpen;
     private static SQLite sqLite;
     private OnSQLiteOpenListener listener;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private final SQLiteStatementCache statementCache = new SQLiteStatementCache();
 
     /**
      * 基础的数据库构造方法<br/>
@@ -76,11 +90,7 @@ public class SQLite implements OnSQLiteOpenListener {
         version = DATABASE_VERSION;
         if (sqLiteOpen == null) {
             sqLiteOpen = new SQLiteHelper(context, databaseName, null, version, this);
-            db = sqLiteOpen.getWritableDatabase();
-        }
-        onCreate(db);
-        if (new File(db.getPath()).exists()) {
-            onCreate(db);
+            sqLiteOpen.setWriteAheadLoggingEnabled(true);
         }
     }
 
@@ -95,11 +105,7 @@ public class SQLite implements OnSQLiteOpenListener {
         databaseName = DATABASE_NAME;
         if (sqLiteOpen == null) {
             sqLiteOpen = new SQLiteHelper(context, databaseName, null, databaseVersion, this);
-            db = sqLiteOpen.getWritableDatabase();
-        }
-        onCreate(db);
-        if (new File(db.getPath()).exists()) {
-            onCreate(db);
+            sqLiteOpen.setWriteAheadLoggingEnabled(true);
         }
     }
 
@@ -114,11 +120,7 @@ public class SQLite implements OnSQLiteOpenListener {
         this.context = context;
         if (sqLiteOpen == null) {
             sqLiteOpen = new SQLiteHelper(context, databaseName, null, version, this);
-            db = sqLiteOpen.getWritableDatabase();
-        }
-        onCreate(db);
-        if (new File(db.getPath()).exists()) {
-            onCreate(db);
+            sqLiteOpen.setWriteAheadLoggingEnabled(true);
         }
     }
 
@@ -189,10 +191,46 @@ public class SQLite implements OnSQLiteOpenListener {
     }
 
     /**
+     * 数据库在第一次使用时才打开，避免初始化时阻塞主线程
+     *
      * @return 数据库操作对象
      */
     public SQLiteDatabase database() {
-        return db;
+        SQLiteDatabase database = db;
+        if (database == null) {
+            synchronized (this) {
+                if (db == null) {
+                    db = sqLiteOpen.getWritableDatabase();
+                }
+                database = db;
+            }
+        }
+        return database;
+    }
+
+    /**
+     * 设置是否开启WAL模式，开启后读操作可以与写操作并发执行，默认开启
+     *
+     * @param enabled 是否开启
+     */
+    public void setWriteAheadLoggingEnabled(boolean enabled) {
+        sqLiteOpen.setWriteAheadLoggingEnabled(enabled);
+    }
+
+    /**
+     * @return 异步操作，单线程写入，多线程并发读取，结果回调在主线程
+     */
+    public SQLiteAsync async() {
+        SQLiteAsync sqLiteAsync = async;
+        if (sqLiteAsync == null) {
+            synchronized (this) {
+                if (async == null) {
+                    async = new SQLiteAsync(this);
+                }
+                sqLiteAsync = async;
+            }
+        }
+        return sqLiteAsync;
     }
 
     /**
@@ -204,6 +242,32 @@ public class SQLite implements OnSQLiteOpenListener {
         this.listener = listener;
     }
 
+    /**
+     * 设置批量操作每批数量，每批数据在一个事务中提交，
+     * 避免超大批量长时间占用数据库写锁。<br/>
+     * 每批单独提交，中途失败时之前的批次已写入数据库，失败批次回滚，
+     * 批量方法返回已提交的条数；需要全部成功或全部回滚时设置为{@link Integer#MAX_VALUE}。
+     *
+     * @param batchSize 每批数量
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize <= 0 ? DEFAULT_BATCH_SIZE : batchSize;
+    }
+
+    /**
+     * @return 批量操作每批数量
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return 预编译语句缓存，可查看每条SQL的命中次数及耗时
+     */
+    public SQLiteStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     /**
      * 创建数据表
      * 例如: create table if not exists user (_id integer primary key autoincrement,user_name text,user_sex text,user_pwd text)
@@ -227,7 +291,7 @@ public class SQLite implements OnSQLiteOpenListener {
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
         if (listener != null) {
-            listener.onUpgrade(db, version, newVersion);
+            listener.onUpgrade(db, oldVersion, newVersion);
         }
     }
 
@@ -239,6 +303,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     public void create(String table, String[] columns) {
+        SQLiteDatabase db = database();
         if (TextUtils.isEmpty(table)) {
             return;
         }
@@ -271,6 +336,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     public void create(String table, String[] columns, String[] fieldTypes) {
+        SQLiteDatabase db = database();
         if (TextUtils.isEmpty(table)) {
             return;
         }
@@ -295,7 +361,7 @@ public class SQLite implements OnSQLiteOpenListener {
     }
 
     /**
-     * 创建表
+     * 创建表及字段{@link SQLiteIndex}注解声明的索引
      *
      * @param cls 类名
      */
@@ -303,33 +369,103 @@ public class SQLite implements OnSQLiteOpenListener {
         if (cls == null) {
             return;
         }
+        create(database(), cls);
+    }
+
+    /**
+     * 创建表及字段{@link SQLiteIndex}注解声明的索引，
+     * 可在{@link OnSQLiteOpenListener#onCreate(SQLiteDatabase)}中使用
+     *
+     * @param db  数据库
+     * @param cls 类名
+     */
+    public void create(SQLiteDatabase db, Class<?> cls) {
+        if (cls == null) {
+            return;
+        }
+        SQLiteEntity entity = SQLiteEntity.of(cls);
         StringBuffer sb = new StringBuffer();
-        sb.append(CREATE_TABLE_HEAD + cls.getSimpleName());
+        sb.append(CREATE_TABLE_HEAD + entity.getTable());
         sb.append(" (");
         sb.append(CREATE_PRIMARY_KEY);
-        Field[] fields = cls.getDeclaredFields();
-        for (int i = 0; i < fields.length; i++) {
-            Field field = fields[i];
-            field.setAccessible(true);
-            String name = field.getName();
-            if (!name.startsWith("$") && !name.equals("serialVersionUID")) {
-                Class fieldType = field.getType();
-                if (fieldType == int.class || fieldType == Integer.class || fieldType == short.class || fieldType == Short.class) {
-                    sb.append(name + " " + FIELD_TYPE_INTEGER);
-                } else if (fieldType == float.class || fieldType == Float.class || fieldType == double.class || fieldType == Double.class) {
-                    sb.append(name + " " + FIELD_TYPE_REAL);
-                } else if (fieldType == long.class || fieldType == Long.class) {
-                    sb.append(name + " " + FIELD_TYPE_NUMERIC);
-                } else {
-                    sb.append(name + " " + FIELD_TYPE_TEXT);
-                }
-                sb.append(",");
-            }
+        String[] columnNames = entity.getColumnNames();
+        String[] fieldTypes = entity.getFieldTypes();
+        for (int i = 0; i < columnNames.length; i++) {
+            sb.append(columnNames[i] + " " + fieldTypes[i]);
+            sb.append(",");
         }
         sb.deleteCharAt(sb.length() - 1);
         sb.append(")");
         Log.i(TAG, "create table = " + sb.toString());
         db.execSQL(sb.toString());
+        for (String sql : entity.getIndexSQLs()) {
+            Log.i(TAG, "create index = " + sql);
+            db.execSQL(sql);
+        }
+    }
+
+    /**
+     * 升级表，表不存在则创建，存在则对比PRAGMA table_info新增缺少的列及索引，
+     * 不会删除或修改已有列
+     *
+     * @param cls 类名
+     * @throws SQLException 升级失败，本次新增的列及索引全部回滚
+     */
+    public void migrate(Class<?> cls) {
+        if (cls == null) {
+            return;
+        }
+        migrate(database(), cls);
+    }
+
+    /**
+     * 升级表，表不存在则创建，存在则对比PRAGMA table_info新增缺少的列及索引，
+     * 不会删除或修改已有列，可在{@link OnSQLiteOpenListener#onUpgrade(SQLiteDatabase, int, int)}中使用。<br/>
+     * 升级失败（例如已有重复数据时创建唯一索引）时抛出异常，本次新增的列及索引全部回滚，
+     * 在onUpgrade中不捕获时数据库版本不会更新，下次打开数据库重新升级。
+     *
+     * @param db  数据库
+     * @param cls 类名
+     * @throws SQLException 升级失败
+     */
+    public void migrate(SQLiteDatabase db, Class<?> cls) {
+        if (cls == null) {
+            return;
+        }
+        SQLiteEntity entity = SQLiteEntity.of(cls);
+        Set<String> existColumns = new HashSet<>();
+        Cursor cursor = db.rawQuery("PRAGMA table_info(" + entity.getTable() + ")", null);
+        int nameIndex = cursor.getColumnIndex("name");
+        while (cursor.moveToNext()) {
+            existColumns.add(cursor.getString(nameIndex));
+        }
+        cursor.close();
+        if (existColumns.isEmpty()) {
+            create(db, cls);
+            return;
+        }
+        db.beginTransaction();
+        try {
+            String[] columnNames = entity.getColumnNames();
+            String[] fieldTypes = entity.getFieldTypes();
+            for (int i = 0; i < columnNames.length; i++) {
+                if (!existColumns.contains(columnNames[i])) {
+                    String sql = "ALTER TABLE " + entity.getTable() + " ADD COLUMN " + columnNames[i] + " " + fieldTypes[i];
+                    Log.i(TAG, "migrate table = " + sql);
+                    db.execSQL(sql);
+                }
+            }
+            for (String sql : entity.getIndexSQLs()) {
+                Log.i(TAG, "create index = " + sql);
+                db.execSQL(sql);
+            }
+            db.setTransactionSuccessful();
+        } catch (SQLException e) {
+            Log.e(TAG, "migrate exception = " + e.toString());
+            throw e;
+        } finally {
+            db.endTransaction();
+        }
     }
 
     /**
@@ -340,6 +476,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     public long insert(String table, ContentValues contentValues) {
+        SQLiteDatabase db = database();
         long result = -1;
         db.beginTransaction();
         try {
@@ -360,43 +497,179 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return 插入数据
      */
     public long insert(Object obj) {
-        Class<?> cls = obj.getClass();
-        Field[] fields = cls.getDeclaredFields();
-        ContentValues contentValues = new ContentValues();
-        for (int i = 0; i < fields.length; i++) {
-            Field field = fields[i];
-            field.setAccessible(true);
-            String key = field.getName();
-            try {
-                Class<?> fieldType = field.getType();
-                if (!key.equals("$change") && !key.equals("serialVersionUID")) {
-                    if (fieldType == String.class || fieldType == Character.class) {
-                        contentValues.put(key, (String) field.get(obj));
-                    }
-                    if (fieldType == int.class || fieldType == Integer.class) {
-                        contentValues.put(key, (int) field.get(obj));
-                    }
-                    if (fieldType == long.class || fieldType == Long.class) {
-                        contentValues.put(key, (long) field.get(obj));
-                    }
-                    if (fieldType == double.class || fieldType == Double.class) {
-                        contentValues.put(key, (double) field.get(obj));
-                    }
-                    if (fieldType == float.class || fieldType == Float.class) {
-                        contentValues.put(key, (float) field.get(obj));
+        SQLiteEntity entity = SQLiteEntity.of(obj.getClass());
+        return execute(entity, obj, entity.getInsertSQL(), null, true);
+    }
+
+    /**
+     * 批量插入数据，每{@link #getBatchSize()}条数据一个事务，中途失败时返回已提交的条数，见{@link #setBatchSize(int)}
+     *
+     * @param table  表
+     * @param values 数据
+     * @return 插入成功的条数
+     */
+    public int insertAll(String table, Collection<ContentValues> values) {
+        SQLiteDatabase db = database();
+        int count = 0;
+        if (values == null || values.isEmpty()) {
+            return count;
+        }
+        int size = 0;
+        boolean inTransaction = false;
+        try {
+            db.beginTransaction();
+            inTransaction = true;
+            int pending = 0;
+            for (ContentValues contentValues : values) {
+                if (db.insert(table, null, contentValues) != -1) {
+                    size++;
+                }
+                if (++pending == batchSize) {
+                    db.setTransactionSuccessful();
+                    inTransaction = false;
+                    db.endTransaction();
+                    count += size;
+                    size = 0;
+                    pending = 0;
+                    db.beginTransaction();
+                    inTransaction = true;
+                }
+            }
+            db.setTransactionSuccessful();
+            inTransaction = false;
+            db.endTransaction();
+            count += size;
+        } catch (Exception e) {
+            e.printStackTrace();
+            Log.e(TAG, "insert all exception = " + e.toString() + ", committed = " + count);
+            if (inTransaction) {
+                db.endTransaction();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 批量插入对象数据，同一实体类复用预编译语句，
+     * 每{@link #getBatchSize()}条数据一个事务，中途失败时返回已提交的条数，见{@link #setBatchSize(int)}
+     *
+     * @param list 对象集合
+     * @return 插入成功的条数
+     */
+    public int insertAll(Collection<?> list) {
+        return batch(list, null, BATCH_INSERT);
+    }
+
+    /**
+     * 批量更新对象数据，同一实体类复用预编译语句，
+     * 每{@link #getBatchSize()}条数据一个事务，中途失败时返回已提交的条数，见{@link #setBatchSize(int)}
+     *
+     * @param list 对象集合
+     * @param keys 条件列，值取自对象字段，例如"id"
+     * @return 更新的条数
+     */
+    public int updateAll(Collection<?> list, String... keys) {
+        return batch(list, keys, BATCH_UPDATE);
+    }
+
+    /**
+     * 批量更新或插入对象数据，按条件列更新，不存在则插入，
+     * 每{@link #getBatchSize()}条数据一个事务，中途失败时返回已提交的条数，见{@link #setBatchSize(int)}
+     *
+     * @param list 对象集合
+     * @param keys 条件列，值取自对象字段，例如"id"
+     * @return 更新及插入的条数
+     */
+    public int upsertAll(Collection<?> list, String... keys) {
+        return batch(list, keys, BATCH_UPSERT);
+    }
+
+    /**
+     * 批量操作
+     *
+     * @param list 对象集合
+     * @param keys 条件列
+     * @param mode 操作类型
+     * @return 操作成功的条数
+     */
+    private int batch(Collection<?> list, String[] keys, int mode) {
+        SQLiteDatabase db = database();
+        int count = 0;
+        if (list == null || list.isEmpty()) {
+            return count;
+        }
+        if (mode != BATCH_INSERT && (keys == null || keys.length == 0)) {
+            Log.e(TAG, "batch exception = keys is empty");
+            return count;
+        }
+        Map<Class<?>, String> updateSQLs = new HashMap<>();
+        int size = 0;
+        int pending = 0;
+        boolean inTransaction = false;
+        try {
+            db.beginTransaction();
+            inTransaction = true;
+            for (Object obj : list) {
+                if (obj == null) {
+                    continue;
+                }
+                SQLiteEntity entity = SQLiteEntity.of(obj.getClass());
+                int rows = 0;
+                if (mode != BATCH_INSERT) {
+                    String sql = updateSQLs.get(entity.getEntityClass());
+                    if (sql == null) {
+                        sql = entity.getUpdateSQL(keys);
+                        updateSQLs.put(entity.getEntityClass(), sql);
                     }
-                    if (fieldType == boolean.class || fieldType == Boolean.class) {
-                        contentValues.put(key, (boolean) field.get(obj));
+                    long start = System.nanoTime();
+                    SQLiteStatement statement = statementCache.acquire(db, sql);
+                    try {
+                        statement.clearBindings();
+                        int index = entity.bind(statement, obj);
+                        entity.bindKeys(statement, obj, keys, index);
+                        rows = statement.executeUpdateDelete();
+                    } finally {
+                        statementCache.release(db, sql, statement);
                     }
-                    if (fieldType == short.class || fieldType == Short.class) {
-                        contentValues.put(key, (short) field.get(obj));
+                    statementCache.record(sql, System.nanoTime() - start);
+                }
+                if (mode == BATCH_INSERT || (mode == BATCH_UPSERT && rows == 0)) {
+                    String sql = entity.getInsertSQL();
+                    long start = System.nanoTime();
+                    SQLiteStatement statement = statementCache.acquire(db, sql);
+                    try {
+                        statement.clearBindings();
+                        entity.bind(statement, obj);
+                        rows = statement.executeInsert() == -1 ? 0 : 1;
+                    } finally {
+                        statementCache.release(db, sql, statement);
                     }
+                    statementCache.record(sql, System.nanoTime() - start);
                 }
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+                size += rows;
+                if (++pending == batchSize) {
+                    db.setTransactionSuccessful();
+                    inTransaction = false;
+                    db.endTransaction();
+                    count += size;
+                    size = 0;
+                    pending = 0;
+                    db.beginTransaction();
+                    inTransaction = true;
+                }
+            }
+            db.setTransactionSuccessful();
+            inTransaction = false;
+            db.endTransaction();
+            count += size;
+        } catch (Exception e) {
+            e.printStackTrace();
+            Log.e(TAG, "batch exception = " + e.toString() + ", committed = " + count);
+            if (inTransaction) {
+                db.endTransaction();
             }
         }
-        return insert(cls.getSimpleName(), contentValues);
+        return count;
     }
 
     /**
@@ -418,15 +691,13 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return 删除的条数
      */
     public int delete(String table, String whereClause, String[] whereArgs) {
+        String sql = "DELETE FROM " + table + (TextUtils.isEmpty(whereClause) ? "" : " WHERE " + whereClause);
         int result = -1;
-        db.beginTransaction();
         try {
-            result = db.delete(table, whereClause, whereArgs);
-            db.setTransactionSuccessful();
+            result = executeUpdateDelete(sql, whereArgs);
         } catch (Exception e) {
             Log.i(TAG, "delete exception" + e.toString());
         }
-        db.endTransaction();
         return result;
     }
 
@@ -439,16 +710,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return 删除的条数
      */
     public int delete(Class table, String whereClause, String[] whereArgs) {
-        int result = -1;
-        db.beginTransaction();
-        try {
-            result = db.delete(table.getSimpleName(), whereClause, whereArgs);
-            db.setTransactionSuccessful();
-        } catch (Exception e) {
-            Log.i(TAG, "delete exception = " + e.toString());
-        }
-        db.endTransaction();
-        return result;
+        return delete(table.getSimpleName(), whereClause, whereArgs);
     }
 
     /**
@@ -471,6 +733,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     public int update(String table, ContentValues contentValues, String whereClause, String[] whereArgs) {
+        SQLiteDatabase db = database();
         int result = -1;
         db.beginTransaction();
         try {
@@ -492,33 +755,52 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     public int update(Object obj, String whereClause, String[] whereArgs) {
-        int result = -1;
-        db.beginTransaction();
-        ContentValues contentValues = new ContentValues();
-        Class cls = obj.getClass();
-        Field[] fields = cls.getDeclaredFields();
-        for (Field field : fields) {
-            if (field != null) {
-                field.setAccessible(true);
-                String name = field.getName();
-                String value = "";
-                try {
-                    value = String.valueOf(field.get(obj));
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-                if (!name.equals("$change") && !name.equals("serialVersionUID")) {
-                    contentValues.put(name, value);
-                }
-            }
+        SQLiteEntity entity = SQLiteEntity.of(obj.getClass());
+        String sql = entity.getUpdateSQL();
+        if (!TextUtils.isEmpty(whereClause)) {
+            sql += " WHERE " + whereClause;
         }
+        return (int) execute(entity, obj, sql, whereArgs, false);
+    }
+
+    /**
+     * 使用缓存的预编译语句执行对象的插入或更新，
+     * 字段值按类型直接绑定，基础类型不转换为字符串
+     *
+     * @param entity    实体元数据
+     * @param obj       对象
+     * @param sql       sql语句，前部参数为实体列
+     * @param whereArgs 条件值，绑定在实体列之后
+     * @param insert    是否插入
+     * @return 插入返回行id，更新返回行数，失败返回-1
+     */
+    private long execute(SQLiteEntity entity, Object obj, String sql, String[] whereArgs, boolean insert) {
+        SQLiteDatabase db = database();
+        long result = -1;
+        long start = System.nanoTime();
         try {
-            result = db.update(obj.getClass().getSimpleName(), contentValues, whereClause, whereArgs);
-            db.setTransactionSuccessful();
+            SQLiteStatement statement = statementCache.acquire(db, sql);
+            try {
+                statement.clearBindings();
+                int index = entity.bind(statement, obj);
+                if (whereArgs != null) {
+                    for (String arg : whereArgs) {
+                        if (arg == null) {
+                            statement.bindNull(index++);
+                        } else {
+                            statement.bindString(index++, arg);
+                        }
+                    }
+                }
+                result = insert ? statement.executeInsert() : statement.executeUpdateDelete();
+            } finally {
+                statementCache.release(db, sql, statement);
+            }
+            statementCache.record(sql, System.nanoTime() - start);
         } catch (Exception e) {
-            Log.i(TAG, "update exception = " + e.toString());
+            e.printStackTrace();
+            Log.e(TAG, (insert ? "insert" : "update") + " exception = " + e.toString());
         }
-        db.endTransaction();
         return result;
     }
 
@@ -540,17 +822,31 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     public List<Map<String, String>> query(String sql) {
-        Cursor cursor = db.rawQuery(sql, null);
+        return query(sql, (String[]) null);
+    }
+
+    /**
+     * 查询数据
+     *
+     * @param sql           数据库语句，参数使用?占位，例如"select * from user where name = ?"
+     * @param selectionArgs 参数值，例如new String[]{"Mary"}
+     * @return
+     */
+    public List<Map<String, String>> query(String sql, String[] selectionArgs) {
+        SQLiteDatabase db = database();
+        long start = System.nanoTime();
+        Cursor cursor = db.rawQuery(sql, selectionArgs);
         String[] columnNames = cursor.getColumnNames();
         List<Map<String, String>> queryList = new ArrayList<>();
         while (cursor.moveToNext()) {
             Map<String, String> map = new HashMap<>();
             for (int i = 0; i < columnNames.length; i++) {
-                map.put(columnNames[i], cursor.getString(cursor.getColumnIndex(columnNames[i])));
+                map.put(columnNames[i], cursor.getString(i));
             }
             queryList.add(map);
         }
         cursor.close();
+        statementCache.record(sql, System.nanoTime() - start);
         return queryList;
     }
 
@@ -574,56 +870,96 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return 实体列表
      */
     public <T> List<T> query(Class<T> clazz, String sql) {
-        Cursor cursor = db.rawQuery(sql, null);
-        String[] columnNames = cursor.getColumnNames();
-        List<T> list = new ArrayList<T>();
+        return query(clazz, sql, null);
+    }
+
+    /**
+     * 查询数据
+     *
+     * @param clazz         实体类
+     * @param sql           sql语句，参数使用?占位，例如"select * from user where name = ?"
+     * @param selectionArgs 参数值，例如new String[]{"Mary"}
+     * @param <T>           实体类泛型
+     * @return 实体列表
+     */
+    public <T> List<T> query(Class<T> clazz, String sql, String[] selectionArgs) {
+        SQLiteDatabase db = database();
+        long start = System.nanoTime();
+        Cursor cursor = db.rawQuery(sql, selectionArgs);
+        RowMapper<T> mapper = SQLiteEntity.of(clazz).mapper(cursor);
+        List<T> list = new ArrayList<T>(Math.max(cursor.getCount(), 0));
         while (cursor.moveToNext()) {
-            T bean = null;
-            try {
-                bean = clazz.newInstance();
-                for (int i = 0; i < columnNames.length; i++) {
-                    Field field = findField(clazz, columnNames[i]);
-                    if (field != null) {
-                        field.setAccessible(true);
-                        Class fieldType = field.getType();
-                        if (fieldType == String.class || fieldType == CharSequence.class) {
-                            field.set(bean, cursor.getString(cursor.getColumnIndex(columnNames[i])));
-                        }
-                        if (fieldType == long.class || fieldType == Long.class) {
-                            field.set(bean, cursor.getLong(cursor.getColumnIndex(columnNames[i])));
-                        }
-                        if (fieldType == int.class || fieldType == Integer.class) {
-                            field.set(bean, cursor.getInt(cursor.getColumnIndex(columnNames[i])));
-                        }
-                        if (fieldType == float.class || fieldType == Float.class) {
-                            field.set(bean, cursor.getFloat(cursor.getColumnIndex(columnNames[i])));
-                        }
-                        if (fieldType == double.class || fieldType == Double.class) {
-                            field.set(bean, cursor.getDouble(cursor.getColumnIndex(columnNames[i])));
-                        }
-                        if (fieldType == boolean.class || fieldType == Boolean.class) {
-                            String value = cursor.getString(cursor.getColumnIndex(columnNames[i]));
-                            if (value.equals("true") || value.equals("1")) {
-                                field.set(bean, true);
-                            } else {
-                                field.set(bean, false);
-                            }
-                        }
-                    }
-                }
-            } catch (InstantiationException e) {
-                e.printStackTrace();
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            } finally {
-                if (bean != null) {
-                    list.add(bean);
-                }
+            T bean = mapper.map(cursor);
+            if (bean != null) {
+                list.add(bean);
             }
         }
+        cursor.close();
+        statementCache.record(sql, System.nanoTime() - start);
         return list;
     }
 
+    /**
+     * 查询数据，返回游标列表，行数据在访问时才转换，
+     * 使用完成后需要调用{@link CursorList#close()}
+     *
+     * @param sql 数据库语句
+     * @return 游标列表
+     */
+    public CursorList<Map<String, String>> queryCursor(String sql) {
+        return queryCursor(sql, (String[]) null);
+    }
+
+    /**
+     * 查询数据，返回游标列表，行数据在访问时才转换，
+     * 使用完成后需要调用{@link CursorList#close()}
+     *
+     * @param sql           数据库语句，参数使用?占位
+     * @param selectionArgs 参数值
+     * @return 游标列表
+     */
+    public CursorList<Map<String, String>> queryCursor(String sql, String[] selectionArgs) {
+        SQLiteDatabase db = database();
+        Cursor cursor = db.rawQuery(sql, selectionArgs);
+        final String[] columnNames = cursor.getColumnNames();
+        return new CursorList<>(cursor, c -> {
+            Map<String, String> map = new HashMap<>(columnNames.length * 2);
+            for (int i = 0; i < columnNames.length; i++) {
+                map.put(columnNames[i], c.getString(i));
+            }
+            return map;
+        });
+    }
+
+    /**
+     * 查询数据，返回游标列表，实体在访问时才创建，
+     * 使用完成后需要调用{@link CursorList#close()}
+     *
+     * @param clazz 实体类
+     * @param sql   sql语句
+     * @param <T>   实体类泛型
+     * @return 游标列表
+     */
+    public <T> CursorList<T> queryCursor(Class<T> clazz, String sql) {
+        return queryCursor(clazz, sql, null);
+    }
+
+    /**
+     * 查询数据，返回游标列表，实体在访问时才创建，
+     * 使用完成后需要调用{@link CursorList#close()}
+     *
+     * @param clazz         实体类
+     * @param sql           sql语句，参数使用?占位
+     * @param selectionArgs 参数值
+     * @param <T>           实体类泛型
+     * @return 游标列表
+     */
+    public <T> CursorList<T> queryCursor(Class<T> clazz, String sql, String[] selectionArgs) {
+        SQLiteDatabase db = database();
+        Cursor cursor = db.rawQuery(sql, selectionArgs);
+        return new CursorList<>(cursor, SQLiteEntity.of(clazz).<T>mapper(cursor));
+    }
+
     /**
      * @param clazz 类
      * @return 查找声明的字段
@@ -648,12 +984,82 @@ public class SQLite implements OnSQLiteOpenListener {
      * @return
      */
     protected Field findField(Class clazz, String name) {
-        for (Field field : findDeclaredFields(clazz)) {
-            if (field.getName().equals(name)) {
-                return field;
+        SQLiteColumn column = SQLiteEntity.of(clazz).findColumn(name);
+        return column == null ? null : column.getField();
+    }
+
+    /**
+     * 执行插入语句，使用缓存的预编译语句
+     *
+     * @param sql      sql语句，例如"insert into user (name) values (?)"
+     * @param bindArgs 参数值
+     * @return 插入行id，失败返回-1
+     */
+    public long executeInsert(String sql, Object[] bindArgs) {
+        SQLiteDatabase db = database();
+        long start = System.nanoTime();
+        SQLiteStatement statement = statementCache.acquire(db, sql);
+        long result;
+        try {
+            bind(statement, bindArgs);
+            result = statement.executeInsert();
+        } finally {
+            statementCache.release(db, sql, statement);
+        }
+        statementCache.record(sql, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * 执行更新或删除语句，使用缓存的预编译语句
+     *
+     * @param sql      sql语句，例如"update user set name = ? where id = ?"
+     * @param bindArgs 参数值
+     * @return 影响的行数
+     */
+    public int executeUpdateDelete(String sql, Object[] bindArgs) {
+        SQLiteDatabase db = database();
+        long start = System.nanoTime();
+        SQLiteStatement statement = statementCache.acquire(db, sql);
+        int result;
+        try {
+            bind(statement, bindArgs);
+            result = statement.executeUpdateDelete();
+        } finally {
+            statementCache.release(db, sql, statement);
+        }
+        statementCache.record(sql, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * 绑定参数
+     *
+     * @param statement 预编译语句
+     * @param bindArgs  参数值
+     */
+    private void bind(SQLiteStatement statement, Object[] bindArgs) {
+        statement.clearBindings();
+        if (bindArgs == null) {
+            return;
+        }
+        for (int i = 0; i < bindArgs.length; i++) {
+            Object arg = bindArgs[i];
+            int index = i + 1;
+            if (arg == null) {
+                statement.bindNull(index);
+            } else if (arg instanceof Double || arg instanceof Float) {
+                statement.bindDouble(index, ((Number) arg).doubleValue());
+            } else if (arg instanceof Number) {
+                statement.bindLong(index, ((Number) arg).longValue());
+            } else if (arg instanceof Boolean) {
+                statement.bindLong(index, (Boolean) arg ? 1 : 0);
+            } else if (arg instanceof byte[]) {
+                statement.bindBlob(index, (byte[]) arg);
+            } else {
+                statement.bindString(index, arg.toString());
             }
         }
-        return null;
     }
 
     /**
@@ -662,6 +1068,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @param sql sql语句
      */
     public void execSQL(String sql) {
+        SQLiteDatabase db = database();
         Log.i(TAG, "exec sql sql = " + sql);
         db.beginTransaction();
         try {
@@ -680,6 +1087,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @param table 数据表
      */
     public void dropTable(String table) {
+        SQLiteDatabase db = database();
         db.beginTransaction();
         String sql = "drop table if exists " + table;
         try {
@@ -708,6 +1116,7 @@ public class SQLite implements OnSQLiteOpenListener {
      * @param table 数据表
      */
     public void deleteTable(String table) {
+        SQLiteDatabase db = database();
         db.beginTransaction();
         //除去表内的数据，但并不删除表本身
         String sql = "delete from " + table;
@@ -723,9 +1132,21 @@ public class SQLite implements OnSQLiteOpenListener {
     }
 
     /**
-     * 删除数据库
+     * 关闭数据库并关闭缓存的预编译语句，之后再次使用时重新打开
+     */
+    public void close() {
+        synchronized (this) {
+            statementCache.evictAll();
+            sqLiteOpen.close();
+            db = null;
+        }
+    }
+
+    /**
+     * 删除数据库，删除前关闭数据库及缓存的预编译语句
      */
     public void deleteDatabase() {
+        close();
         context.deleteDatabase(sqLiteOpen.getDatabaseName());
         Log.i(TAG, "drop database database Name = " + sqLiteOpen.getDatabaseName());
     }
@@ -0,0 +1,304 @@
+package androidx.ui.sqlite;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 数据库异步操作，写操作在单一线程中顺序执行，
+ * 读操作在线程池中并发执行（WAL模式下读写可并发），
+ * 结果通过{@link OnSQLiteResultListener}回调到主线程。<br/>
+ * 写、读任务队列各最多{@link #MAX_QUEUED_TASKS}个，队列已满时拒绝提交，
+ * 返回的Future抛出{@link RejectedExecutionException}，同时回调
+ * {@link OnSQLiteResultListener#onSQLiteFailure(Exception)}，不会在调用线程执行数据库操作。<br/>
+ * 通过{@link SQLite#async()}获取。
+ */
+public class SQLiteAsync {
+
+    public static final String TAG = SQLiteAsync.class.getSimpleName();
+    /**
+     * 每个线程池最多排队任务数
+     */
+    public static final int MAX_QUEUED_TASKS = 256;
+
+    /**
+     * 数据库
+     */
+    private final SQLite sqLite;
+    /**
+     * 写线程
+     */
+    private final ExecutorService writer;
+    /**
+     * 读线程池
+     */
+    private final ExecutorService reader;
+    /**
+     * 主线程
+     */
+    private final Handler handler;
+
+    protected SQLiteAsync(SQLite sqLite) {
+        this.sqLite = sqLite;
+        int readers = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        writer = newExecutor("SQLite-writer", 1);
+        reader = newExecutor("SQLite-reader", readers);
+        handler = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * 创建线程池
+     *
+     * @param name    线程名
+     * @param threads 线程数
+     * @return
+     */
+    private ExecutorService newExecutor(final String name, int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(MAX_QUEUED_TASKS), new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @return 数据库
+     */
+    public SQLite getSQLite() {
+        return sqLite;
+    }
+
+    /**
+     * 在写线程中打开数据库，可在Application中调用预先打开
+     *
+     * @return
+     */
+    public Future<Boolean> open() {
+        return write(() -> sqLite.database() != null, null);
+    }
+
+    /**
+     * 执行写操作
+     *
+     * @param task     任务
+     * @param listener 结果监听，可为null
+     * @param <T>      结果类型
+     * @return
+     */
+    public <T> Future<T> write(Callable<T> task, OnSQLiteResultListener<T> listener) {
+        return submit(writer, task, listener);
+    }
+
+    /**
+     * 执行读操作
+     *
+     * @param task     任务
+     * @param listener 结果监听，可为null
+     * @param <T>      结果类型
+     * @return
+     */
+    public <T> Future<T> read(Callable<T> task, OnSQLiteResultListener<T> listener) {
+        return submit(reader, task, listener);
+    }
+
+    /**
+     * 提交任务，队列已满或已关闭时返回失败的Future并回调失败
+     *
+     * @param executor 线程池
+     * @param task     任务
+     * @param listener 结果监听，可为null
+     * @param <T>      结果类型
+     * @return
+     */
+    private <T> Future<T> submit(ExecutorService executor, Callable<T> task, final OnSQLiteResultListener<T> listener) {
+        try {
+            return executor.submit(new Task<>(task, listener));
+        } catch (final RejectedExecutionException e) {
+            Log.e(TAG, "async rejected = " + e.toString());
+            if (listener != null) {
+                handler.post(() -> listener.onSQLiteFailure(e));
+            }
+            FutureTask<T> future = new FutureTask<>(() -> {
+                throw e;
+            });
+            future.run();
+            return future;
+        }
+    }
+
+    /**
+     * 插入对象数据
+     *
+     * @param obj      对象
+     * @param listener 结果监听
+     * @return
+     */
+    public Future<Long> insert(final Object obj, OnSQLiteResultListener<Long> listener) {
+        return write(() -> sqLite.insert(obj), listener);
+    }
+
+    /**
+     * 批量插入对象数据
+     *
+     * @param list     对象集合
+     * @param listener 结果监听
+     * @return
+     */
+    public Future<Integer> insertAll(final Collection<?> list, OnSQLiteResultListener<Integer> listener) {
+        return write(() -> sqLite.insertAll(list), listener);
+    }
+
+    /**
+     * 批量更新或插入对象数据
+     *
+     * @param list     对象集合
+     * @param keys     条件列
+     * @param listener 结果监听
+     * @return
+     */
+    public Future<Integer> upsertAll(final Collection<?> list, final String[] keys, OnSQLiteResultListener<Integer> listener) {
+        return write(() -> sqLite.upsertAll(list, keys), listener);
+    }
+
+    /**
+     * 更新对象数据
+     *
+     * @param obj         对象
+     * @param whereClause 条件表达式，例如"name = ?"
+     * @param whereArgs   条件值，例如new String[]{"Mary"}
+     * @param listener    结果监听
+     * @return
+     */
+    public Future<Integer> update(final Object obj, final String whereClause, final String[] whereArgs, OnSQLiteResultListener<Integer> listener) {
+        return write(() -> sqLite.update(obj, whereClause, whereArgs), listener);
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param table       表
+     * @param whereClause 条件表达式，例如"name = ?"
+     * @param whereArgs   条件值，例如new String[]{"Mary"}
+     * @param listener    结果监听
+     * @return
+     */
+    public Future<Integer> delete(final Class table, final String whereClause, final String[] whereArgs, OnSQLiteResultListener<Integer> listener) {
+        return write(() -> sqLite.delete(table, whereClause, whereArgs), listener);
+    }
+
+    /**
+     * 执行SQL语句
+     *
+     * @param sql      sql语句
+     * @param listener 结果监听
+     * @return
+     */
+    public Future<Boolean> execSQL(final String sql, OnSQLiteResultListener<Boolean> listener) {
+        return write(() -> {
+            sqLite.execSQL(sql);
+            return true;
+        }, listener);
+    }
+
+    /**
+     * 查询数据
+     *
+     * @param sql      sql语句
+     * @param listener 结果监听
+     * @return
+     */
+    public Future<List<Map<String, String>>> query(final String sql, OnSQLiteResultListener<List<Map<String, String>>> listener) {
+        return read(() -> sqLite.query(sql), listener);
+    }
+
+    /**
+     * 查询数据
+     *
+     * @param clazz    实体类
+     * @param sql      sql语句
+     * @param listener 结果监听
+     * @param <T>      实体类泛型
+     * @return
+     */
+    public <T> Future<List<T>> query(final Class<T> clazz, final String sql, OnSQLiteResultListener<List<T>> listener) {
+        return read(() -> sqLite.query(clazz, sql), listener);
+    }
+
+    /**
+     * 查询数据
+     *
+     * @param clazz         实体类
+     * @param sql           sql语句，参数使用?占位
+     * @param selectionArgs 参数值
+     * @param listener      结果监听
+     * @param <T>           实体类泛型
+     * @return
+     */
+    public <T> Future<List<T>> query(final Class<T> clazz, final String sql, final String[] selectionArgs, OnSQLiteResultListener<List<T>> listener) {
+        return read(() -> sqLite.query(clazz, sql, selectionArgs), listener);
+    }
+
+    /**
+     * 关闭线程，已提交的任务会继续执行
+     */
+    public void shutdown() {
+        writer.shutdown();
+        reader.shutdown();
+    }
+
+    /**
+     * 异步任务，执行完成后在主线程回调结果
+     *
+     * @param <T> 结果类型
+     */
+    private class Task<T> implements Callable<T> {
+
+        private final Callable<T> task;
+        private final OnSQLiteResultListener<T> listener;
+
+        public Task(Callable<T> task, OnSQLiteResultListener<T> listener) {
+            this.task = task;
+            this.listener = listener;
+        }
+
+        @Override
+        public T call() throws Exception {
+            try {
+                final T result = task.call();
+                if (listener != null) {
+                    handler.post(() -> listener.onSQLiteResult(result));
+                }
+                return result;
+            } catch (final Exception e) {
+                Log.e(TAG, "async exception = " + e.toString());
+                if (listener != null) {
+                    handler.post(() -> listener.onSQLiteFailure(e));
+                }
+                throw e;
+            }
+        }
+    }
+
+}
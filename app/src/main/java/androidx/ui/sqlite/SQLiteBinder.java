@@ -0,0 +1,64 @@
+package androidx.ui.sqlite;
+
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * 实体绑定，由注解处理器为{@link SQLiteTable}实体类生成，
+ * 直接访问字段完成参数绑定和游标映射，替代反射。<br/>
+ * 列类型、建表字段类型及哪些列参与绑定由{@link SQLiteEntity}按{@link SQLiteColumn#typeOf(Class)}统一判断，
+ * 与反射方式一致。<br/>
+ *
+ * @param <T> 实体类型
+ */
+public interface SQLiteBinder<T> {
+
+    /**
+     * @return 表名
+     */
+    String getTable();
+
+    /**
+     * @return 列名
+     */
+    String[] getColumns();
+
+    /**
+     * @return 字段类，顺序与{@link #getColumns()}一致
+     */
+    Class<?>[] getTypes();
+
+    /**
+     * @return 建索引语句，来自字段的{@link SQLiteIndex}注解
+     */
+    String[] getIndexSQLs();
+
+    /**
+     * 绑定单个列
+     *
+     * @param statement 预编译语句
+     * @param obj       对象
+     * @param column    列下标，对应{@link #getColumns()}
+     * @param index     参数位置，从1开始
+     */
+    void bind(SQLiteStatement statement, T obj, int column, int index);
+
+    /**
+     * 绑定单个列，列不存在时绑定null
+     *
+     * @param statement 预编译语句
+     * @param obj       对象
+     * @param column    列名
+     * @param index     参数位置
+     * @return 下一个参数位置
+     */
+    int bind(SQLiteStatement statement, T obj, String column, int index);
+
+    /**
+     * 创建游标行映射
+     *
+     * @param indexes 各列对应的游标列下标，顺序与{@link #getColumns()}一致，-1表示不读取
+     * @return 行映射
+     */
+    RowMapper<T> mapper(int[] indexes);
+
+}
@@ -0,0 +1,261 @@
+package androidx.ui.sqlite;
+
+import android.database.Cursor;
+
+import java.lang.reflect.Field;
+
+/**
+ * 数据表列信息，实体字段在第一次使用时解析，
+ * 之后复用字段类型、列名及数据库类型。<br/>
+ */
+public class SQLiteColumn {
+
+    public static final int TYPE_STRING = 0;
+    public static final int TYPE_CHAR = 1;
+    public static final int TYPE_INT = 2;
+    public static final int TYPE_SHORT = 3;
+    public static final int TYPE_LONG = 4;
+    public static final int TYPE_FLOAT = 5;
+    public static final int TYPE_DOUBLE = 6;
+    public static final int TYPE_BOOLEAN = 7;
+    public static final int TYPE_OTHER = 8;
+    public static final int TYPE_BLOB = 9;
+    public static final int TYPE_ENUM = 10;
+    public static final int TYPE_CONVERTER = 11;
+
+    /**
+     * 字段所在类
+     */
+    private final Class<?> owner;
+    /**
+     * 字段，绑定类声明的列在第一次调用{@link #getField()}时查找
+     */
+    private Field field;
+    /**
+     * 列名
+     */
+    private final String name;
+    /**
+     * 字段类
+     */
+    private final Class<?> cls;
+    /**
+     * 字段类型
+     */
+    private final int type;
+    /**
+     * 是否基础类型
+     */
+    private final boolean primitive;
+    /**
+     * 类型转换器
+     */
+    private final SQLiteConverter converter;
+
+    public SQLiteColumn(Field field) {
+        this(field.getDeclaringClass(), field.getName(), field.getType());
+        field.setAccessible(true);
+        this.field = field;
+    }
+
+    /**
+     * 绑定类声明的列，不扫描实体字段
+     *
+     * @param owner 字段所在类
+     * @param name  列名
+     * @param cls   字段类
+     */
+    public SQLiteColumn(Class<?> owner, String name, Class<?> cls) {
+        this.owner = owner;
+        this.name = name;
+        this.cls = cls;
+        this.primitive = cls.isPrimitive();
+        int type = typeOf(cls);
+        SQLiteConverter converter = null;
+        if (type == TYPE_OTHER) {
+            converter = SQLiteConverters.get(cls);
+            if (converter != null) {
+                type = TYPE_CONVERTER;
+            }
+        }
+        this.type = type;
+        this.converter = converter;
+    }
+
+    /**
+     * @param cls 字段类
+     * @return 字段类型
+     */
+    public static int typeOf(Class<?> cls) {
+        if (cls == String.class || cls == CharSequence.class) {
+            return TYPE_STRING;
+        }
+        if (cls == char.class || cls == Character.class) {
+            return TYPE_CHAR;
+        }
+        if (cls == int.class || cls == Integer.class) {
+            return TYPE_INT;
+        }
+        if (cls == short.class || cls == Short.class) {
+            return TYPE_SHORT;
+        }
+        if (cls == long.class || cls == Long.class) {
+            return TYPE_LONG;
+        }
+        if (cls == float.class || cls == Float.class) {
+            return TYPE_FLOAT;
+        }
+        if (cls == double.class || cls == Double.class) {
+            return TYPE_DOUBLE;
+        }
+        if (cls == boolean.class || cls == Boolean.class) {
+            return TYPE_BOOLEAN;
+        }
+        if (cls == byte[].class) {
+            return TYPE_BLOB;
+        }
+        if (cls.isEnum()) {
+            return TYPE_ENUM;
+        }
+        return TYPE_OTHER;
+    }
+
+    /**
+     * @return 字段，不存在返回null
+     */
+    public Field getField() {
+        if (field == null) {
+            try {
+                Field declared = owner.getDeclaredField(name);
+                declared.setAccessible(true);
+                field = declared;
+            } catch (NoSuchFieldException e) {
+                e.printStackTrace();
+            }
+        }
+        return field;
+    }
+
+    /**
+     * @return 列名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 字段类
+     */
+    public Class<?> getFieldClass() {
+        return cls;
+    }
+
+    /**
+     * @return 字段类型
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * @return 是否基础类型
+     */
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * @return 数据库字段类型
+     */
+    public String getFieldType() {
+        switch (type) {
+            case TYPE_INT:
+            case TYPE_SHORT:
+                return SQLite.FIELD_TYPE_INTEGER;
+            case TYPE_FLOAT:
+            case TYPE_DOUBLE:
+                return SQLite.FIELD_TYPE_REAL;
+            case TYPE_LONG:
+                return SQLite.FIELD_TYPE_NUMERIC;
+            case TYPE_BLOB:
+                return SQLite.FIELD_TYPE_BLOB;
+            case TYPE_CONVERTER:
+                return converter.getFieldType();
+            default:
+                return SQLite.FIELD_TYPE_TEXT;
+        }
+    }
+
+    /**
+     * 非基础类型字段值转数据库值
+     *
+     * @param value 字段值
+     * @return String、Long、Double、byte[]或null
+     */
+    public Object toDatabase(Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (type) {
+            case TYPE_INT:
+            case TYPE_SHORT:
+            case TYPE_LONG:
+                return ((Number) value).longValue();
+            case TYPE_FLOAT:
+            case TYPE_DOUBLE:
+                return ((Number) value).doubleValue();
+            case TYPE_BOOLEAN:
+                return (Boolean) value ? 1L : 0L;
+            case TYPE_BLOB:
+                return value;
+            case TYPE_ENUM:
+                return ((Enum) value).name();
+            case TYPE_CONVERTER:
+                return converter.toDatabase(value);
+            default:
+                return value.toString();
+        }
+    }
+
+    /**
+     * 读取非基础类型字段值
+     *
+     * @param cursor 游标
+     * @param index  列下标
+     * @return 字段值
+     */
+    public Object fromDatabase(Cursor cursor, int index) {
+        if (cursor.isNull(index)) {
+            return null;
+        }
+        switch (type) {
+            case TYPE_STRING:
+                return cursor.getString(index);
+            case TYPE_CHAR:
+                String text = cursor.getString(index);
+                return text.length() == 0 ? null : text.charAt(0);
+            case TYPE_INT:
+                return cursor.getInt(index);
+            case TYPE_SHORT:
+                return cursor.getShort(index);
+            case TYPE_LONG:
+                return cursor.getLong(index);
+            case TYPE_FLOAT:
+                return cursor.getFloat(index);
+            case TYPE_DOUBLE:
+                return cursor.getDouble(index);
+            case TYPE_BOOLEAN:
+                String value = cursor.getString(index);
+                return "true".equals(value) || "1".equals(value);
+            case TYPE_BLOB:
+                return cursor.getBlob(index);
+            case TYPE_ENUM:
+                return Enum.valueOf((Class<Enum>) cls, cursor.getString(index));
+            case TYPE_CONVERTER:
+                return converter.fromDatabase(cursor, index);
+            default:
+                return null;
+        }
+    }
+
+}
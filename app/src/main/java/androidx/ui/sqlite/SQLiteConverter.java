@@ -0,0 +1,35 @@
+package androidx.ui.sqlite;
+
+import android.database.Cursor;
+
+/**
+ * 字段类型转换器，用于Date、嵌套对象等非基础类型字段的存储，
+ * 通过{@link SQLiteConverters#register(Class, SQLiteConverter)}注册。<br/>
+ *
+ * @param <T> 字段类型
+ */
+public interface SQLiteConverter<T> {
+
+    /**
+     * @return 数据库字段类型，例如{@link SQLite#FIELD_TYPE_TEXT}
+     */
+    String getFieldType();
+
+    /**
+     * 字段值转数据库值
+     *
+     * @param value 字段值，不为null
+     * @return String、Long、Double、byte[]或null
+     */
+    Object toDatabase(T value);
+
+    /**
+     * 数据库值转字段值
+     *
+     * @param cursor 游标
+     * @param index  列下标，值不为null
+     * @return 字段值
+     */
+    T fromDatabase(Cursor cursor, int index);
+
+}
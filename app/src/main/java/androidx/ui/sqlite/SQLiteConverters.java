@@ -0,0 +1,160 @@
+package androidx.ui.sqlite;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 字段类型转换器注册表，默认支持Date（按毫秒数存储为INTEGER），
+ * 需要在实体类第一次使用前注册，例如在Application中注册。<br/>
+ */
+public class SQLiteConverters {
+
+    /**
+     * 转换器
+     */
+    private static final Map<Class<?>, SQLiteConverter<?>> converters = new HashMap<>();
+
+    static {
+        converters.put(Date.class, new SQLiteConverter<Date>() {
+
+            @Override
+            public String getFieldType() {
+                return SQLite.FIELD_TYPE_INTEGER;
+            }
+
+            @Override
+            public Object toDatabase(Date value) {
+                return value.getTime();
+            }
+
+            @Override
+            public Date fromDatabase(Cursor cursor, int index) {
+                return new Date(cursor.getLong(index));
+            }
+        });
+    }
+
+    private SQLiteConverters() {
+
+    }
+
+    /**
+     * 注册转换器，已解析的实体元数据会重新解析
+     *
+     * @param cls       字段类型
+     * @param converter 转换器
+     * @param <T>       字段类型
+     */
+    public static <T> void register(Class<T> cls, SQLiteConverter<T> converter) {
+        synchronized (converters) {
+            converters.put(cls, converter);
+        }
+        SQLiteEntity.clear();
+    }
+
+    /**
+     * @param cls 字段类型
+     * @return 数据库字段类型，没有转换器时为TEXT
+     */
+    public static String getFieldType(Class<?> cls) {
+        if (cls == byte[].class) {
+            return SQLite.FIELD_TYPE_BLOB;
+        }
+        SQLiteConverter<?> converter = get(cls);
+        return converter == null ? SQLite.FIELD_TYPE_TEXT : converter.getFieldType();
+    }
+
+    /**
+     * byte[]、枚举及转换器类型的字段值转数据库值，供生成的{@link SQLiteBinder}使用
+     *
+     * @param cls   字段类型
+     * @param value 字段值
+     * @return String、Long、Double、byte[]或null
+     */
+    public static Object toDatabase(Class<?> cls, Object value) {
+        if (value == null || cls == byte[].class) {
+            return value;
+        }
+        if (cls.isEnum()) {
+            return ((Enum) value).name();
+        }
+        SQLiteConverter converter = get(cls);
+        return converter == null ? null : converter.toDatabase(value);
+    }
+
+    /**
+     * byte[]、枚举及转换器类型的数据库值转字段值，供生成的{@link SQLiteBinder}使用
+     *
+     * @param cls    字段类型
+     * @param cursor 游标
+     * @param index  列下标
+     * @return 字段值
+     */
+    public static Object fromDatabase(Class<?> cls, Cursor cursor, int index) {
+        if (cursor.isNull(index)) {
+            return null;
+        }
+        if (cls == byte[].class) {
+            return cursor.getBlob(index);
+        }
+        if (cls.isEnum()) {
+            return Enum.valueOf((Class<Enum>) cls, cursor.getString(index));
+        }
+        SQLiteConverter<?> converter = get(cls);
+        return converter == null ? null : converter.fromDatabase(cursor, index);
+    }
+
+    /**
+     * 绑定数据库值
+     *
+     * @param statement 预编译语句
+     * @param index     参数位置
+     * @param value     String、Long、Double、byte[]或null
+     */
+    public static void bind(SQLiteStatement statement, int index, Object value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else if (value instanceof Long) {
+            statement.bindLong(index, (Long) value);
+        } else if (value instanceof Double) {
+            statement.bindDouble(index, (Double) value);
+        } else if (value instanceof byte[]) {
+            statement.bindBlob(index, (byte[]) value);
+        } else {
+            statement.bindString(index, value.toString());
+        }
+    }
+
+    /**
+     * @param value 数据库值
+     * @return 是否为true
+     */
+    public static boolean isTrue(String value) {
+        return "true".equals(value) || "1".equals(value);
+    }
+
+    /**
+     * @param value 数据库值
+     * @return 第一个字符，空值为0
+     */
+    public static char toChar(String value) {
+        return value == null || value.length() == 0 ? 0 : value.charAt(0);
+    }
+
+    /**
+     * 获取转换器
+     *
+     * @param cls 字段类型
+     * @return 转换器，不存在返回null
+     */
+    public static SQLiteConverter<?> get(Class<?> cls) {
+        synchronized (converters) {
+            return converters.get(cls);
+        }
+    }
+
+}
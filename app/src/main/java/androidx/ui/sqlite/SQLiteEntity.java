@@ -0,0 +1,666 @@
+package androidx.ui.sqlite;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实体类元数据，每个实体类只解析一次字段，
+ * 建表、插入、更新、查询时复用解析结果。<br/>
+ * 存在注解处理器生成的{@link SQLiteBinder}时，列名及字段类来自绑定类，不再反射扫描字段，
+ * 参数绑定及游标映射使用生成的绑定类；列类型统一由{@link SQLiteColumn}判断，两种方式建表结构一致。<br/>
+ */
+public class SQLiteEntity {
+
+    public static final String TAG = SQLiteEntity.class.getSimpleName();
+
+    /**
+     * 实体元数据缓存
+     */
+    private static final Map<Class<?>, SQLiteEntity> entities = new HashMap<>();
+
+    /**
+     * 实体类
+     */
+    private final Class<?> cls;
+    /**
+     * 表名
+     */
+    private final String table;
+    /**
+     * 当前类声明的列，存在绑定类时来自绑定类
+     */
+    private final SQLiteColumn[] columns;
+    /**
+     * 可绑定值的列，用于预编译语句
+     */
+    private final SQLiteColumn[] bindColumns;
+    /**
+     * 可绑定值的列在{@link #columns}中的下标，前bindColumns.length个有效
+     */
+    private final int[] bindIndexes;
+    /**
+     * 包含父类字段的列，用于查询映射
+     */
+    private final Map<String, SQLiteColumn> columnMap;
+    /**
+     * 生成的绑定类，不存在为null
+     */
+    private final SQLiteBinder binder;
+    /**
+     * 建表列名
+     */
+    private final String[] columnNames;
+    /**
+     * 建表列类型
+     */
+    private final String[] fieldTypes;
+    /**
+     * 预编译语句列名
+     */
+    private final String[] bindNames;
+    /**
+     * 插入语句
+     */
+    private String insertSQL;
+    /**
+     * 更新语句
+     */
+    private String updateSQL;
+    /**
+     * 索引语句
+     */
+    private final List<String> indexSQLs;
+
+    private SQLiteEntity(Class<?> cls) {
+        this.cls = cls;
+        this.binder = loadBinder(cls);
+        this.table = binder == null ? cls.getSimpleName() : binder.getTable();
+        if (binder == null) {
+            List<SQLiteColumn> list = new ArrayList<>();
+            for (Field field : cls.getDeclaredFields()) {
+                if (isColumn(field)) {
+                    list.add(new SQLiteColumn(field));
+                }
+            }
+            columns = list.toArray(new SQLiteColumn[list.size()]);
+        } else {
+            String[] names = binder.getColumns();
+            Class<?>[] types = binder.getTypes();
+            columns = new SQLiteColumn[names.length];
+            for (int i = 0; i < names.length; i++) {
+                columns[i] = new SQLiteColumn(cls, names[i], types[i]);
+            }
+        }
+        List<SQLiteColumn> bindList = new ArrayList<>();
+        bindIndexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].getType() != SQLiteColumn.TYPE_OTHER) {
+                bindIndexes[bindList.size()] = i;
+                bindList.add(columns[i]);
+            }
+        }
+        bindColumns = bindList.toArray(new SQLiteColumn[bindList.size()]);
+        columnMap = new HashMap<>();
+        columnNames = new String[columns.length];
+        fieldTypes = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnMap.put(columns[i].getName(), columns[i]);
+            columnNames[i] = columns[i].getName();
+            fieldTypes[i] = columns[i].getFieldType();
+        }
+        bindNames = new String[bindColumns.length];
+        for (int i = 0; i < bindColumns.length; i++) {
+            bindNames[i] = bindColumns[i].getName();
+        }
+        if (binder != null) {
+            indexSQLs = Collections.unmodifiableList(Arrays.asList(binder.getIndexSQLs()));
+            return;
+        }
+        indexSQLs = createIndexSQLs();
+        Class<?> superclass = cls.getSuperclass();
+        while (superclass != null && superclass != Object.class) {
+            for (Field field : superclass.getDeclaredFields()) {
+                if (isColumn(field) && !columnMap.containsKey(field.getName())) {
+                    columnMap.put(field.getName(), new SQLiteColumn(field));
+                }
+            }
+            superclass = superclass.getSuperclass();
+        }
+    }
+
+    /**
+     * 加载注解处理器生成的绑定类
+     *
+     * @param cls 实体类
+     * @return 绑定类，不存在返回null
+     */
+    private static SQLiteBinder loadBinder(Class<?> cls) {
+        try {
+            Class<?> binderClass = Class.forName(cls.getName() + "_SQLiteBinder", true, cls.getClassLoader());
+            return (SQLiteBinder) binderClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            Log.e(TAG, "load binder exception = " + e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 解析{@link SQLiteIndex}注解，生成建索引语句
+     *
+     * @return 建索引语句
+     */
+    private List<String> createIndexSQLs() {
+        final Map<String, List<SQLiteColumn>> groups = new LinkedHashMap<>();
+        final Map<SQLiteColumn, SQLiteIndex> annotations = new HashMap<>();
+        for (SQLiteColumn column : columns) {
+            SQLiteIndex index = column.getField().getAnnotation(SQLiteIndex.class);
+            if (index == null) {
+                continue;
+            }
+            String name = index.name().length() == 0 ? "index_" + table + "_" + column.getName() : index.name();
+            List<SQLiteColumn> group = groups.get(name);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(name, group);
+            }
+            group.add(column);
+            annotations.put(column, index);
+        }
+        List<String> list = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<SQLiteColumn>> entry : groups.entrySet()) {
+            List<SQLiteColumn> group = entry.getValue();
+            Collections.sort(group, (a, b) -> Integer.compare(annotations.get(a).order(), annotations.get(b).order()));
+            boolean unique = false;
+            StringBuilder names = new StringBuilder();
+            for (SQLiteColumn column : group) {
+                unique |= annotations.get(column).unique();
+                names.append(names.length() == 0 ? "" : ",").append(column.getName());
+            }
+            list.add("CREATE " + (unique ? "UNIQUE " : "") + "INDEX IF NOT EXISTS " + entry.getKey() + " ON " + table + " (" + names + ")");
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 获取实体元数据，第一次调用时解析并缓存
+     *
+     * @param cls 实体类
+     * @return 实体元数据
+     */
+    public static SQLiteEntity of(Class<?> cls) {
+        synchronized (entities) {
+            SQLiteEntity entity = entities.get(cls);
+            if (entity == null) {
+                entity = new SQLiteEntity(cls);
+                entities.put(cls, entity);
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * 清空实体元数据缓存，注册新的类型转换器后需要重新解析
+     */
+    public static void clear() {
+        synchronized (entities) {
+            entities.clear();
+        }
+    }
+
+    /**
+     * 是否作为数据表列，排除静态字段及编译器生成的字段
+     *
+     * @param field 字段
+     * @return
+     */
+    protected static boolean isColumn(Field field) {
+        String name = field.getName();
+        if (field.isSynthetic() || Modifier.isStatic(field.getModifiers())) {
+            return false;
+        }
+        return !name.startsWith("$") && !name.equals("serialVersionUID");
+    }
+
+    /**
+     * @return 实体类
+     */
+    public Class<?> getEntityClass() {
+        return cls;
+    }
+
+    /**
+     * @return 表名
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return 当前类声明的列
+     */
+    public SQLiteColumn[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return 建索引语句，来自字段的{@link SQLiteIndex}注解
+     */
+    public List<String> getIndexSQLs() {
+        return indexSQLs;
+    }
+
+    /**
+     * @return 生成的绑定类，不存在为null
+     */
+    public SQLiteBinder getBinder() {
+        return binder;
+    }
+
+    /**
+     * @return 建表列名
+     */
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * @return 建表列类型，顺序与{@link #getColumnNames()}一致
+     */
+    public String[] getFieldTypes() {
+        return fieldTypes;
+    }
+
+    /**
+     * @return 可绑定值的列
+     */
+    public SQLiteColumn[] getBindColumns() {
+        return bindColumns;
+    }
+
+    /**
+     * 插入语句，例如：INSERT INTO user (name,age) VALUES (?,?)
+     *
+     * @return
+     */
+    public String getInsertSQL() {
+        if (insertSQL == null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("INSERT INTO ").append(table).append(" (");
+            for (int i = 0; i < bindNames.length; i++) {
+                sb.append(i == 0 ? "" : ",").append(bindNames[i]);
+            }
+            sb.append(") VALUES (");
+            for (int i = 0; i < bindNames.length; i++) {
+                sb.append(i == 0 ? "?" : ",?");
+            }
+            sb.append(")");
+            insertSQL = sb.toString();
+        }
+        return insertSQL;
+    }
+
+    /**
+     * 不带条件的更新语句，例如：UPDATE user SET name=?,age=?
+     *
+     * @return
+     */
+    public String getUpdateSQL() {
+        if (updateSQL == null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("UPDATE ").append(table).append(" SET ");
+            for (int i = 0; i < bindNames.length; i++) {
+                sb.append(i == 0 ? "" : ",").append(bindNames[i]).append("=?");
+            }
+            updateSQL = sb.toString();
+        }
+        return updateSQL;
+    }
+
+    /**
+     * 更新语句，例如：UPDATE user SET name=?,age=? WHERE id=?
+     *
+     * @param keys 条件列
+     * @return
+     */
+    public String getUpdateSQL(String[] keys) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getUpdateSQL());
+        sb.append(" WHERE ");
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(i == 0 ? "" : " AND ").append(keys[i]).append("=?");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 绑定对象值到预编译语句，参数顺序与{@link #getInsertSQL()}一致
+     *
+     * @param statement 预编译语句
+     * @param obj       对象
+     * @return 下一个参数位置
+     */
+    public int bind(SQLiteStatement statement, Object obj) {
+        if (binder != null) {
+            for (int i = 0; i < bindColumns.length; i++) {
+                binder.bind(statement, obj, bindIndexes[i], i + 1);
+            }
+            return bindColumns.length + 1;
+        }
+        return bind(statement, obj, bindColumns, 1);
+    }
+
+    /**
+     * 绑定条件列的值
+     *
+     * @param statement 预编译语句
+     * @param obj       对象
+     * @param keys      条件列
+     * @param index     起始参数位置
+     * @return 下一个参数位置
+     */
+    public int bindKeys(SQLiteStatement statement, Object obj, String[] keys, int index) {
+        for (String key : keys) {
+            SQLiteColumn column = findColumn(key);
+            if (column == null || column.getType() == SQLiteColumn.TYPE_OTHER) {
+                statement.bindNull(index++);
+            } else if (binder != null) {
+                index = binder.bind(statement, obj, key, index);
+            } else {
+                try {
+                    bind(statement, index, column, obj);
+                } catch (IllegalAccessException e) {
+                    e.printStackTrace();
+                    statement.bindNull(index);
+                }
+                index++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 绑定对象值到预编译语句
+     *
+     * @param statement 预编译语句
+     * @param obj       对象
+     * @param columns   列
+     * @param index     起始参数位置，从1开始
+     * @return 下一个参数位置
+     */
+    public int bind(SQLiteStatement statement, Object obj, SQLiteColumn[] columns, int index) {
+        for (SQLiteColumn column : columns) {
+            try {
+                bind(statement, index, column, obj);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+                statement.bindNull(index);
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 绑定字段值
+     *
+     * @param statement 预编译语句
+     * @param index     参数位置
+     * @param column    列
+     * @param obj       对象
+     * @throws IllegalAccessException
+     */
+    private void bind(SQLiteStatement statement, int index, SQLiteColumn column, Object obj) throws IllegalAccessException {
+        Field field = column.getField();
+        if (column.isPrimitive()) {
+            switch (column.getType()) {
+                case SQLiteColumn.TYPE_CHAR:
+                    statement.bindString(index, String.valueOf(field.getChar(obj)));
+                    break;
+                case SQLiteColumn.TYPE_INT:
+                    statement.bindLong(index, field.getInt(obj));
+                    break;
+                case SQLiteColumn.TYPE_SHORT:
+                    statement.bindLong(index, field.getShort(obj));
+                    break;
+                case SQLiteColumn.TYPE_LONG:
+                    statement.bindLong(index, field.getLong(obj));
+                    break;
+                case SQLiteColumn.TYPE_FLOAT:
+                    statement.bindDouble(index, field.getFloat(obj));
+                    break;
+                case SQLiteColumn.TYPE_DOUBLE:
+                    statement.bindDouble(index, field.getDouble(obj));
+                    break;
+                case SQLiteColumn.TYPE_BOOLEAN:
+                    statement.bindLong(index, field.getBoolean(obj) ? 1 : 0);
+                    break;
+            }
+            return;
+        }
+        Object value = column.toDatabase(field.get(obj));
+        if (value == null) {
+            statement.bindNull(index);
+        } else if (value instanceof Long) {
+            statement.bindLong(index, (Long) value);
+        } else if (value instanceof Double) {
+            statement.bindDouble(index, (Double) value);
+        } else if (value instanceof byte[]) {
+            statement.bindBlob(index, (byte[]) value);
+        } else {
+            statement.bindString(index, value.toString());
+        }
+    }
+
+    /**
+     * 查找列，包含父类字段
+     *
+     * @param name 列名
+     * @return
+     */
+    public SQLiteColumn findColumn(String name) {
+        return columnMap.get(name);
+    }
+
+    /**
+     * 解析游标列与字段的对应关系，一个游标只需要解析一次
+     *
+     * @param cursor 游标
+     * @return 下标为游标列下标的字段列，不存在的字段为null
+     */
+    public SQLiteColumn[] mapping(Cursor cursor) {
+        String[] columnNames = cursor.getColumnNames();
+        SQLiteColumn[] mapping = new SQLiteColumn[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            mapping[i] = findColumn(columnNames[i]);
+        }
+        return mapping;
+    }
+
+    /**
+     * 创建游标行映射，游标列与字段的对应关系只解析一次
+     *
+     * @param cursor 游标
+     * @param <T>    实体类型
+     * @return 行映射
+     */
+    public <T> RowMapper<T> mapper(Cursor cursor) {
+        if (binder != null) {
+            int[] indexes = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                indexes[i] = columns[i].getType() == SQLiteColumn.TYPE_OTHER ? -1 : cursor.getColumnIndex(columns[i].getName());
+            }
+            return binder.mapper(indexes);
+        }
+        final SQLiteColumn[] mapping = mapping(cursor);
+        return c -> read(c, mapping);
+    }
+
+    /**
+     * 对象转数据库值
+     *
+     * @param obj 对象
+     * @return
+     */
+    public ContentValues toContentValues(Object obj) {
+        ContentValues contentValues = new ContentValues(columns.length);
+        for (SQLiteColumn column : columns) {
+            try {
+                put(contentValues, column, obj);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+        return contentValues;
+    }
+
+    /**
+     * 添加字段值
+     *
+     * @param contentValues 数据库值
+     * @param column        列
+     * @param obj           对象
+     * @throws IllegalAccessException
+     */
+    private void put(ContentValues contentValues, SQLiteColumn column, Object obj) throws IllegalAccessException {
+        Field field = column.getField();
+        String key = column.getName();
+        if (column.isPrimitive()) {
+            switch (column.getType()) {
+                case SQLiteColumn.TYPE_CHAR:
+                    contentValues.put(key, String.valueOf(field.getChar(obj)));
+                    break;
+                case SQLiteColumn.TYPE_INT:
+                    contentValues.put(key, field.getInt(obj));
+                    break;
+                case SQLiteColumn.TYPE_SHORT:
+                    contentValues.put(key, field.getShort(obj));
+                    break;
+                case SQLiteColumn.TYPE_LONG:
+                    contentValues.put(key, field.getLong(obj));
+                    break;
+                case SQLiteColumn.TYPE_FLOAT:
+                    contentValues.put(key, field.getFloat(obj));
+                    break;
+                case SQLiteColumn.TYPE_DOUBLE:
+                    contentValues.put(key, field.getDouble(obj));
+                    break;
+                case SQLiteColumn.TYPE_BOOLEAN:
+                    contentValues.put(key, field.getBoolean(obj));
+                    break;
+            }
+            return;
+        }
+        if (column.getType() == SQLiteColumn.TYPE_OTHER) {
+            return;
+        }
+        Object value = column.toDatabase(field.get(obj));
+        if (value == null) {
+            contentValues.putNull(key);
+        } else if (value instanceof Long) {
+            contentValues.put(key, (Long) value);
+        } else if (value instanceof Double) {
+            contentValues.put(key, (Double) value);
+        } else if (value instanceof byte[]) {
+            contentValues.put(key, (byte[]) value);
+        } else {
+            contentValues.put(key, value.toString());
+        }
+    }
+
+    /**
+     * 读取游标当前行为实体对象
+     *
+     * @param cursor  游标
+     * @param mapping 游标列映射{@link #mapping(Cursor)}
+     * @param <T>     实体类型
+     * @return 实体对象，创建失败返回null
+     */
+    public <T> T read(Cursor cursor, SQLiteColumn[] mapping) {
+        T bean = null;
+        try {
+            bean = (T) cls.newInstance();
+            for (int i = 0; i < mapping.length; i++) {
+                SQLiteColumn column = mapping[i];
+                if (column != null) {
+                    set(bean, column, cursor, i);
+                }
+            }
+        } catch (InstantiationException e) {
+            e.printStackTrace();
+            Log.e(TAG, "read exception = " + e.toString());
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            Log.e(TAG, "read exception = " + e.toString());
+        }
+        return bean;
+    }
+
+    /**
+     * 设置字段值
+     *
+     * @param bean   对象
+     * @param column 列
+     * @param cursor 游标
+     * @param index  游标列下标
+     * @throws IllegalAccessException
+     */
+    private void set(Object bean, SQLiteColumn column, Cursor cursor, int index) throws IllegalAccessException {
+        Field field = column.getField();
+        int type = column.getType();
+        if (type == SQLiteColumn.TYPE_OTHER) {
+            return;
+        }
+        if (column.isPrimitive()) {
+            switch (type) {
+                case SQLiteColumn.TYPE_CHAR:
+                    String text = cursor.getString(index);
+                    field.setChar(bean, text == null || text.length() == 0 ? 0 : text.charAt(0));
+                    break;
+                case SQLiteColumn.TYPE_INT:
+                    field.setInt(bean, cursor.getInt(index));
+                    break;
+                case SQLiteColumn.TYPE_SHORT:
+                    field.setShort(bean, cursor.getShort(index));
+                    break;
+                case SQLiteColumn.TYPE_LONG:
+                    field.setLong(bean, cursor.getLong(index));
+                    break;
+                case SQLiteColumn.TYPE_FLOAT:
+                    field.setFloat(bean, cursor.getFloat(index));
+                    break;
+                case SQLiteColumn.TYPE_DOUBLE:
+                    field.setDouble(bean, cursor.getDouble(index));
+                    break;
+                case SQLiteColumn.TYPE_BOOLEAN:
+                    field.setBoolean(bean, isTrue(cursor.getString(index)));
+                    break;
+            }
+            return;
+        }
+        field.set(bean, column.fromDatabase(cursor, index));
+    }
+
+    /**
+     * @param value 数据库值
+     * @return 是否为true
+     */
+    private boolean isTrue(String value) {
+        return "true".equals(value) || "1".equals(value);
+    }
+
+}
@@ -0,0 +1,40 @@
+package androidx.ui.sqlite;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 实体字段索引，{@link SQLite#create(Class)}建表时创建索引。<br/>
+ * 多个字段使用相同的{@link #name()}时创建复合索引，列顺序按{@link #order()}排列。<br/>
+ * 例如：
+ * <pre>
+ * &#64;SQLiteIndex(unique = true)
+ * private String userId;
+ * &#64;SQLiteIndex(name = "index_user_name_age", order = 0)
+ * private String name;
+ * &#64;SQLiteIndex(name = "index_user_name_age", order = 1)
+ * private int age;
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface SQLiteIndex {
+
+    /**
+     * @return 索引名称，默认为"index_表名_列名"
+     */
+    String name() default "";
+
+    /**
+     * @return 是否唯一索引，复合索引中任一字段设置为true则为唯一索引
+     */
+    boolean unique() default false;
+
+    /**
+     * @return 复合索引中的列顺序
+     */
+    int order() default 0;
+
+}
@@ -0,0 +1,273 @@
+package androidx.ui.sqlite;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译语句缓存，按SQL缓存最近使用的{@link SQLiteStatement}，
+ * 超出容量时关闭最久未使用的语句，同时统计每条SQL的命中、未命中次数及耗时。<br/>
+ * 语句本身非线程安全，{@link #acquire(SQLiteDatabase, String)}取出的语句由当前线程独占，
+ * 绑定参数并执行后通过{@link #release(SQLiteDatabase, String, SQLiteStatement)}放回缓存。
+ * 缓存的语句只属于一个数据库，换用其他数据库或数据库关闭后关闭所有缓存语句。
+ * 缓存锁只在取出和放回时持有，执行语句期间不持有，
+ * 避免持有事务的线程与等待数据库连接的线程互相等待。<br/>
+ */
+public class SQLiteStatementCache {
+
+    /**
+     * 默认缓存数量
+     */
+    public static final int DEFAULT_MAX_SIZE = 32;
+    /**
+     * 最多统计的SQL数量，超出时移除最久未执行的统计
+     */
+    public static final int MAX_STATISTICS = 256;
+
+    /**
+     * 最大缓存数量
+     */
+    private int maxSize;
+    /**
+     * 缓存语句所属的数据库
+     */
+    private SQLiteDatabase database;
+    /**
+     * 预编译语句，按访问顺序排序
+     */
+    private final LinkedHashMap<String, SQLiteStatement> statements;
+    /**
+     * 统计数据
+     */
+    private final Map<String, Statistic> statistics;
+
+    public SQLiteStatementCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public SQLiteStatementCache(int maxSize) {
+        this.maxSize = Math.max(maxSize, 1);
+        statements = new LinkedHashMap<>(16, 0.75f, true);
+        statistics = new LinkedHashMap<String, Statistic>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Statistic> eldest) {
+                return size() > MAX_STATISTICS;
+            }
+        };
+    }
+
+    /**
+     * 设置最大缓存数量
+     *
+     * @param maxSize 缓存数量
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(maxSize, 1);
+        trimToSize();
+    }
+
+    /**
+     * @return 最大缓存数量
+     */
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 取出预编译语句，不存在或正在被其他线程使用则重新编译，
+     * 数据库与缓存语句所属的数据库不同或已关闭时先清空缓存，
+     * 使用完成后需要调用{@link #release(SQLiteDatabase, String, SQLiteStatement)}放回
+     *
+     * @param db  数据库
+     * @param sql sql语句
+     * @return 预编译语句
+     */
+    public SQLiteStatement acquire(SQLiteDatabase db, String sql) {
+        synchronized (this) {
+            if (database != db || !db.isOpen()) {
+                evictAll();
+                database = db;
+            }
+            SQLiteStatement statement = statements.remove(sql);
+            Statistic statistic = statistic(sql);
+            if (statement != null) {
+                statistic.hits++;
+                return statement;
+            }
+            statistic.misses++;
+        }
+        //编译需要获取数据库连接，不能在锁内执行
+        return db.compileStatement(sql);
+    }
+
+    /**
+     * 放回预编译语句，已有相同SQL的缓存语句或数据库已更换、关闭时关闭放回的语句
+     *
+     * @param db        取出语句时的数据库
+     * @param sql       sql语句
+     * @param statement 预编译语句
+     */
+    public synchronized void release(SQLiteDatabase db, String sql, SQLiteStatement statement) {
+        if (database != db || !db.isOpen() || statements.containsKey(sql)) {
+            statement.close();
+            return;
+        }
+        statements.put(sql, statement);
+        trimToSize();
+    }
+
+    /**
+     * 记录执行耗时
+     *
+     * @param sql   sql语句
+     * @param nanos 耗时（纳秒）
+     */
+    public synchronized void record(String sql, long nanos) {
+        Statistic statistic = statistic(sql);
+        statistic.count++;
+        statistic.nanos += nanos;
+    }
+
+    /**
+     * @param sql sql语句
+     * @return 统计数据
+     */
+    private Statistic statistic(String sql) {
+        Statistic statistic = statistics.get(sql);
+        if (statistic == null) {
+            statistic = new Statistic(sql);
+            statistics.put(sql, statistic);
+        }
+        return statistic;
+    }
+
+    /**
+     * 关闭超出容量的语句
+     */
+    private void trimToSize() {
+        Iterator<Map.Entry<String, SQLiteStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            SQLiteStatement statement = iterator.next().getValue();
+            iterator.remove();
+            statement.close();
+        }
+    }
+
+    /**
+     * @return 统计数据快照，按总耗时从大到小排序
+     */
+    public synchronized List<Statistic> getStatistics() {
+        List<Statistic> list = new ArrayList<>(statistics.size());
+        for (Statistic statistic : statistics.values()) {
+            list.add(statistic.copy());
+        }
+        Collections.sort(list, (a, b) -> Long.compare(b.nanos, a.nanos));
+        return list;
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public synchronized void resetStatistics() {
+        statistics.clear();
+    }
+
+    /**
+     * 关闭并清空所有缓存语句，数据库关闭或删除时调用
+     */
+    public synchronized void evictAll() {
+        for (SQLiteStatement statement : statements.values()) {
+            statement.close();
+        }
+        statements.clear();
+        database = null;
+    }
+
+    /**
+     * 语句统计数据
+     */
+    public static class Statistic {
+
+        /**
+         * sql语句
+         */
+        private final String sql;
+        /**
+         * 缓存命中次数
+         */
+        private long hits;
+        /**
+         * 缓存未命中次数
+         */
+        private long misses;
+        /**
+         * 执行次数
+         */
+        private long count;
+        /**
+         * 总耗时（纳秒）
+         */
+        private long nanos;
+
+        public Statistic(String sql) {
+            this.sql = sql;
+        }
+
+        private Statistic copy() {
+            Statistic statistic = new Statistic(sql);
+            statistic.hits = hits;
+            statistic.misses = misses;
+            statistic.count = count;
+            statistic.nanos = nanos;
+            return statistic;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return 总耗时（纳秒）
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return 平均耗时（纳秒）
+         */
+        public long getAverageNanos() {
+            return count == 0 ? 0 : nanos / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistic{" +
+                    "sql='" + sql + '\'' +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", count=" + count +
+                    ", nanos=" + nanos +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package androidx.ui.sqlite;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 实体表，配合注解处理器sqlite-compiler使用，编译时为实体类生成"类名_SQLiteBinder"，
+ * {@link SQLite}存在生成的绑定类时直接访问字段，不存在时使用反射。<br/>
+ * 生成的绑定类只处理当前类声明的字段，私有字段需要提供getter/setter方法，
+ * 实体类需要提供无参构造方法。<br/>
+ * 依赖方式：annotationProcessor project(':sqlite-compiler')
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface SQLiteTable {
+
+}
@@ -0,0 +1,331 @@
+package androidx.ui.text;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已解析的时间格式，按格式字符串缓存，不可变可多线程共享。<br/>
+ * 数字字段y、M、d、H、h、m、s、S直接计算，
+ * 其他字段（星期、上下午、文字月份等）交给SimpleDateFormat处理，结果保持一致。
+ */
+final class DatePattern {
+
+    /**
+     * 已解析格式缓存
+     */
+    private static final ConcurrentHashMap<String, DatePattern> CACHE = new ConcurrentHashMap<>();
+    /**
+     * 缓存数量上限，超过后清空，避免动态格式无限增长
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+    /**
+     * 格里高利历开始使用后的第一个整年，之前的日期按儒略历计算，交给SimpleDateFormat
+     */
+    private static final int GREGORIAN_YEAR = 1583;
+    /**
+     * 文字片段
+     */
+    private static final char LITERAL = 0;
+
+    /**
+     * 格式
+     */
+    private final String pattern;
+    /**
+     * 片段字段字母，文字片段为{@link #LITERAL}
+     */
+    private final char[] fields;
+    /**
+     * 片段字母个数
+     */
+    private final int[] counts;
+    /**
+     * 文字片段内容
+     */
+    private final String[] literals;
+    /**
+     * 是否可直接格式化
+     */
+    private final boolean formattable;
+    /**
+     * 是否可直接解析
+     */
+    private final boolean parsable;
+
+    /**
+     * 获取已解析格式
+     *
+     * @param pattern 时间格式
+     * @return
+     */
+    static DatePattern of(String pattern) {
+        DatePattern datePattern = CACHE.get(pattern);
+        if (datePattern == null) {
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            datePattern = new DatePattern(pattern);
+            DatePattern previous = CACHE.putIfAbsent(pattern, datePattern);
+            if (previous != null) {
+                datePattern = previous;
+            }
+        }
+        return datePattern;
+    }
+
+    private DatePattern(String pattern) {
+        this.pattern = pattern;
+        List<Object> tokens = new ArrayList<>();
+        boolean supported = true;
+        int length = pattern.length();
+        int i = 0;
+        StringBuilder literal = new StringBuilder();
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                //''为单引号，'...'为文字
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                int end = i + 1;
+                while (end < length) {
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            literal.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(pattern.charAt(end));
+                    end++;
+                }
+                if (end >= length) {
+                    //引号未闭合，交给SimpleDateFormat抛出异常
+                    supported = false;
+                }
+                i = end + 1;
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (literal.length() > 0) {
+                    tokens.add(literal.toString());
+                    literal.setLength(0);
+                }
+                tokens.add(new int[]{c, count});
+                if ("yMdHhmsS".indexOf(c) < 0 || (c == 'M' && count > 2)) {
+                    supported = false;
+                }
+                i += count;
+                continue;
+            }
+            literal.append(c);
+            i++;
+        }
+        if (literal.length() > 0) {
+            tokens.add(literal.toString());
+        }
+        int size = tokens.size();
+        fields = new char[size];
+        counts = new int[size];
+        literals = new String[size];
+        boolean shortYear = false;
+        for (int j = 0; j < size; j++) {
+            Object token = tokens.get(j);
+            if (token instanceof String) {
+                fields[j] = LITERAL;
+                literals[j] = (String) token;
+            } else {
+                int[] field = (int[]) token;
+                fields[j] = (char) field[0];
+                counts[j] = field[1];
+                shortYear |= field[0] == 'y' && field[1] <= 2;
+            }
+        }
+        formattable = supported;
+        //两位年份解析需要按世纪推算，交给SimpleDateFormat
+        parsable = supported && !shortYear;
+    }
+
+    /**
+     * 格式化
+     *
+     * @param dateTime 日期时间
+     * @return
+     */
+    String format(DateTime dateTime) {
+        int year = dateTime.getYear();
+        if (!formattable || year < GREGORIAN_YEAR) {
+            return fallbackFormat(dateTime.getTimeInMillis(), dateTime.getTimeZone());
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 8);
+        for (int i = 0; i < fields.length; i++) {
+            int count = counts[i];
+            switch (fields[i]) {
+                case LITERAL:
+                    builder.append(literals[i]);
+                    break;
+                case 'y':
+                    appendNumber(builder, count == 2 ? year % 100 : year, count);
+                    break;
+                case 'M':
+                    appendNumber(builder, dateTime.getMonth(), count);
+                    break;
+                case 'd':
+                    appendNumber(builder, dateTime.getDay(), count);
+                    break;
+                case 'H':
+                    appendNumber(builder, dateTime.getHour(), count);
+                    break;
+                case 'h':
+                    int hour = dateTime.getHour() % 12;
+                    appendNumber(builder, hour == 0 ? 12 : hour, count);
+                    break;
+                case 'm':
+                    appendNumber(builder, dateTime.getMinute(), count);
+                    break;
+                case 's':
+                    appendNumber(builder, dateTime.getSecond(), count);
+                    break;
+                case 'S':
+                    appendNumber(builder, dateTime.getMillisecond(), count);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 解析时间
+     *
+     * @param text     时间文字
+     * @param timeZone 时区
+     * @return 毫秒时间
+     * @throws ParseException 格式不匹配
+     */
+    long parse(String text, TimeZone timeZone) throws ParseException {
+        if (parsable) {
+            DateTime dateTime = new DateTime(timeZone);
+            if (parse(text, dateTime.clear())) {
+                return dateTime.getTimeInMillis();
+            }
+        }
+        //非数字字段或文字不完全匹配时，以SimpleDateFormat的结果为准
+        return Time.formatter(pattern, timeZone).parse(text).getTime();
+    }
+
+    /**
+     * 解析数字字段
+     *
+     * @param text     时间文字
+     * @param dateTime 日期时间
+     * @return 是否解析成功
+     */
+    private boolean parse(String text, DateTime dateTime) {
+        int position = 0;
+        int length = text.length();
+        int year = 1970, month = 1, day = 1, hour = 0, minute = 0, second = 0, millisecond = 0;
+        for (int i = 0; i < fields.length; i++) {
+            char field = fields[i];
+            if (field == LITERAL) {
+                String literal = literals[i];
+                if (!text.startsWith(literal, position)) {
+                    return false;
+                }
+                position += literal.length();
+                continue;
+            }
+            //相邻数字字段按字母个数截取，否则读取全部数字
+            boolean abutting = i + 1 < fields.length && fields[i + 1] != LITERAL;
+            int end = abutting ? position + counts[i] : length;
+            if (end > length) {
+                return false;
+            }
+            int value = 0;
+            int start = position;
+            while (position < end && position - start < 9) {
+                char c = text.charAt(position);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                position++;
+            }
+            if (position == start || (abutting && position != end)) {
+                return false;
+            }
+            switch (field) {
+                case 'y':
+                    year = value;
+                    break;
+                case 'M':
+                    month = value;
+                    break;
+                case 'd':
+                    day = value;
+                    break;
+                case 'H':
+                    hour = value;
+                    break;
+                case 'h':
+                    //无上下午字段时12点为0点，同SimpleDateFormat
+                    hour = value == 12 ? 0 : value;
+                    break;
+                case 'm':
+                    minute = value;
+                    break;
+                case 's':
+                    second = value;
+                    break;
+                case 'S':
+                    millisecond = value;
+                    break;
+            }
+        }
+        if (year < GREGORIAN_YEAR) {
+            return false;
+        }
+        dateTime.set(year, month, day, hour, minute, second).setMillisecond(millisecond);
+        return true;
+    }
+
+    /**
+     * 使用SimpleDateFormat格式化
+     *
+     * @param millis   毫秒时间
+     * @param timeZone 时区
+     * @return
+     */
+    private String fallbackFormat(long millis, TimeZone timeZone) {
+        return Time.formatter(pattern, timeZone).format(new Date(millis));
+    }
+
+    /**
+     * 追加数字，不足位数补0
+     *
+     * @param builder 字符
+     * @param value   数字
+     * @param digits  最少位数
+     */
+    private static void appendNumber(StringBuilder builder, int value, int digits) {
+        int length = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            length++;
+        }
+        for (int i = length; i < digits; i++) {
+            builder.append('0');
+        }
+        builder.append(value);
+    }
+
+}
@@ -0,0 +1,364 @@
+package androidx.ui.text;
+
+import java.util.TimeZone;
+
+/**
+ * 日期时间计算，基于纪元天数换算年月日，
+ * 不创建Calendar对象，同一对象可重复设置时间使用（非线程安全）。<br/>
+ * 月份范围1~12，小时为24小时制，字段超出范围时按宽松规则进位，
+ * 例如2月30日会换算为3月1日或3月2日。
+ */
+public class DateTime {
+
+    public static final long MILLIS_PER_SECOND = 1000L;
+    public static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    public static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    public static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    /**
+     * 0000-03-01到1970-01-01的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719468L;
+    /**
+     * 400年的天数
+     */
+    private static final long DAYS_PER_CYCLE = 146097L;
+
+    /**
+     * 时区
+     */
+    private TimeZone timeZone;
+    private int year;
+    private int month;
+    private int day;
+    private int hour;
+    private int minute;
+    private int second;
+    private int millisecond;
+    /**
+     * 毫秒时间
+     */
+    private long timeInMillis;
+    /**
+     * 字段是否已修改，需要重新计算毫秒时间
+     */
+    private boolean dirty;
+
+    public DateTime() {
+        this(TimeZone.getDefault());
+    }
+
+    public DateTime(TimeZone timeZone) {
+        this.timeZone = timeZone;
+        setTimeInMillis(0);
+    }
+
+    /**
+     * @return 时区
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * 设置时区，已设置的年月日时分秒保持不变
+     *
+     * @param timeZone 时区
+     */
+    public void setTimeZone(TimeZone timeZone) {
+        if (this.timeZone != timeZone) {
+            this.timeZone = timeZone;
+            dirty = true;
+        }
+    }
+
+    /**
+     * 设置毫秒时间
+     *
+     * @param millis 毫秒
+     * @return
+     */
+    public DateTime setTimeInMillis(long millis) {
+        timeInMillis = millis;
+        dirty = false;
+        long local = millis + timeZone.getOffset(millis);
+        long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+        setEpochDay(epochDay);
+        hour = millisOfDay / (int) MILLIS_PER_HOUR;
+        minute = millisOfDay / (int) MILLIS_PER_MINUTE % 60;
+        second = millisOfDay / (int) MILLIS_PER_SECOND % 60;
+        millisecond = millisOfDay % 1000;
+        return this;
+    }
+
+    /**
+     * @return 毫秒时间
+     */
+    public long getTimeInMillis() {
+        if (dirty) {
+            long monthIndex = (long) month - 1;
+            long y = year + Math.floorDiv(monthIndex, 12L);
+            int m = (int) Math.floorMod(monthIndex, 12L) + 1;
+            long local = (toEpochDay(y, m, 1) + day - 1) * MILLIS_PER_DAY
+                    + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE
+                    + second * MILLIS_PER_SECOND + millisecond;
+            //与Calendar一致，先按标准时间估算偏移，
+            //若落在夏令时切换跳过的时段，按切换前的偏移换算
+            int offset = timeZone.getOffset(local - timeZone.getRawOffset());
+            long utc = local - offset;
+            int actual = timeZone.getOffset(utc);
+            timeInMillis = actual == offset ? utc : local - actual;
+            //重新拆分字段，使超出范围的字段进位
+            setTimeInMillis(timeInMillis);
+        }
+        return timeInMillis;
+    }
+
+    /**
+     * 设置日期时间
+     *
+     * @param year   年
+     * @param month  月，1~12
+     * @param day    日
+     * @param hour   时，0~23
+     * @param minute 分
+     * @param second 秒
+     * @return
+     */
+    public DateTime set(int year, int month, int day, int hour, int minute, int second) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.millisecond = 0;
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * 重置为1970-01-01 00:00:00.000（当前时区）
+     *
+     * @return
+     */
+    public DateTime clear() {
+        return set(1970, 1, 1, 0, 0, 0);
+    }
+
+    public int getYear() {
+        normalize();
+        return year;
+    }
+
+    public DateTime setYear(int year) {
+        normalize();
+        this.year = year;
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * @return 月，1~12
+     */
+    public int getMonth() {
+        normalize();
+        return month;
+    }
+
+    /**
+     * @param month 月，1~12
+     * @return
+     */
+    public DateTime setMonth(int month) {
+        normalize();
+        this.month = month;
+        dirty = true;
+        return this;
+    }
+
+    public int getDay() {
+        normalize();
+        return day;
+    }
+
+    public DateTime setDay(int day) {
+        normalize();
+        this.day = day;
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * @return 时，0~23
+     */
+    public int getHour() {
+        normalize();
+        return hour;
+    }
+
+    /**
+     * @param hour 时，0~23
+     * @return
+     */
+    public DateTime setHour(int hour) {
+        normalize();
+        this.hour = hour;
+        dirty = true;
+        return this;
+    }
+
+    public int getMinute() {
+        normalize();
+        return minute;
+    }
+
+    public DateTime setMinute(int minute) {
+        normalize();
+        this.minute = minute;
+        dirty = true;
+        return this;
+    }
+
+    public int getSecond() {
+        normalize();
+        return second;
+    }
+
+    public DateTime setSecond(int second) {
+        normalize();
+        this.second = second;
+        dirty = true;
+        return this;
+    }
+
+    public int getMillisecond() {
+        normalize();
+        return millisecond;
+    }
+
+    public DateTime setMillisecond(int millisecond) {
+        normalize();
+        this.millisecond = millisecond;
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * 增加年份，日期超过当月天数时取当月最后一天（同Calendar.add）
+     *
+     * @param years 年数
+     * @return
+     */
+    public DateTime addYears(int years) {
+        normalize();
+        year += years;
+        day = Math.min(day, lengthOfMonth(year, month));
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * 增加月份，日期超过当月天数时取当月最后一天（同Calendar.add）
+     *
+     * @param months 月数
+     * @return
+     */
+    public DateTime addMonths(int months) {
+        normalize();
+        long monthIndex = (long) year * 12 + month - 1 + months;
+        year = (int) Math.floorDiv(monthIndex, 12L);
+        month = (int) Math.floorMod(monthIndex, 12L) + 1;
+        day = Math.min(day, lengthOfMonth(year, month));
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * 格式化，模式支持y、M、d、H、h、m、s、S及引号文字，
+     * 其他字母使用SimpleDateFormat格式化
+     *
+     * @param pattern 时间格式
+     * @return
+     */
+    public String format(String pattern) {
+        return DatePattern.of(pattern).format(this);
+    }
+
+    /**
+     * 字段改变后重新计算，使字段在合法范围内
+     */
+    private void normalize() {
+        if (dirty) {
+            getTimeInMillis();
+        }
+    }
+
+    /**
+     * 纪元天数转年月日
+     *
+     * @param epochDay 1970-01-01起的天数
+     */
+    private void setEpochDay(long epochDay) {
+        //以3月1日为一年开始，闰日位于年末
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(zeroDay, DAYS_PER_CYCLE);
+        long dayOfEra = zeroDay - era * DAYS_PER_CYCLE;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchMonth = (int) ((5 * dayOfYear + 2) / 153);
+        day = (int) (dayOfYear - (153 * marchMonth + 2) / 5 + 1);
+        month = marchMonth < 10 ? marchMonth + 3 : marchMonth - 9;
+        year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+    }
+
+    /**
+     * 年月日转纪元天数
+     *
+     * @param year  年
+     * @param month 月，1~12
+     * @param day   日
+     * @return 1970-01-01起的天数
+     */
+    public static long toEpochDay(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400L);
+        long yearOfEra = y - era * 400;
+        int marchMonth = month > 2 ? month - 3 : month + 9;
+        long dayOfYear = (153 * marchMonth + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 是否闰年
+     *
+     * @param year 年
+     * @return
+     */
+    public static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 月份天数
+     *
+     * @param year  年
+     * @param month 月，1~12
+     * @return
+     */
+    public static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+}
@@ -2,10 +2,12 @@ package androidx.ui.text;
 
 import android.text.Editable;
 import android.text.InputFilter;
+import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.widget.EditText;
 
 import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,6 +24,14 @@ public class Decimal {
      * 小数点之前的长度
      */
     private static int beforeLength = 0;
+    /**
+     * 已编译正则缓存
+     */
+    private static final ConcurrentHashMap<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+    /**
+     * 正则缓存数量上限，超过后清空
+     */
+    private static final int MAX_PATTERN_SIZE = 32;
 
     /**
      * 格式化数据
@@ -127,22 +137,25 @@ public class Decimal {
      * @param maxLength    最大长度
      */
     public static void setFilter(EditText editText, CharSequence charSequence, int decimalSize, int maxLength) {
-        if (charSequence.toString().startsWith(".")) {
+        int length = charSequence.length();
+        if (length > 0 && charSequence.charAt(0) == '.') {
             editText.setText("");
             return;
         }
-        if (matches("^\\d+.$", charSequence) && charSequence.toString().contains(".")) {
-            beforeLength = charSequence.length();
-            int length = beforeLength + decimalSize;
-            editText.setFilters(new InputFilter[]{new InputFilter.LengthFilter(length)});
+        int point = pointIndex(charSequence);
+        if (point > 0 && point == length - 1) {
+            //整数部分加小数点，如"12."
+            beforeLength = length;
+            setLengthFilter(editText, beforeLength + decimalSize);
         } else {
-            if (matches("^\\d+.[0-9]{0,}", charSequence) && charSequence.toString().contains(".")) {
-                editText.setFilters(new InputFilter[]{new InputFilter.LengthFilter(beforeLength + decimalSize)});
+            if (point > 0) {
+                //整数部分、小数点及小数，如"12.3"
+                setLengthFilter(editText, beforeLength + decimalSize);
             } else {
-                if (charSequence.length() <= maxLength && !charSequence.toString().contains(".")) {
-                    editText.setFilters(new InputFilter[]{new InputFilter.LengthFilter(maxLength + decimalSize)});
+                if (length <= maxLength && TextUtils.indexOf(charSequence, '.') < 0) {
+                    setLengthFilter(editText, maxLength + decimalSize);
                 } else {
-                    editText.setFilters(new InputFilter[]{new InputFilter.LengthFilter(maxLength)});
+                    setLengthFilter(editText, maxLength);
                     if (charSequence.length() > 0 && maxLength <= charSequence.length()) {
                         editText.setText(charSequence.subSequence(0, maxLength));
                     }
@@ -155,14 +168,55 @@ public class Decimal {
     }
 
     /**
-     * 匹配
+     * 小数点位置，要求小数点前为1个以上数字，小数点后只有数字
+     *
+     * @param charSequence 内容
+     * @return 小数点位置，不是数字小数格式返回-1
+     */
+    static int pointIndex(CharSequence charSequence) {
+        int point = -1;
+        for (int i = 0, length = charSequence.length(); i < length; i++) {
+            char c = charSequence.charAt(i);
+            if (c == '.' && point < 0 && i > 0) {
+                point = i;
+            } else if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return point;
+    }
+
+    /**
+     * 设置长度过滤器，长度未改变时不重新设置
+     *
+     * @param editText 输入控件
+     * @param length   最大长度
+     */
+    private static void setLengthFilter(EditText editText, int length) {
+        InputFilter[] filters = editText.getFilters();
+        if (filters.length == 1 && filters[0] instanceof InputFilter.LengthFilter
+                && ((InputFilter.LengthFilter) filters[0]).getMax() == length) {
+            return;
+        }
+        editText.setFilters(new InputFilter[]{new InputFilter.LengthFilter(length)});
+    }
+
+    /**
+     * 匹配，正则编译后缓存
      *
      * @param regex        规则
      * @param charSequence 内容
      * @return
      */
     public static boolean matches(String regex, CharSequence charSequence) {
-        Pattern r = Pattern.compile(regex);
+        Pattern r = PATTERNS.get(regex);
+        if (r == null) {
+            if (PATTERNS.size() >= MAX_PATTERN_SIZE) {
+                PATTERNS.clear();
+            }
+            r = Pattern.compile(regex);
+            PATTERNS.put(regex, r);
+        }
         Matcher matcher = r.matcher(charSequence);
         return matcher.matches();
     }
@@ -4,12 +4,15 @@ import android.text.TextUtils;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
 /**
- * 时间日期
+ * 时间日期，格式化和解析由{@link DateTime}按纪元天数计算，
+ * 需要SimpleDateFormat时使用线程内按格式缓存的对象。
  */
 public class Time {
 
@@ -53,6 +56,24 @@ public class Time {
      * 12小时，年-月-日 时：分：秒
      */
     public static final String YYYY_MM_DD_H12_MM_SS = "yyyy-MM-dd hh:mm:ss";
+    /**
+     * 线程内SimpleDateFormat缓存，SimpleDateFormat非线程安全不能共享
+     */
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> FORMATTERS = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+        @Override
+        protected Map<String, SimpleDateFormat> initialValue() {
+            return new HashMap<>();
+        }
+    };
+    /**
+     * 线程内日期时间计算对象
+     */
+    private static final ThreadLocal<DateTime> DATE_TIME = new ThreadLocal<DateTime>() {
+        @Override
+        protected DateTime initialValue() {
+            return new DateTime();
+        }
+    };
 
     /**
      * 现在的日期时间
@@ -60,7 +81,7 @@ public class Time {
      * @return
      */
     public static String now() {
-        return format(YYYY_MM_DD_H24_MM_SS).format(new Date());
+        return format(System.currentTimeMillis(), YYYY_MM_DD_H24_MM_SS);
     }
 
     /**
@@ -70,15 +91,14 @@ public class Time {
      * @return
      */
     public static String now(String pattern) {
-        return format(pattern).format(new Date());
+        return format(System.currentTimeMillis(), pattern);
     }
 
     /**
      * @return 现在时间
      */
     public static long time() {
-        Calendar calendar = Calendar.getInstance();
-        return calendar.getTimeInMillis();
+        return System.currentTimeMillis();
     }
 
     /**
@@ -90,11 +110,11 @@ public class Time {
      */
     public static long time(String time, String pattern) {
         try {
-            return format(pattern).parse(time).getTime();
+            return DatePattern.of(pattern).parse(time, TimeZone.getDefault());
         } catch (ParseException e) {
             e.printStackTrace();
         }
-        return Calendar.getInstance().getTimeInMillis();
+        return System.currentTimeMillis();
     }
 
     /**
@@ -126,9 +146,9 @@ public class Time {
             time *= 1;
         }
         if (unit == TimeUnit.MINUTES) {
-            time = 1000 * 60;
+            time *= 1000 * 60;
         }
-        return format(YYYY_MM_DD_H24_MM_SS).format(new Date(time));
+        return format(time, YYYY_MM_DD_H24_MM_SS);
     }
 
     /**
@@ -151,9 +171,9 @@ public class Time {
             time *= 1;
         }
         if (unit == TimeUnit.MINUTES) {
-            time = 1000 * 60;
+            time *= 1000 * 60;
         }
-        return format(pattern).format(new Date(time));
+        return format(time, pattern);
     }
 
     /**
@@ -200,13 +220,7 @@ public class Time {
      * @return
      */
     public static Date parse(String time) {
-        Date date = null;
-        try {
-            date = format(YYYY_MM_DD_H24_MM_SS).parse(time);
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
-        return date;
+        return parse(time, YYYY_MM_DD_H24_MM_SS);
     }
 
     /**
@@ -219,7 +233,7 @@ public class Time {
     public static Date parse(String time, String pattern) {
         Date date = null;
         try {
-            date = format(pattern).parse(time);
+            date = new Date(DatePattern.of(pattern).parse(time, TimeZone.getDefault()));
         } catch (ParseException e) {
             e.printStackTrace();
         }
@@ -259,6 +273,37 @@ public class Time {
         return new SimpleDateFormat(pattern);
     }
 
+    /**
+     * 格式化时间
+     *
+     * @param millis  毫秒时间
+     * @param pattern 格式
+     * @return
+     */
+    public static String format(long millis, String pattern) {
+        DateTime dateTime = DATE_TIME.get();
+        dateTime.setTimeZone(TimeZone.getDefault());
+        return dateTime.setTimeInMillis(millis).format(pattern);
+    }
+
+    /**
+     * 获取线程内缓存的时间日期格式对象，不能传递给其他线程
+     *
+     * @param pattern  格式
+     * @param timeZone 时区
+     * @return
+     */
+    static SimpleDateFormat formatter(String pattern, TimeZone timeZone) {
+        Map<String, SimpleDateFormat> formatters = FORMATTERS.get();
+        SimpleDateFormat format = formatters.get(pattern);
+        if (format == null) {
+            format = new SimpleDateFormat(pattern);
+            formatters.put(pattern, format);
+        }
+        format.setTimeZone(timeZone);
+        return format;
+    }
+
     /**
      * 通过年份和月份获取对应的月份的天数
      *
@@ -267,27 +312,10 @@ public class Time {
      * @return
      */
     public static int days(int year, int month) {
-        if (year % 100 == 0 && year % 400 == 0 && month == 2) return 29;
-        else {
-            switch (month) {
-                case 2:
-                    return 28;
-                case 1:
-                case 3:
-                case 5:
-                case 7:
-                case 8:
-                case 10:
-                case 12:
-                    return 31;
-                case 4:
-                case 6:
-                case 9:
-                case 11:
-                    return 30;
-            }
+        if (month < 1 || month > 12) {
+            return 0;
         }
-        return 0;
+        return DateTime.lengthOfMonth(year, month);
     }
 
     /**
@@ -299,18 +327,21 @@ public class Time {
      */
     public static int[] split(String time, String pattern) {
         int[] array = new int[6];
-        Calendar calendar = Calendar.getInstance();
+        DateTime dateTime = DATE_TIME.get();
+        dateTime.setTimeZone(TimeZone.getDefault());
+        long millis = System.currentTimeMillis();
         try {
-            calendar.setTime(format(pattern).parse(time));
+            millis = DatePattern.of(pattern).parse(time, dateTime.getTimeZone());
         } catch (ParseException e) {
             e.printStackTrace();
         } finally {
-            array[0] = calendar.get(Calendar.YEAR);
-            array[1] = calendar.get(Calendar.MONTH + 1);
-            array[2] = calendar.get(Calendar.DAY_OF_MONTH);
-            array[3] = calendar.get(Calendar.HOUR_OF_DAY);
-            array[4] = calendar.get(Calendar.MINUTE);
-            array[5] = calendar.get(Calendar.SECOND);
+            dateTime.setTimeInMillis(millis);
+            array[0] = dateTime.getYear();
+            array[1] = dateTime.getMonth();
+            array[2] = dateTime.getDay();
+            array[3] = dateTime.getHour();
+            array[4] = dateTime.getMinute();
+            array[5] = dateTime.getSecond();
         }
         return array;
     }
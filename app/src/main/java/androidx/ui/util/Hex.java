@@ -1,6 +1,8 @@
 package androidx.ui.util;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * 16进制工具
@@ -8,6 +10,21 @@ import java.io.ByteArrayOutputStream;
 public class Hex {
 
     private static final char[] DIGITS = new char[]{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    /**
+     * 字符对应的16进制值，非16进制字符为-1
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            VALUES['A' + i] = (byte) (10 + i);
+            VALUES['a' + i] = (byte) (10 + i);
+        }
+    }
 
     public Hex() {
     }
@@ -31,7 +48,7 @@ public class Hex {
      */
     public static String encodeHex(byte[] data, int group) {
         int l = data.length;
-        char[] out = new char[(l << 1) + (group > 0 ? l / group : 0)];
+        char[] out = new char[(l << 1) + (group > 0 && l > 0 ? (l - 1) / group : 0)];
         int i = 0;
         for (int j = 0; i < l; ++i) {
             if (group > 0 && i % group == 0 && j > 0) {
@@ -43,6 +60,44 @@ public class Hex {
         return new String(out);
     }
 
+    /**
+     * 字节转换为十六进制字符写入数组
+     *
+     * @param data      字节数组
+     * @param offset    字节开始位置
+     * @param length    字节个数
+     * @param out       字符数组，长度至少为length * 2
+     * @param outOffset 字符开始位置
+     */
+    public static void encodeHex(byte[] data, int offset, int length, char[] out, int outOffset) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            out[outOffset++] = DIGITS[(240 & data[i]) >>> 4];
+            out[outOffset++] = DIGITS[15 & data[i]];
+        }
+    }
+
+    /**
+     * 缓冲区剩余字节转换为十六进制字符串，读取后缓冲区位置移动到末尾
+     *
+     * @param buffer 字节缓冲区
+     * @return
+     */
+    public static String encodeHex(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        char[] out = new char[length << 1];
+        if (buffer.hasArray()) {
+            encodeHex(buffer.array(), buffer.arrayOffset() + buffer.position(), length, out, 0);
+            buffer.position(buffer.limit());
+        } else {
+            for (int j = 0; buffer.hasRemaining(); ) {
+                byte b = buffer.get();
+                out[j++] = DIGITS[(240 & b) >>> 4];
+                out[j++] = DIGITS[15 & b];
+            }
+        }
+        return new String(out);
+    }
+
     /**
      * 十六进制字符串转换为字节数组
      *
@@ -50,12 +105,103 @@ public class Hex {
      * @return
      */
     public static byte[] decodeHex(String hexString) {
-        ByteArrayOutputStream bas = new ByteArrayOutputStream();
-        for (int i = 0; i < hexString.length(); i += 2) {
-            int b = Integer.parseInt(hexString.substring(i, i + 2), 16);
-            bas.write(b);
+        int length = hexString.length();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("hex string length must be even: " + length);
+        }
+        byte[] out = new byte[length >> 1];
+        decodeHex(hexString, 0, length, out, 0);
+        return out;
+    }
+
+    /**
+     * 十六进制字符转换为字节写入数组
+     *
+     * @param hex       十六进制字符
+     * @param start     字符开始位置
+     * @param end       字符结束位置（不包含），与start相差偶数
+     * @param out       字节数组，长度至少为(end - start) / 2
+     * @param outOffset 字节开始位置
+     * @return 写入字节个数
+     */
+    public static int decodeHex(CharSequence hex, int start, int end, byte[] out, int outOffset) {
+        int count = 0;
+        for (int i = start; i + 1 < end; i += 2) {
+            out[outOffset + count++] = (byte) ((digit(hex, i) << 4) | digit(hex, i + 1));
+        }
+        return count;
+    }
+
+    /**
+     * 十六进制字符转换为字节写入数组
+     *
+     * @param hex       十六进制字符数组
+     * @param start     字符开始位置
+     * @param end       字符结束位置（不包含），与start相差偶数
+     * @param out       字节数组，长度至少为(end - start) / 2
+     * @param outOffset 字节开始位置
+     * @return 写入字节个数
+     */
+    public static int decodeHex(char[] hex, int start, int end, byte[] out, int outOffset) {
+        int count = 0;
+        for (int i = start; i + 1 < end; i += 2) {
+            int high = digit(hex[i]);
+            int low = digit(hex[i + 1]);
+            if ((high | low) < 0) {
+                throw new NumberFormatException("illegal hex character at " + (high < 0 ? i : i + 1));
+            }
+            out[outOffset + count++] = (byte) ((high << 4) | low);
+        }
+        return count;
+    }
+
+    /**
+     * 十六进制字符转换为字节写入缓冲区
+     *
+     * @param hex 十六进制字符，长度为偶数
+     * @param out 字节缓冲区，剩余空间至少为hex.length() / 2
+     */
+    public static void decodeHex(CharSequence hex, ByteBuffer out) {
+        int length = hex.length();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("hex string length must be even: " + length);
+        }
+        if (out.remaining() < length >> 1) {
+            throw new BufferOverflowException();
+        }
+        if (out.hasArray()) {
+            int count = decodeHex(hex, 0, length, out.array(), out.arrayOffset() + out.position());
+            out.position(out.position() + count);
+        } else {
+            for (int i = 0; i < length; i += 2) {
+                out.put((byte) ((digit(hex, i) << 4) | digit(hex, i + 1)));
+            }
+        }
+    }
+
+    /**
+     * 十六进制字符的值
+     *
+     * @param c 字符
+     * @return 0~15，非十六进制字符返回-1
+     */
+    public static int digit(char c) {
+        return c < 128 ? VALUES[c] : -1;
+    }
+
+    /**
+     * 十六进制字符的值
+     *
+     * @param hex   十六进制字符
+     * @param index 位置
+     * @return 0~15
+     */
+    private static int digit(CharSequence hex, int index) {
+        int value = digit(hex.charAt(index));
+        if (value < 0) {
+            throw new NumberFormatException("illegal hex character '" + hex.charAt(index) + "' at " + index);
         }
-        return bas.toByteArray();
+        return value;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package androidx.ui.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * 十六进制输入流，从Reader读取十六进制字符并转换为字节，
+ * 大数据不需要先读取完整字符串。
+ */
+public class HexInputStream extends InputStream {
+
+    /**
+     * 默认缓冲字节数
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    /**
+     * 字符输入
+     */
+    private final Reader reader;
+    /**
+     * 字符缓冲
+     */
+    private final char[] buffer;
+    /**
+     * 上次读取剩余的半个字节字符
+     */
+    private int pending = -1;
+    /**
+     * 单字节缓冲
+     */
+    private final byte[] single = new byte[1];
+
+    public HexInputStream(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param reader     字符输入
+     * @param bufferSize 缓冲字节数
+     */
+    public HexInputStream(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[Math.max(1, bufferSize) << 1];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int count = read(single, 0, 1);
+        return count < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int start = 0;
+        if (pending >= 0) {
+            buffer[0] = (char) pending;
+            pending = -1;
+            start = 1;
+        }
+        int max = Math.min(len << 1, buffer.length);
+        int end = start;
+        while (end < max) {
+            int count = reader.read(buffer, end, max - end);
+            if (count < 0) {
+                break;
+            }
+            end += count;
+            //至少凑齐一个字节再返回
+            if (end >= 2) {
+                break;
+            }
+        }
+        if (end < 2) {
+            if (end == 1) {
+                throw new IOException("hex stream ended with a dangling character");
+            }
+            return -1;
+        }
+        if ((end & 1) != 0) {
+            pending = buffer[--end];
+        }
+        return Hex.decodeHex(buffer, 0, end, b, off);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
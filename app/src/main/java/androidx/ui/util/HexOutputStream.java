@@ -0,0 +1,72 @@
+package androidx.ui.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * 十六进制输出流，写入的字节转换为十六进制字符写入Writer，
+ * 大数据不需要先生成完整字符串。
+ */
+public class HexOutputStream extends OutputStream {
+
+    /**
+     * 默认缓冲字节数
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    /**
+     * 字符输出
+     */
+    private final Writer writer;
+    /**
+     * 字符缓冲
+     */
+    private final char[] buffer;
+    /**
+     * 单字节缓冲
+     */
+    private final byte[] single = new byte[1];
+
+    public HexOutputStream(Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param writer     字符输出
+     * @param bufferSize 缓冲字节数
+     */
+    public HexOutputStream(Writer writer, int bufferSize) {
+        this.writer = writer;
+        this.buffer = new char[Math.max(1, bufferSize) << 1];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int capacity = buffer.length >> 1;
+        while (len > 0) {
+            int count = Math.min(len, capacity);
+            Hex.encodeHex(b, off, count, buffer, 0);
+            writer.write(buffer, 0, count << 1);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+}
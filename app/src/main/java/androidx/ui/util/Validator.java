@@ -1,16 +1,20 @@
 package androidx.ui.util;
 
+import androidx.ui.text.DateTime;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 /**
- * 正则验证器
+ * 正则验证器，正则编译后缓存，修改REGEX_*后下次验证时重新编译；
+ * 手机号、身份证、数字使用默认正则时直接逐字符校验。
  */
 public class Validator {
 
     /**
      * 手机号正则
      */
-    public static String REGEX_PHONE = "^(13[0-9]|14[5-9]|15[0-3,5-9]|16[2,5,6,7]|17[0-8]|18[0-9]|19[1,3,5,8,9])\\d{8}$";
+    public static String REGEX_PHONE = "^(13[0-9]|14[5-9]|15[0-35-9]|16[2567]|17[0-8]|18[0-9]|19[13589])\\d{8}$";
 
     /**
      * 座机号正则
@@ -42,6 +46,99 @@ public class Validator {
      */
     public static String REGEX_NUMBER = "^-?[0-9]+$";
 
+    private static final int INDEX_PHONE = 0;
+    private static final int INDEX_LAND_LINE = 1;
+    private static final int INDEX_ID_CARD = 2;
+    private static final int INDEX_WE_CHAT = 3;
+    private static final int INDEX_PASSWORD = 4;
+    private static final int INDEX_EMAIL = 5;
+    private static final int INDEX_NUMBER = 6;
+    /**
+     * 默认正则，REGEX_*未被修改时使用逐字符校验
+     */
+    private static final String DEFAULT_PHONE = REGEX_PHONE;
+    private static final String DEFAULT_ID_CARD = REGEX_ID_CARD;
+    private static final String DEFAULT_NUMBER = REGEX_NUMBER;
+    /**
+     * 手机号第2位对应的第3位可用数字，按位表示0~9
+     */
+    private static final int[] PHONE_THIRD_DIGITS = {
+            0, 0, 0,
+            0x3FF,//13[0-9]
+            0x3E0,//14[5-9]
+            0x3EF,//15[0-35-9]
+            0x0E4,//16[2567]
+            0x1FF,//17[0-8]
+            0x3FF,//18[0-9]
+            0x32A //19[13589]
+    };
+    /**
+     * 身份证前17位加权因子
+     */
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+    /**
+     * 身份证校验码，下标为加权和对11取余
+     */
+    private static final char[] ID_CARD_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+    /**
+     * 已编译正则
+     */
+    private static final AtomicReferenceArray<Pattern> PATTERNS = new AtomicReferenceArray<>(7);
+
+    /**
+     * 获取已编译正则，正则字符串改变时重新编译
+     *
+     * @param index 缓存位置
+     * @param regex 正则
+     * @return
+     */
+    private static Pattern pattern(int index, String regex) {
+        Pattern pattern = PATTERNS.get(index);
+        if (pattern == null || !pattern.pattern().equals(regex)) {
+            pattern = Pattern.compile(regex);
+            PATTERNS.set(index, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * 是否是数字字符
+     *
+     * @param c 字符
+     * @return
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 指定范围是否全部为数字
+     *
+     * @param text  文字
+     * @param start 开始位置
+     * @param end   结束位置（不包含）
+     * @return
+     */
+    private static boolean isDigits(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 两位数字的值
+     *
+     * @param text  文字
+     * @param index 开始位置
+     * @return
+     */
+    private static int twoDigits(String text, int index) {
+        return (text.charAt(index) - '0') * 10 + text.charAt(index + 1) - '0';
+    }
+
     /**
      * 是否是手机号
      *
@@ -49,8 +146,16 @@ public class Validator {
      * @return
      */
     public static boolean isPhone(String number) {
-        Pattern pattern = Pattern.compile(REGEX_PHONE);
-        return pattern.matcher(number).matches();
+        String regex = REGEX_PHONE;
+        if (regex != DEFAULT_PHONE) {
+            return pattern(INDEX_PHONE, regex).matcher(number).matches();
+        }
+        if (number.length() != 11 || number.charAt(0) != '1' || !isDigits(number, 1, 11)) {
+            return false;
+        }
+        int second = number.charAt(1) - '0';
+        int third = number.charAt(2) - '0';
+        return (PHONE_THIRD_DIGITS[second] & (1 << third)) != 0;
     }
 
     /**
@@ -60,8 +165,7 @@ public class Validator {
      * @return
      */
     public static boolean isLandline(String number) {
-        Pattern pattern = Pattern.compile(REGEX_LAND_LINE);
-        return pattern.matcher(number).matches();
+        return pattern(INDEX_LAND_LINE, REGEX_LAND_LINE).matcher(number).matches();
     }
 
     /**
@@ -71,8 +175,58 @@ public class Validator {
      * @return
      */
     public static boolean isIdCard(String number) {
-        Pattern pattern = Pattern.compile(REGEX_ID_CARD);
-        return pattern.matcher(number).matches();
+        String regex = REGEX_ID_CARD;
+        if (regex != DEFAULT_ID_CARD) {
+            return pattern(INDEX_ID_CARD, regex).matcher(number).matches();
+        }
+        int length = number.length();
+        if (length != 17 && length != 18) {
+            return false;
+        }
+        if (!isDigits(number, 0, 17)) {
+            return false;
+        }
+        if (length == 18) {
+            char last = number.charAt(17);
+            if (!isDigit(last) && last != 'X' && last != 'x') {
+                return false;
+            }
+        }
+        int century = twoDigits(number, 6);
+        if (century != 19 && century != 20) {
+            return false;
+        }
+        int month = twoDigits(number, 10);
+        int day = twoDigits(number, 12);
+        return month >= 1 && month <= 12 && day >= 1 && day <= 31;
+    }
+
+    /**
+     * 是否是身份证号
+     *
+     * @param number 身份证号
+     * @param strict 是否严格校验，严格校验要求18位、出生日期存在且校验码正确
+     * @return
+     */
+    public static boolean isIdCard(String number, boolean strict) {
+        if (!strict) {
+            return isIdCard(number);
+        }
+        if (number.length() != 18 || !isDigits(number, 0, 17)) {
+            return false;
+        }
+        int year = twoDigits(number, 6) * 100 + twoDigits(number, 8);
+        int month = twoDigits(number, 10);
+        int day = twoDigits(number, 12);
+        if (year < 1900 || month < 1 || month > 12 || day < 1 || day > DateTime.lengthOfMonth(year, month)) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 17; i++) {
+            sum += (number.charAt(i) - '0') * ID_CARD_WEIGHTS[i];
+        }
+        char last = Character.toUpperCase(number.charAt(17));
+        return last == ID_CARD_CHECK_CODES[sum % 11];
     }
 
     /**
@@ -82,8 +236,7 @@ public class Validator {
      * @return
      */
     public static boolean isWeChat(String number) {
-        Pattern pattern = Pattern.compile(REGEX_WE_CHAT);
-        return pattern.matcher(number).matches();
+        return pattern(INDEX_WE_CHAT, REGEX_WE_CHAT).matcher(number).matches();
     }
 
     /**
@@ -92,8 +245,7 @@ public class Validator {
      * @return
      */
     public static boolean isPassword(String password){
-        Pattern pattern = Pattern.compile(REGEX_PASSWORD);
-        return pattern.matcher(password).matches();
+        return pattern(INDEX_PASSWORD, REGEX_PASSWORD).matcher(password).matches();
     }
 
     /**
@@ -102,8 +254,13 @@ public class Validator {
      * @return
      */
     public static boolean isNumeric(String number){
-        Pattern pattern = Pattern.compile(REGEX_NUMBER);
-        return pattern.matcher(number).matches();
+        String regex = REGEX_NUMBER;
+        if (regex != DEFAULT_NUMBER) {
+            return pattern(INDEX_NUMBER, regex).matcher(number).matches();
+        }
+        int length = number.length();
+        int start = length > 0 && number.charAt(0) == '-' ? 1 : 0;
+        return length > start && isDigits(number, start, length);
     }
 
     /**
@@ -112,8 +269,7 @@ public class Validator {
      * @return
      */
     public static boolean isEmail(String mail){
-        Pattern pattern = Pattern.compile(REGEX_EMAIL);
-        return pattern.matcher(mail).matches();
+        return pattern(INDEX_EMAIL, REGEX_EMAIL).matcher(mail).matches();
     }
 
 
@@ -13,6 +13,27 @@ public class Wheel3DView extends WheelView {
 
     private Camera mCamera;
     private Matrix mMatrix;
+    /**
+     * 投影矩阵缓存，按与中间选项的距离（像素）索引，
+     * 前9位为矩阵值，第10位为文字中心y
+     */
+    private float[][] mProjections;
+    /**
+     * 缓存对应的最大距离
+     */
+    private int mProjectionRange;
+    /**
+     * 缓存对应的滚轮半径
+     */
+    private int mProjectionRadius = -1;
+    /**
+     * 缓存对应的中心点
+     */
+    private float mProjectionCenterX, mProjectionCenterY;
+    /**
+     * 是否开启硬件层
+     */
+    private boolean mHardwareLayerEnabled;
 
     public Wheel3DView(Context context) {
         super(context);
@@ -53,12 +74,7 @@ public class Wheel3DView extends WheelView {
         final float centerX = mClipRectMiddle.centerX() + textMarginLeft - textMarginRight;
         final float centerY = mClipRectMiddle.centerY();
         final double angle = (double) range / r;
-        // 绕x轴滚动的角度
-        float rotate = (float) Math.toDegrees(-angle);
-        // 滚动的距离映射到y轴的长度
-        float translateY = (float) (Math.sin(angle) * r);
-        // 滚动的距离映射到z轴的长度
-        float translateZ = (float) ((1 - Math.cos(angle)) * r);
+        final float[] projection = getProjection(range, r, centerX, centerY);
         // 折射偏移量x
         float refractX = getTextSize() * .05f;
         // 透明度
@@ -68,12 +84,12 @@ public class Wheel3DView extends WheelView {
             canvas.save();
             canvas.translate(refractX, 0);
             canvas.clipRect(mClipRectMiddle);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mSelectedTextPaint);
+            drawText(canvas, text, projection, mSelectedTextPaint);
             canvas.restore();
             mTextPaint.setAlpha(alpha);
             canvas.save();
             canvas.clipRect(mClipRectBottom);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mTextPaint);
+            drawText(canvas, text, projection, mTextPaint);
             canvas.restore();
         }
         // 绘制下分界线下方的文字
@@ -81,7 +97,7 @@ public class Wheel3DView extends WheelView {
             mTextPaint.setAlpha(alpha);
             canvas.save();
             canvas.clipRect(mClipRectBottom);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mTextPaint);
+            drawText(canvas, text, projection, mTextPaint);
             canvas.restore();
         }
         // 绘制与上分界线相交的文字
@@ -89,13 +105,13 @@ public class Wheel3DView extends WheelView {
             canvas.save();
             canvas.translate(refractX, 0);
             canvas.clipRect(mClipRectMiddle);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mSelectedTextPaint);
+            drawText(canvas, text, projection, mSelectedTextPaint);
             canvas.restore();
 
             mTextPaint.setAlpha(alpha);
             canvas.save();
             canvas.clipRect(mClipRectTop);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mTextPaint);
+            drawText(canvas, text, projection, mTextPaint);
             canvas.restore();
         }
         // 绘制上分界线上方的文字
@@ -103,7 +119,7 @@ public class Wheel3DView extends WheelView {
             mTextPaint.setAlpha(alpha);
             canvas.save();
             canvas.clipRect(mClipRectTop);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mTextPaint);
+            drawText(canvas, text, projection, mTextPaint);
             canvas.restore();
         }
         // 绘制两条分界线之间的文字
@@ -111,33 +127,80 @@ public class Wheel3DView extends WheelView {
             canvas.save();
             canvas.translate(refractX, 0);
             canvas.clipRect(mClipRectMiddle);
-            drawText(canvas, text, centerX, centerY, 0, translateY, translateZ, rotate, mSelectedTextPaint);
+            drawText(canvas, text, projection, mSelectedTextPaint);
             canvas.restore();
         }
     }
 
+    /**
+     * 获取投影矩阵，相同距离复用，尺寸改变时重建缓存
+     *
+     * @param range   与中间选项的距离
+     * @param r       滚轮半径
+     * @param centerX 中心x
+     * @param centerY 中心y
+     * @return 矩阵值及文字中心y
+     */
+    private float[] getProjection(int range, int r, float centerX, float centerY) {
+        if (mProjections == null || r != mProjectionRadius || centerX != mProjectionCenterX || centerY != mProjectionCenterY) {
+            mProjectionRadius = r;
+            mProjectionCenterX = centerX;
+            mProjectionCenterY = centerY;
+            mProjectionRange = (int) (r * Math.PI / 2);
+            mProjections = new float[mProjectionRange * 2 + 1][];
+        }
+        int index = range + mProjectionRange;
+        float[] projection = mProjections[index];
+        if (projection == null) {
+            final double angle = (double) range / r;
+            // 绕x轴滚动的角度
+            float rotate = (float) Math.toDegrees(-angle);
+            // 滚动的距离映射到y轴的长度
+            float translateY = (float) (Math.sin(angle) * r);
+            // 滚动的距离映射到z轴的长度
+            float translateZ = (float) ((1 - Math.cos(angle)) * r);
+            mCamera.save();
+            mCamera.translate(0, 0, translateZ);
+            mCamera.rotateX(rotate);
+            mCamera.getMatrix(mMatrix);
+            mCamera.restore();
+            final float x = centerX;
+            final float y = centerY + translateY;
+            // 设置绕x轴旋转的中心点位置
+            mMatrix.preTranslate(-x, -y);
+            mMatrix.postTranslate(x, y);
+            projection = new float[10];
+            mMatrix.getValues(projection);
+            projection[9] = y;
+            mProjections[index] = projection;
+        }
+        return projection;
+    }
+
     private void drawText(Canvas canvas,
                           CharSequence text,
-                          float centerX,
-                          float centerY,
-                          float translateX,
-                          float translateY,
-                          float translateZ,
-                          float rotateX,
+                          float[] projection,
                           Paint paint) {
-        mCamera.save();
-        mCamera.translate(translateX, 0, translateZ);
-        mCamera.rotateX(rotateX);
-        mCamera.getMatrix(mMatrix);
-        mCamera.restore();
-        final float x = centerX;
-        final float y = centerY + translateY;
-        // 设置绕x轴旋转的中心点位置
-        mMatrix.preTranslate(-x, -y);
-        mMatrix.postTranslate(x, y);
-        Paint.FontMetrics fontMetrics = paint.getFontMetrics();
-        int baseline = (int) ((fontMetrics.top + fontMetrics.bottom) / 2);
+        mMatrix.setValues(projection);
         canvas.concat(mMatrix);
-        canvas.drawText(text, 0, text.length(), x, y - baseline, paint);
+        canvas.drawText(text, 0, text.length(), mProjectionCenterX, projection[9] - mTextBaseline, paint);
+    }
+
+    /**
+     * 设置是否开启硬件层，开启后滚轮静止时内容缓存为纹理，
+     * 父布局重绘、整体位移或透明度动画时无需重新绘制文字
+     *
+     * @param enabled 是否开启
+     */
+    public void setHardwareLayerEnabled(boolean enabled) {
+        mHardwareLayerEnabled = enabled;
+        setLayerType(enabled ? LAYER_TYPE_HARDWARE : LAYER_TYPE_NONE, null);
+    }
+
+    /**
+     * @return 是否开启硬件层
+     */
+    public boolean isHardwareLayerEnabled() {
+        return mHardwareLayerEnabled;
     }
 }
@@ -0,0 +1,21 @@
+package androidx.ui.wheel;
+
+/**
+ * 滚轮数据源，按下标取值，文字在绘制时才生成
+ */
+public interface WheelDataSource {
+
+    /**
+     * @return 数据个数
+     */
+    int getCount();
+
+    /**
+     * 获取文字
+     *
+     * @param index 下标，0 ~ getCount()-1
+     * @return 文字
+     */
+    CharSequence getItem(int index);
+
+}
@@ -0,0 +1,36 @@
+package androidx.ui.wheel;
+
+import java.util.List;
+
+/**
+ * 列表数据源
+ */
+public class WheelListDataSource implements WheelDataSource {
+
+    /**
+     * 数据
+     */
+    private final List<? extends CharSequence> list;
+
+    public WheelListDataSource(List<? extends CharSequence> list) {
+        this.list = list;
+    }
+
+    /**
+     * @return 数据
+     */
+    public List<? extends CharSequence> getList() {
+        return list;
+    }
+
+    @Override
+    public int getCount() {
+        return list == null ? 0 : list.size();
+    }
+
+    @Override
+    public CharSequence getItem(int index) {
+        return list.get(index);
+    }
+
+}
@@ -0,0 +1,167 @@
+package androidx.ui.wheel;
+
+/**
+ * 数值范围数据源，年、月、日、时、分、秒等连续数值，
+ * 只保存范围，文字在绘制时格式化并缓存最近使用的部分。
+ */
+public class WheelRangeDataSource implements WheelDataSource {
+
+    /**
+     * 默认文字缓存个数，大于滚轮可见item个数即可
+     */
+    public static final int DEFAULT_CACHE_SIZE = 32;
+    /**
+     * 开始数值
+     */
+    private final int start;
+    /**
+     * 结束数值（包含）
+     */
+    private final int end;
+    /**
+     * 步长
+     */
+    private final int step;
+    /**
+     * 最少位数，不足补0
+     */
+    private final int digits;
+    /**
+     * 单位
+     */
+    private final String unit;
+    /**
+     * 缓存文字对应的下标
+     */
+    private final int[] cacheIndexes;
+    /**
+     * 缓存文字
+     */
+    private final String[] cacheItems;
+    /**
+     * 格式化
+     */
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * 数值范围数据源
+     *
+     * @param start 开始数值
+     * @param end   结束数值（包含）
+     */
+    public WheelRangeDataSource(int start, int end) {
+        this(start, end, 1, 0, null);
+    }
+
+    /**
+     * 数值范围数据源
+     *
+     * @param start  开始数值
+     * @param end    结束数值（包含）
+     * @param digits 最少位数，不足补0，例如月份为2
+     * @param unit   单位
+     */
+    public WheelRangeDataSource(int start, int end, int digits, String unit) {
+        this(start, end, 1, digits, unit);
+    }
+
+    /**
+     * 数值范围数据源
+     *
+     * @param start  开始数值
+     * @param end    结束数值（包含）
+     * @param step   步长
+     * @param digits 最少位数，不足补0，例如月份为2
+     * @param unit   单位
+     */
+    public WheelRangeDataSource(int start, int end, int step, int digits, String unit) {
+        this.start = start;
+        this.end = end;
+        this.step = step <= 0 ? 1 : step;
+        this.digits = digits;
+        this.unit = unit == null ? "" : unit;
+        cacheIndexes = new int[DEFAULT_CACHE_SIZE];
+        cacheItems = new String[DEFAULT_CACHE_SIZE];
+    }
+
+    /**
+     * @return 开始数值
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return 结束数值
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return 单位
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    @Override
+    public int getCount() {
+        return end < start ? 0 : (end - start) / step + 1;
+    }
+
+    /**
+     * @param index 下标
+     * @return 下标对应的数值
+     */
+    public int getValue(int index) {
+        return start + index * step;
+    }
+
+    /**
+     * @param value 数值
+     * @return 数值对应的下标，不在范围内返回-1
+     */
+    public int indexOf(int value) {
+        if (value < start || value > end || (value - start) % step != 0) {
+            return -1;
+        }
+        return (value - start) / step;
+    }
+
+    @Override
+    public CharSequence getItem(int index) {
+        //滚轮可见的下标是连续的，按下标取模缓存不会互相覆盖
+        int slot = index % cacheItems.length;
+        String item = cacheItems[slot];
+        if (item != null && cacheIndexes[slot] == index) {
+            return item;
+        }
+        item = format(getValue(index));
+        cacheIndexes[slot] = index;
+        cacheItems[slot] = item;
+        return item;
+    }
+
+    /**
+     * 格式化数值
+     *
+     * @param value 数值
+     * @return 文字
+     */
+    protected String format(int value) {
+        builder.setLength(0);
+        if (value < 0) {
+            builder.append('-');
+            value = -value;
+        }
+        int length = builder.length();
+        builder.append(value);
+        for (int i = builder.length() - length; i < digits; i++) {
+            builder.insert(length, '0');
+        }
+        builder.append(unit);
+        return builder.toString();
+    }
+
+}
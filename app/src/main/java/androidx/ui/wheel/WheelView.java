@@ -40,6 +40,30 @@ public class WheelView extends View {
     protected Rect mClipRectTop;
     protected RectF mClipRectMiddle;
     protected Rect mClipRectBottom;
+    /**
+     * 内容区域，去除内边距
+     */
+    protected Rect mClipRectContent;
+    /**
+     * 文字度量，文字大小改变时更新
+     */
+    protected final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+    /**
+     * 文字基线偏移，文字垂直居中
+     */
+    protected int mTextBaseline;
+    /**
+     * 文字高度是否不超过item高度，不超过时非交界处item无需单独裁剪
+     */
+    protected boolean mTextFitItem;
+    /**
+     * 高亮背景路径，尺寸改变时更新
+     */
+    protected final Path mHighlightPath = new Path();
+    /**
+     * 高亮背景圆角
+     */
+    protected final float[] mHighlightRadii = new float[8];
     protected TextPaint mTextPaint;
     protected TextPaint mSelectedTextPaint;
     protected Paint mDividerPaint;
@@ -53,6 +77,14 @@ public class WheelView extends View {
     protected float textMarginRight = 0;
     protected WheelScroller mScroller;
     protected final List<CharSequence> dataSource = new ArrayList<>();
+    /**
+     * 列表数据源
+     */
+    private final WheelListDataSource mListDataSource = new WheelListDataSource(dataSource);
+    /**
+     * 当前数据源，默认为列表数据源
+     */
+    protected WheelDataSource mDataSource = mListDataSource;
 
     public WheelView(Context context) {
         super(context);
@@ -136,6 +168,15 @@ public class WheelView extends View {
             dataSource.addAll(Arrays.asList(entries));
         }
 
+        mClipRectTop = new Rect();
+        mClipRectMiddle = new RectF();
+        mClipRectBottom = new Rect();
+        mClipRectContent = new Rect();
+        if (mHighlightRadius != 0) {
+            mHighlightLeftTopRadius = mHighlightLeftBottomRadius = mHighlightRightTopRadius = mHighlightRightBottomRadius = mHighlightRadius;
+        }
+        updateTextMetrics();
+
         mScroller = new WheelScroller(context, this);
     }
 
@@ -164,23 +205,56 @@ public class WheelView extends View {
         int clipBottom = getMeasuredHeight() - getPaddingBottom();
         int clipVMiddle = (clipTop + clipBottom) / 2;
 
-        mClipRectMiddle = new RectF();
         mClipRectMiddle.left = clipLeft;
         mClipRectMiddle.right = clipRight;
         mClipRectMiddle.top = clipVMiddle - mItemHeight / 2;
         mClipRectMiddle.bottom = clipVMiddle + mItemHeight / 2;
 
-        mClipRectTop = new Rect();
         mClipRectTop.left = clipLeft;
         mClipRectTop.right = clipRight;
         mClipRectTop.top = clipTop;
         mClipRectTop.bottom = clipVMiddle - mItemHeight / 2;
 
-        mClipRectBottom = new Rect();
         mClipRectBottom.left = clipLeft;
         mClipRectBottom.right = clipRight;
         mClipRectBottom.top = clipVMiddle + mItemHeight / 2;
         mClipRectBottom.bottom = clipBottom;
+
+        mClipRectContent.left = clipLeft;
+        mClipRectContent.right = clipRight;
+        mClipRectContent.top = clipTop;
+        mClipRectContent.bottom = clipBottom;
+
+        updateHighlightPath();
+        updateTextFit();
+    }
+
+    /**
+     * 更新文字度量，文字大小改变时调用
+     */
+    protected void updateTextMetrics() {
+        mTextPaint.getFontMetrics(mFontMetrics);
+        mTextBaseline = (int) ((mFontMetrics.top + mFontMetrics.bottom) / 2);
+        updateTextFit();
+    }
+
+    /**
+     * 更新文字高度是否不超过item高度
+     */
+    private void updateTextFit() {
+        mTextFitItem = mFontMetrics.bottom - mFontMetrics.top <= mItemHeight;
+    }
+
+    /**
+     * 更新高亮背景路径，尺寸改变时调用
+     */
+    private void updateHighlightPath() {
+        mHighlightRadii[0] = mHighlightRadii[1] = mHighlightLeftTopRadius;
+        mHighlightRadii[2] = mHighlightRadii[3] = mHighlightRightTopRadius;
+        mHighlightRadii[4] = mHighlightRadii[5] = mHighlightRightBottomRadius;
+        mHighlightRadii[6] = mHighlightRadii[7] = mHighlightLeftBottomRadius;
+        mHighlightPath.reset();
+        mHighlightPath.addRoundRect(mClipRectMiddle, mHighlightRadii, Path.Direction.CW);
     }
 
     protected int $dp(int resId) {
@@ -238,9 +312,12 @@ public class WheelView extends View {
             minIdx = index - hf;
             maxIdx = index + hf;
         }
+        int saveCount = canvas.save();
+        canvas.clipRect(mClipRectContent);
         for (int i = minIdx; i < maxIdx; i++) {
             drawItem(canvas, i, offset);
         }
+        canvas.restoreToCount(saveCount);
     }
 
     /**
@@ -260,56 +337,62 @@ public class WheelView extends View {
         // 和中间选项的距离
         final int range = (index - mScroller.getItemIndex()) * mItemHeight - offset;
 
-        Paint.FontMetrics fontMetrics = mTextPaint.getFontMetrics();
-        int baseline = (int) ((fontMetrics.top + fontMetrics.bottom) / 2);
+        final float y = centerY + range - mTextBaseline;
 
-        // 绘制与下分界线相交的文字
+        // 与分界线相交的文字，分别绘制在分界线两侧
         if (range > 0 && range < mItemHeight) {
-            canvas.save();
-            canvas.clipRect(mClipRectMiddle);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mSelectedTextPaint);
-            canvas.restore();
-
-            canvas.save();
-            canvas.clipRect(mClipRectBottom);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mTextPaint);
-            canvas.restore();
-        }
-        // 绘制下分界线下方的文字
-        else if (range >= mItemHeight) {
-            canvas.save();
-            canvas.clipRect(mClipRectBottom);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mTextPaint);
-            canvas.restore();
+            drawClipText(canvas, text, centerX, y, mClipRectMiddle, mSelectedTextPaint);
+            drawClipText(canvas, text, centerX, y, mClipRectBottom, mTextPaint);
+        } else if (range < 0 && range > -mItemHeight) {
+            drawClipText(canvas, text, centerX, y, mClipRectMiddle, mSelectedTextPaint);
+            drawClipText(canvas, text, centerX, y, mClipRectTop, mTextPaint);
         }
-        // 绘制与上分界线相交的文字
-        else if (range < 0 && range > -mItemHeight) {
-            canvas.save();
-            canvas.clipRect(mClipRectMiddle);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mSelectedTextPaint);
-            canvas.restore();
-
-            canvas.save();
-            canvas.clipRect(mClipRectTop);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mTextPaint);
-            canvas.restore();
-        }
-        // 绘制上分界线上方的文字
-        else if (range <= -mItemHeight) {
-            canvas.save();
-            canvas.clipRect(mClipRectTop);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mTextPaint);
-            canvas.restore();
-        }
-        // 绘制两条分界线之间的文字
-        else {
-            canvas.save();
-            canvas.clipRect(mClipRectMiddle);
-            canvas.drawText(text, 0, text.length(), centerX, centerY + range - baseline, mSelectedTextPaint);
-            canvas.restore();
+        // 完整位于某个区域的文字，文字高度不超过item时无需裁剪
+        else if (mTextFitItem) {
+            canvas.drawText(text, 0, text.length(), centerX, y, range == 0 ? mSelectedTextPaint : mTextPaint);
+        } else if (range >= mItemHeight) {
+            drawClipText(canvas, text, centerX, y, mClipRectBottom, mTextPaint);
+        } else if (range <= -mItemHeight) {
+            drawClipText(canvas, text, centerX, y, mClipRectTop, mTextPaint);
+        } else {
+            drawClipText(canvas, text, centerX, y, mClipRectMiddle, mSelectedTextPaint);
         }
     }
 
+    /**
+     * 在裁剪区域内绘制文字
+     *
+     * @param canvas 画布
+     * @param text   文字
+     * @param x      中心x
+     * @param y      基线y
+     * @param clip   裁剪区域
+     * @param paint  画笔
+     */
+    private void drawClipText(Canvas canvas, CharSequence text, float x, float y, RectF clip, Paint paint) {
+        canvas.save();
+        canvas.clipRect(clip);
+        canvas.drawText(text, 0, text.length(), x, y, paint);
+        canvas.restore();
+    }
+
+    /**
+     * 在裁剪区域内绘制文字
+     *
+     * @param canvas 画布
+     * @param text   文字
+     * @param x      中心x
+     * @param y      基线y
+     * @param clip   裁剪区域
+     * @param paint  画笔
+     */
+    private void drawClipText(Canvas canvas, CharSequence text, float x, float y, Rect clip, Paint paint) {
+        canvas.save();
+        canvas.clipRect(clip);
+        canvas.drawText(text, 0, text.length(), x, y, paint);
+        canvas.restore();
+    }
+
     /**
      * 获取文字
      *
@@ -317,7 +400,7 @@ public class WheelView extends View {
      * @return
      */
     protected CharSequence getCharSequence(int index) {
-        int size = dataSource.size();
+        int size = mDataSource.getCount();
         if (size == 0) return null;
         CharSequence text = null;
         if (isCyclic()) {
@@ -325,10 +408,10 @@ public class WheelView extends View {
             if (i < 0) {
                 i += size;
             }
-            text = dataSource.get(i);
+            text = mDataSource.getItem(i);
         } else {
             if (index >= 0 && index < size) {
-                text = dataSource.get(index);
+                text = mDataSource.getItem(index);
             }
         }
         return text;
@@ -340,14 +423,7 @@ public class WheelView extends View {
      * @param canvas
      */
     private void drawHighlight(Canvas canvas) {
-        Path path = new Path();
-        if (mHighlightRadius != 0) {
-            mHighlightLeftTopRadius = mHighlightLeftBottomRadius = mHighlightRightTopRadius = mHighlightRightBottomRadius = mHighlightRightTopRadius;
-        }
-        float[] radii = {mHighlightLeftTopRadius, mHighlightLeftTopRadius, mHighlightRightTopRadius, mHighlightRightTopRadius, mHighlightRightBottomRadius, mHighlightRightBottomRadius, mHighlightLeftBottomRadius, mHighlightLeftBottomRadius};
-        path.addRoundRect(mClipRectMiddle, radii, Path.Direction.CW);
-        canvas.drawPath(path, mHighlightPaint);
-//        canvas.drawRoundRect(mClipRectMiddle, mHighlightRadius, mHighlightRadius, mHighlightPaint);
+        canvas.drawPath(mHighlightPath, mHighlightPaint);
     }
 
     /**
@@ -405,6 +481,7 @@ public class WheelView extends View {
     public void setTextSize(int textSize) {
         mTextPaint.setTextSize(textSize);
         mSelectedTextPaint.setTextSize(textSize);
+        updateTextMetrics();
         invalidate();
     }
 
@@ -446,7 +523,7 @@ public class WheelView extends View {
      * @return item个数
      */
     public int getItemSize() {
-        return dataSource == null ? 0 : dataSource.size();
+        return mDataSource.getCount();
     }
 
     /**
@@ -454,10 +531,10 @@ public class WheelView extends View {
      * @return 获取Item
      */
     public CharSequence getItem(int index) {
-        if (index < 0 && index >= dataSource.size()) {
+        if (index < 0 || index >= mDataSource.getCount()) {
             return null;
         }
-        return dataSource.get(index);
+        return mDataSource.getItem(index);
     }
 
     /**
@@ -593,6 +670,7 @@ public class WheelView extends View {
         if (charSequences != null && charSequences.length > 0) {
             Collections.addAll(dataSource, charSequences);
         }
+        mDataSource = mListDataSource;
         mScroller.reset();
         invalidate();
     }
@@ -607,10 +685,31 @@ public class WheelView extends View {
         if (collection != null && collection.size() > 0) {
             dataSource.addAll(collection);
         }
+        mDataSource = mListDataSource;
         mScroller.reset();
         invalidate();
     }
 
+    /**
+     * 设置数据源，文字在绘制时按下标获取，
+     * 连续数值使用{@link WheelRangeDataSource}无需生成全部文字
+     *
+     * @param source 数据源
+     */
+    public void setDataSource(WheelDataSource source) {
+        dataSource.clear();
+        mDataSource = source == null ? mListDataSource : source;
+        mScroller.reset();
+        invalidate();
+    }
+
+    /**
+     * @return 数据源
+     */
+    public WheelDataSource getDataSource() {
+        return mDataSource;
+    }
+
     /**
      * @return 滚轮滑动监听
      */
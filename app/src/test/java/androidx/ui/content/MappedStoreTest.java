@@ -0,0 +1,231 @@
+package androidx.ui.content;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 内存映射存储测试，覆盖迁移、重新打开、校验失败截断和后台压缩
+ */
+public class MappedStoreTest {
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = File.createTempFile("mapped", "store");
+        dir.delete();
+        dir.mkdirs();
+        file = new File(dir, "test.kv");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        awaitIdle();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File item : files) {
+                item.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void migrateOnlyWhenFileMissing() throws IOException {
+        Map<String, Object> initial = new HashMap<>();
+        initial.put("token", "abc");
+        initial.put("count", 3);
+        initial.put("tags", new HashSet<>(Arrays.asList("a", "b")));
+        MappedStore store = MappedStore.open(file, initial);
+        assertEquals(initial, store.getAll());
+        store.close();
+        Map<String, Object> other = new HashMap<>();
+        other.put("token", "other");
+        assertEquals(initial, reopen(other));
+    }
+
+    @Test
+    public void writeAndReopen() throws IOException {
+        MappedStore store = MappedStore.open(file, null);
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("string", "中文value");
+        changes.put("int", 1);
+        changes.put("long", 2L);
+        changes.put("float", 3.5F);
+        changes.put("boolean", true);
+        changes.put("set", new HashSet<>(Arrays.asList("x", "y")));
+        assertTrue(store.write(changes, false));
+        Map<String, Object> remove = new HashMap<>();
+        remove.put("int", null);
+        assertTrue(store.write(remove, false));
+        assertTrue(store.force());
+        changes.remove("int");
+        assertEquals(changes, store.getAll());
+        store.close();
+        assertFalse(store.write(remove, false));
+        assertFalse(store.force());
+        assertEquals(changes, reopen(null));
+        //clear后只保留本次写入的值
+        store = MappedStore.open(file, null);
+        Map<String, Object> after = new HashMap<>();
+        after.put("only", "value");
+        assertTrue(store.write(after, true));
+        assertTrue(store.force());
+        assertEquals(after, store.getAll());
+        store.close();
+        assertEquals(after, reopen(null));
+    }
+
+    @Test
+    public void corruptedRecordDropsFollowingRecords() throws IOException {
+        MappedStore store = MappedStore.open(file, null);
+        write(store, "first", "FIRST_VALUE");
+        write(store, "second", "SECOND_VALUE");
+        write(store, "third", "THIRD_VALUE");
+        assertTrue(store.force());
+        store.close();
+        //修改第二条记录的内容，校验失败
+        RandomAccessFile accessFile = new RandomAccessFile(file, "rw");
+        byte[] bytes = new byte[(int) accessFile.length()];
+        accessFile.readFully(bytes);
+        int index = indexOf(bytes, "SECOND_VALUE".getBytes(Charset.forName("UTF-8")));
+        assertTrue(index > 0);
+        accessFile.seek(index);
+        accessFile.write('X');
+        accessFile.close();
+        MappedStore reopened = MappedStore.open(file, null);
+        assertEquals("FIRST_VALUE", reopened.get("first"));
+        assertNull(reopened.get("second"));
+        assertNull(reopened.get("third"));
+        //之后的写入不会与丢弃的数据混在一起
+        write(reopened, "fourth", "FOURTH_VALUE");
+        assertTrue(reopened.force());
+        reopened.close();
+        Map<String, Object> again = reopen(null);
+        assertEquals("FIRST_VALUE", again.get("first"));
+        assertEquals("FOURTH_VALUE", again.get("fourth"));
+        assertNull(again.get("third"));
+    }
+
+    @Test
+    public void compactInBackground() throws Exception {
+        MappedStore store = MappedStore.open(file, null);
+        Map<String, Object> expected = new HashMap<>();
+        Random random = new Random(22);
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            large.append("json");
+        }
+        for (int i = 0; i < 20000; i++) {
+            String key = "key" + random.nextInt(20);
+            String value = large + String.valueOf(i);
+            write(store, key, value);
+            expected.put(key, value);
+        }
+        awaitIdle();
+        //文件容量按倍数增长，压缩后可能与原文件一样大，以压缩次数和记录长度判断
+        assertTrue(store.getCompactCount() > 0);
+        assertTrue("log " + store.getLogSize(), store.getLogSize() < 20000 * large.length());
+        assertTrue(store.force());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        assertEquals(expected, store.getAll());
+        store.close();
+        assertEquals(expected, reopen(null));
+    }
+
+    @Test
+    public void concurrentWriters() throws Exception {
+        final MappedStore store = MappedStore.open(file, null);
+        final Map<String, Object> expected = new HashMap<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final String prefix = "t" + t + "-";
+            threads[t] = new Thread(() -> {
+                Random random = new Random(prefix.hashCode());
+                Map<String, Object> local = new HashMap<>();
+                for (int i = 0; i < 20000; i++) {
+                    String key = prefix + random.nextInt(30);
+                    Object value = random.nextInt(5) == 0 ? null : "value" + i + "-------------------------------";
+                    Map<String, Object> changes = new HashMap<>();
+                    changes.put(key, value);
+                    assertTrue(store.write(changes, false));
+                    if (value == null) {
+                        local.remove(key);
+                    } else {
+                        local.put(key, value);
+                    }
+                }
+                synchronized (expected) {
+                    expected.putAll(local);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(store.force());
+        assertEquals(expected, store.getAll());
+        store.close();
+        assertEquals(expected, reopen(null));
+    }
+
+    /**
+     * 压缩线程只有一个，等待之前安排的压缩完成
+     */
+    private static void awaitIdle() throws Exception {
+        FutureTask<Void> idle = new FutureTask<>(() -> null);
+        MappedStore.compactExecutor().execute(idle);
+        idle.get();
+    }
+
+    /**
+     * 重新打开文件读取全部数据后关闭
+     */
+    private Map<String, Object> reopen(Map<String, ?> initial) throws IOException {
+        MappedStore store = MappedStore.open(file, initial);
+        try {
+            return store.getAll();
+        } finally {
+            store.close();
+        }
+    }
+
+    private static void write(MappedStore store, String key, Object value) {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put(key, value);
+        assertTrue(store.write(changes, false));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < target.length && bytes[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
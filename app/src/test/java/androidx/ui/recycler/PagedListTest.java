@@ -0,0 +1,267 @@
+package androidx.ui.recycler;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 分页列表测试，加载线程和主线程都替换为手动执行的队列，覆盖追加、前插、释放、重新加载和重试
+ */
+public class PagedListTest {
+
+    private final QueueExecutor loadExecutor = new QueueExecutor();
+    private final QueueExecutor mainExecutor = new QueueExecutor();
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    public void appendNextPage() {
+        NumberSource source = new NumberSource(0, 4, 10);
+        PagedList<Integer, String> list = create(source, 0);
+        flush();
+        assertEquals(10, list.size());
+        assertEquals(Arrays.asList("inserted 0 10"), events);
+        list.setPrefetchDistance(2);
+        list.loadAround(5);
+        flush();
+        assertEquals(10, list.size());
+        list.loadAround(7);
+        flush();
+        assertEquals(20, list.size());
+        assertEquals("1-0", list.get(10));
+        assertEquals("inserted 10 10", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void prependShiftsIndexes() {
+        NumberSource source = new NumberSource(0, 4, 10);
+        PagedList<Integer, String> list = create(source, 2);
+        list.setPrefetchDistance(2);
+        flush();
+        assertEquals("2-0", list.get(0));
+        list.loadAround(1);
+        flush();
+        assertEquals(20, list.size());
+        assertEquals("1-0", list.get(0));
+        assertEquals("2-0", list.get(10));
+        assertEquals("inserted 0 10", events.get(events.size() - 1));
+        //前插后最后访问位置随之后移，retry按后移的位置加载，不在开头附近，不会继续前插
+        list.retry();
+        flush();
+        assertEquals(Arrays.asList(2, 1), source.loaded);
+        list.loadAround(1);
+        flush();
+        assertEquals(Arrays.asList(2, 1, 0), source.loaded);
+        assertEquals("0-0", list.get(0));
+        assertEquals("2-0", list.get(20));
+    }
+
+    @Test
+    public void trimPagesOutsideVisibleRange() {
+        NumberSource source = new NumberSource(0, 4, 10);
+        PagedList<Integer, String> list = create(source, 0);
+        list.setMaxPages(2);
+        list.setPrefetchDistance(2);
+        flush();
+        list.loadAround(8);
+        flush();
+        list.loadAround(18);
+        flush();
+        assertEquals(30, list.size());
+        //距离最后访问位置最远的第一页被释放，保留位置
+        assertNull(list.get(0));
+        assertEquals("1-0", list.get(10));
+        assertEquals("2-0", list.get(20));
+        assertEquals("changed 0 10", events.get(events.size() - 1));
+        //显示范围内的页面不释放
+        list.setVisibleItemCount(30);
+        list.loadAround(28);
+        flush();
+        assertEquals(40, list.size());
+        assertEquals("1-0", list.get(10));
+        assertEquals("3-0", list.get(30));
+    }
+
+    @Test
+    public void reloadChangesPageSize() {
+        NumberSource source = new NumberSource(0, 4, 10);
+        PagedList<Integer, String> list = create(source, 0);
+        list.setMaxPages(2);
+        list.setPrefetchDistance(2);
+        flush();
+        list.loadAround(8);
+        flush();
+        list.loadAround(18);
+        flush();
+        assertNull(list.get(0));
+        //释放的页面重新加载时条数减少
+        source.sizes.put(0, 4);
+        events.clear();
+        list.loadAround(0);
+        flush();
+        assertEquals(24, list.size());
+        assertEquals("0-3", list.get(3));
+        assertEquals("1-0", list.get(4));
+        assertEquals("changed 0 4", events.get(0));
+        assertEquals("removed 4 6", events.get(1));
+        //重新加载后距离最远的最后一页被释放
+        assertNull(list.get(14));
+        //条数增加
+        source.sizes.put(2, 12);
+        events.clear();
+        list.loadAround(14);
+        flush();
+        assertEquals(26, list.size());
+        assertEquals("2-11", list.get(25));
+        assertEquals("changed 14 10", events.get(0));
+        assertEquals("inserted 24 2", events.get(1));
+    }
+
+    @Test
+    public void retryAfterInitialFailure() {
+        NumberSource source = new NumberSource(0, 4, 10);
+        source.failures = 1;
+        final List<Boolean> failed = new ArrayList<>();
+        PagedList<Integer, String> list = create(source, 0);
+        list.setOnLoadFailedListener((initial, e) -> failed.add(initial));
+        flush();
+        assertEquals(0, list.size());
+        assertTrue(list.isInitialFailed());
+        assertFalse(list.isInitialLoading());
+        assertEquals(Arrays.asList(true), failed);
+        assertTrue(events.isEmpty());
+        list.retry();
+        assertTrue(list.isInitialLoading());
+        flush();
+        assertFalse(list.isInitialFailed());
+        assertEquals(10, list.size());
+        assertEquals(Arrays.asList("inserted 0 10"), events);
+    }
+
+    @Test
+    public void detachIgnoresPendingResults() {
+        NumberSource source = new NumberSource(0, 4, 10);
+        PagedList<Integer, String> list = create(source, 0);
+        list.detach();
+        flush();
+        assertEquals(0, list.size());
+        assertTrue(events.isEmpty());
+    }
+
+    private PagedList<Integer, String> create(NumberSource source, int initialKey) {
+        source.initialKey = initialKey;
+        return new PagedList<>(source, new PagedList.Callback() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                events.add("inserted " + positionStart + " " + itemCount);
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                events.add("changed " + positionStart + " " + itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                events.add("removed " + positionStart + " " + itemCount);
+            }
+        }, loadExecutor, mainExecutor);
+    }
+
+    /**
+     * 执行全部等待中的加载和结果应用
+     */
+    private void flush() {
+        while (loadExecutor.runAll() | mainExecutor.runAll()) {
+        }
+    }
+
+    /**
+     * 手动执行的任务队列
+     */
+    private static class QueueExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        /**
+         * @return 是否执行了任务
+         */
+        boolean runAll() {
+            boolean ran = false;
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+                ran = true;
+            }
+            return ran;
+        }
+
+    }
+
+    /**
+     * 页码数据源，Item为"页码-序号"
+     */
+    private static class NumberSource implements PageSource<Integer, String> {
+
+        private final int firstPage;
+        private final int lastPage;
+        private final int pageSize;
+        /**
+         * 指定页面的条数
+         */
+        final Map<Integer, Integer> sizes = new HashMap<>();
+        /**
+         * 加载过的页码
+         */
+        final List<Integer> loaded = new ArrayList<>();
+        int initialKey;
+        /**
+         * 剩余失败次数
+         */
+        int failures;
+
+        NumberSource(int firstPage, int lastPage, int pageSize) {
+            this.firstPage = firstPage;
+            this.lastPage = lastPage;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public Integer getInitialKey() {
+            return initialKey;
+        }
+
+        @Override
+        public Page<Integer, String> load(Integer key) throws Exception {
+            if (failures > 0) {
+                failures--;
+                throw new Exception("load failed: " + key);
+            }
+            loaded.add(key);
+            int size = sizes.containsKey(key) ? sizes.get(key) : pageSize;
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                items.add(key + "-" + i);
+            }
+            return new Page<>(items, key > firstPage ? key - 1 : null, key < lastPage ? key + 1 : null);
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package androidx.ui.text;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 日期时间测试，在6个时区（含半小时偏移和夏令时）随机时间下
+ * 与SimpleDateFormat、Calendar的结果逐一对比
+ */
+public class DateTimeTest {
+
+    private static final String[] ZONES = {
+            "UTC",
+            "Asia/Shanghai",
+            "Asia/Kolkata",
+            "America/New_York",
+            "Europe/London",
+            "Australia/Lord_Howe"
+    };
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd hh:mm:ss.SSS",
+            "yyyyMMddHHmmss",
+            "yy/M/d H:m",
+            "yyyy年MM月dd日 'at' HH:mm",
+            "EEE yyyy-MM-dd HH:mm"
+    };
+    /**
+     * 1900-01-01到2100-01-01
+     */
+    private static final long MIN_MILLIS = -2208988800000L;
+    private static final long MAX_MILLIS = 4102444800000L;
+    private static final int SAMPLES = 2000;
+
+    @Test
+    public void formatMatchesSimpleDateFormat() {
+        Random random = new Random(14);
+        for (String zone : ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            DateTime dateTime = new DateTime(timeZone);
+            for (String pattern : PATTERNS) {
+                SimpleDateFormat format = new SimpleDateFormat(pattern);
+                format.setTimeZone(timeZone);
+                for (int i = 0; i < SAMPLES; i++) {
+                    long millis = randomMillis(random);
+                    String expected = format.format(new Date(millis));
+                    assertEquals(zone + " " + pattern + " " + millis, expected, dateTime.setTimeInMillis(millis).format(pattern));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseMatchesSimpleDateFormat() throws Exception {
+        Random random = new Random(41);
+        for (String zone : ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            for (String pattern : PATTERNS) {
+                SimpleDateFormat format = new SimpleDateFormat(pattern);
+                format.setTimeZone(timeZone);
+                DatePattern datePattern = DatePattern.of(pattern);
+                for (int i = 0; i < SAMPLES; i++) {
+                    String text = format.format(new Date(randomMillis(random)));
+                    long expected = format.parse(text).getTime();
+                    assertEquals(zone + " " + pattern + " " + text, expected, datePattern.parse(text, timeZone));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fieldsMatchCalendar() {
+        Random random = new Random(7);
+        for (String zone : ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            DateTime dateTime = new DateTime(timeZone);
+            Calendar calendar = new GregorianCalendar(timeZone);
+            for (int i = 0; i < SAMPLES; i++) {
+                long millis = randomMillis(random);
+                calendar.setTimeInMillis(millis);
+                dateTime.setTimeInMillis(millis);
+                String message = zone + " " + millis;
+                assertEquals(message, calendar.get(Calendar.YEAR), dateTime.getYear());
+                assertEquals(message, calendar.get(Calendar.MONTH) + 1, dateTime.getMonth());
+                assertEquals(message, calendar.get(Calendar.DAY_OF_MONTH), dateTime.getDay());
+                assertEquals(message, calendar.get(Calendar.HOUR_OF_DAY), dateTime.getHour());
+                assertEquals(message, calendar.get(Calendar.MINUTE), dateTime.getMinute());
+                assertEquals(message, calendar.get(Calendar.SECOND), dateTime.getSecond());
+                //宽松字段与夏令时切换时段，包括跳过和重复的时间
+                int year = 1950 + random.nextInt(150);
+                int month = random.nextInt(14);
+                int day = random.nextInt(33);
+                int hour = random.nextInt(25);
+                int minute = random.nextInt(60);
+                calendar.clear();
+                calendar.set(year, month - 1, day, hour, minute, 0);
+                dateTime.set(year, month, day, hour, minute, 0).setMillisecond(0);
+                assertEquals(message + " set " + year + "-" + month + "-" + day + " " + hour + ":" + minute,
+                        calendar.getTimeInMillis(), dateTime.getTimeInMillis());
+                int months = random.nextInt(48) - 24;
+                calendar.add(Calendar.MONTH, months);
+                dateTime.addMonths(months);
+                assertEquals(message + " addMonths " + months, calendar.getTimeInMillis(), dateTime.getTimeInMillis());
+            }
+        }
+    }
+
+    @Test
+    public void daylightSavingTransitionsMatchCalendar() throws Exception {
+        //{时区, 年, 月, 日, 时, 分}，分别为跳过的时间和重复的时间
+        Object[][] cases = {
+                {"America/New_York", 2021, 3, 14, 2, 30},
+                {"America/New_York", 2021, 11, 7, 1, 30},
+                {"Europe/London", 2021, 3, 28, 1, 15},
+                {"Europe/London", 2021, 10, 31, 1, 15},
+                {"Australia/Lord_Howe", 2021, 10, 3, 2, 15},
+                {"Australia/Lord_Howe", 2021, 4, 4, 1, 45}
+        };
+        for (Object[] item : cases) {
+            TimeZone timeZone = TimeZone.getTimeZone((String) item[0]);
+            int year = (Integer) item[1], month = (Integer) item[2], day = (Integer) item[3];
+            int hour = (Integer) item[4], minute = (Integer) item[5];
+            Calendar calendar = new GregorianCalendar(timeZone);
+            calendar.clear();
+            calendar.set(year, month - 1, day, hour, minute, 0);
+            DateTime dateTime = new DateTime(timeZone).set(year, month, day, hour, minute, 0);
+            String message = item[0] + " " + year + "-" + month + "-" + day + " " + hour + ":" + minute;
+            assertEquals(message, calendar.getTimeInMillis(), dateTime.getTimeInMillis());
+            SimpleDateFormat format = new SimpleDateFormat(Time.YYYY_MM_DD_H24_MM_SS);
+            format.setTimeZone(timeZone);
+            String text = String.format(Locale.US, "%04d-%02d-%02d %02d:%02d:00", year, month, day, hour, minute);
+            assertEquals(message, format.parse(text).getTime(), DatePattern.of(Time.YYYY_MM_DD_H24_MM_SS).parse(text, timeZone));
+        }
+    }
+
+    private static long randomMillis(Random random) {
+        return MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS));
+    }
+
+}
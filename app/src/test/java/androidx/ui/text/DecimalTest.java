@@ -0,0 +1,84 @@
+package androidx.ui.text;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 金额输入测试，setFilter逐字符判断小数点位置与原来的正则分支一致
+ */
+public class DecimalTest {
+
+    /**
+     * 整数加小数点，如"12."
+     */
+    private static final int POINT_END = 1;
+    /**
+     * 整数、小数点及小数，如"12.3"
+     */
+    private static final int POINT_DECIMAL = 2;
+    /**
+     * 其他
+     */
+    private static final int OTHER = 0;
+
+    @Test
+    public void filterBranchMatchesRegex() {
+        Random random = new Random(15);
+        String alphabet = "0123456789..a-";
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = random.nextInt(8); j > 0; j--) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+            assertEquals(text, regexBranch(text), pointBranch(text));
+        }
+    }
+
+    @Test
+    public void matchesUsesCachedPattern() {
+        assertTrue(Decimal.matches("^\\d+\\.\\d{0,2}$", "12.34"));
+        assertFalse(Decimal.matches("^\\d+\\.\\d{0,2}$", "12.345"));
+        assertTrue(Decimal.matches("^\\d+\\.\\d{0,2}$", "0."));
+    }
+
+    /**
+     * 原来setFilter的分支判断，每次按键编译两次正则
+     *
+     * @param text 输入内容
+     * @return 分支
+     */
+    private static int regexBranch(String text) {
+        if (Pattern.compile("^\\d+.$").matcher(text).matches() && text.contains(".")) {
+            return POINT_END;
+        }
+        if (Pattern.compile("^\\d+.[0-9]{0,}").matcher(text).matches() && text.contains(".")) {
+            return POINT_DECIMAL;
+        }
+        return OTHER;
+    }
+
+    /**
+     * 现在setFilter的分支判断
+     *
+     * @param text 输入内容
+     * @return 分支
+     */
+    private static int pointBranch(String text) {
+        if (text.startsWith(".")) {
+            return OTHER;
+        }
+        int point = Decimal.pointIndex(text);
+        if (point > 0 && point == text.length() - 1) {
+            return POINT_END;
+        }
+        return point > 0 ? POINT_DECIMAL : OTHER;
+    }
+
+}
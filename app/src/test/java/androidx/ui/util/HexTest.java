@@ -0,0 +1,118 @@
+package androidx.ui.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 16进制测试，结果与原来的substring+parseInt实现一致
+ */
+public class HexTest {
+
+    @Test
+    public void decodeMatchesLegacy() {
+        Random random = new Random(16);
+        for (int i = 0; i < 1000; i++) {
+            byte[] data = new byte[random.nextInt(64)];
+            random.nextBytes(data);
+            String hex = Hex.encodeHex(data);
+            assertArrayEquals(decodeLegacy(hex), Hex.decodeHex(hex));
+            assertArrayEquals(data, Hex.decodeHex(hex.toLowerCase(Locale.US)));
+        }
+    }
+
+    @Test
+    public void encodeGroup() {
+        byte[] data = {0x01, 0x23, 0x45, 0x67, (byte) 0x89};
+        assertEquals("0123456789", Hex.encodeHex(data));
+        assertEquals("0123-4567-89", Hex.encodeHex(data, 2));
+        assertEquals("", Hex.encodeHex(new byte[0], 2));
+    }
+
+    @Test
+    public void illegalInput() {
+        try {
+            Hex.decodeHex("ABC");
+            fail("odd length");
+        } catch (IllegalArgumentException e) {
+            //期望异常
+        }
+        try {
+            Hex.decodeHex("0G");
+            fail("illegal character");
+        } catch (NumberFormatException e) {
+            //期望异常
+        }
+    }
+
+    @Test
+    public void byteBufferRoundTrip() {
+        Random random = new Random(61);
+        byte[] data = new byte[1000];
+        random.nextBytes(data);
+        String hex = Hex.encodeHex(data);
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(1010), ByteBuffer.allocateDirect(1010)}) {
+            buffer.position(5);
+            Hex.decodeHex(hex, buffer);
+            assertEquals(1005, buffer.position());
+            buffer.flip();
+            buffer.position(5);
+            assertEquals(hex, Hex.encodeHex(buffer));
+            assertEquals(buffer.limit(), buffer.position());
+        }
+    }
+
+    @Test
+    public void streamRoundTrip() throws Exception {
+        Random random = new Random(160);
+        byte[] data = new byte[100000];
+        random.nextBytes(data);
+        StringWriter writer = new StringWriter();
+        HexOutputStream output = new HexOutputStream(writer, 333);
+        for (int offset = 0; offset < data.length; ) {
+            int length = Math.min(data.length - offset, 1 + random.nextInt(1000));
+            if (length == 1) {
+                output.write(data[offset]);
+            } else {
+                output.write(data, offset, length);
+            }
+            offset += length;
+        }
+        output.close();
+        assertEquals(Hex.encodeHex(data), writer.toString());
+        HexInputStream input = new HexInputStream(new StringReader(writer.toString()), 77);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[513];
+        int count;
+        while ((count = input.read(buffer, 0, 1 + random.nextInt(buffer.length))) != -1) {
+            bytes.write(buffer, 0, count);
+        }
+        input.close();
+        assertArrayEquals(data, bytes.toByteArray());
+    }
+
+    /**
+     * 原来的解码实现，每个字节创建子字符串并解析
+     *
+     * @param hexString 十六进制字符串
+     * @return
+     */
+    private static byte[] decodeLegacy(String hexString) {
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        for (int i = 0; i < hexString.length(); i += 2) {
+            int b = Integer.parseInt(hexString.substring(i, i + 2), 16);
+            bas.write(b);
+        }
+        return bas.toByteArray();
+    }
+
+}
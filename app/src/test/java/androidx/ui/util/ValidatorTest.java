@@ -0,0 +1,105 @@
+package androidx.ui.util;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 校验测试，逐字符校验与原来的正则在随机输入下结果一致
+ */
+public class ValidatorTest {
+
+    private static final int SAMPLES = 200000;
+
+    @Test
+    public void phoneMatchesRegex() {
+        Random random = new Random(15);
+        Pattern pattern = Pattern.compile(Validator.REGEX_PHONE);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomNumber(random, "1", 10 + random.nextInt(3));
+            assertEquals(text, pattern.matcher(text).matches(), Validator.isPhone(text));
+        }
+    }
+
+    @Test
+    public void idCardMatchesRegex() {
+        Random random = new Random(51);
+        Pattern pattern = Pattern.compile(Validator.REGEX_ID_CARD);
+        String[] centuries = {"19", "20", "18", "21"};
+        String[] lasts = {"", "0", "7", "X", "x", "Y", "-"};
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomNumber(random, "", 6)
+                    + centuries[random.nextInt(centuries.length)]
+                    + randomNumber(random, "", 2)
+                    + String.format(Locale.US, "%02d", random.nextInt(14))
+                    + String.format(Locale.US, "%02d", random.nextInt(33))
+                    + randomNumber(random, "", 2 + random.nextInt(2))
+                    + lasts[random.nextInt(lasts.length)];
+            assertEquals(text, pattern.matcher(text).matches(), Validator.isIdCard(text));
+        }
+    }
+
+    @Test
+    public void numericMatchesRegex() {
+        Random random = new Random(5);
+        Pattern pattern = Pattern.compile(Validator.REGEX_NUMBER);
+        String alphabet = "-0123456789a.\n ";
+        for (int i = 0; i < SAMPLES; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = random.nextInt(7); j > 0; j--) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+            assertEquals(text, pattern.matcher(text).matches(), Validator.isNumeric(text));
+        }
+    }
+
+    @Test
+    public void modifiedRegexIsUsed() {
+        String regex = Validator.REGEX_PHONE;
+        try {
+            Validator.REGEX_PHONE = "^1\\d{10}$";
+            assertTrue(Validator.isPhone("12000000000"));
+            Validator.REGEX_PHONE = "^2\\d{10}$";
+            assertFalse(Validator.isPhone("12000000000"));
+            assertTrue(Validator.isPhone("22000000000"));
+        } finally {
+            Validator.REGEX_PHONE = regex;
+        }
+        assertFalse(Validator.isPhone("12000000000"));
+        assertTrue(Validator.isPhone("13800000000"));
+    }
+
+    @Test
+    public void strictIdCardChecksum() {
+        assertTrue(Validator.isIdCard("11010519491231002X", true));
+        assertTrue(Validator.isIdCard("11010519491231002x", true));
+        assertFalse(Validator.isIdCard("110105194912310021", true));
+        //日期不存在
+        assertFalse(Validator.isIdCard("11010519490231002X", true));
+        assertFalse(Validator.isIdCard("11010519491231002", true));
+    }
+
+    /**
+     * 随机数字串，偶尔混入非数字字符
+     *
+     * @param random 随机数
+     * @param prefix 前缀
+     * @param length 数字个数
+     * @return
+     */
+    private static String randomNumber(Random random, String prefix, int length) {
+        StringBuilder builder = new StringBuilder(prefix);
+        for (int i = 0; i < length; i++) {
+            builder.append(random.nextInt(200) == 0 ? 'a' : (char) ('0' + random.nextInt(10)));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,46 @@
+package androidx.ui.wheel;
+
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 范围数据源测试，文字与原来DecimalFormat拼接的列表一致
+ */
+public class WheelRangeDataSourceTest {
+
+    @Test
+    public void itemsMatchDecimalFormat() {
+        DecimalFormat decimalFormat = new DecimalFormat("00");
+        WheelRangeDataSource days = new WheelRangeDataSource(1, 31, 2, "日");
+        assertEquals(31, days.getCount());
+        for (int i = 0; i < days.getCount(); i++) {
+            assertEquals(decimalFormat.format(i + 1) + "日", days.getItem(i).toString());
+        }
+        WheelRangeDataSource negative = new WheelRangeDataSource(-12, 12, 2, null);
+        for (int i = 0; i < negative.getCount(); i++) {
+            assertEquals(decimalFormat.format(i - 12), negative.getItem(i).toString());
+        }
+        WheelRangeDataSource years = new WheelRangeDataSource(1900, 2100, 0, "年");
+        for (int i = 0; i < years.getCount(); i++) {
+            assertEquals((1900 + i) + "年", years.getItem(i).toString());
+        }
+    }
+
+    @Test
+    public void cachedItemsStayCorrectWhenScrolling() {
+        WheelRangeDataSource minutes = new WheelRangeDataSource(0, 59, 5, 2, null);
+        assertEquals(12, minutes.getCount());
+        for (int round = 0; round < 3; round++) {
+            for (int i = minutes.getCount() - 1; i >= 0; i--) {
+                assertEquals(String.format("%02d", i * 5), minutes.getItem(i).toString());
+            }
+        }
+        assertEquals(11, minutes.indexOf(55));
+        assertEquals(-1, minutes.indexOf(56));
+        assertEquals(55, minutes.getValue(11));
+    }
+
+}
@@ -0,0 +1,556 @@
+package androidx.ui.sqlite.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * SQLite实体绑定注解处理器，为androidx.ui.sqlite.SQLiteTable注解的实体类
+ * 生成"类名_SQLiteBinder"，直接访问字段完成参数绑定和游标映射。<br/>
+ * 私有字段使用getter/setter访问，无法访问的实体类不生成绑定类，运行时使用反射。<br/>
+ * 绑定类只提供列名、字段类及字段读写，建表字段类型和参与绑定的列由运行时SQLiteEntity
+ * 按SQLiteColumn.typeOf判断，字段分类与其保持一致。<br/>
+ */
+public class SQLiteBinderProcessor extends AbstractProcessor {
+
+    private static final String PACKAGE = "androidx.ui.sqlite";
+    private static final String TABLE = PACKAGE + ".SQLiteTable";
+    private static final String INDEX = PACKAGE + ".SQLiteIndex";
+    private static final String SUFFIX = "_SQLiteBinder";
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(TABLE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement table = elements.getTypeElement(TABLE);
+        if (table == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(table)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Column> columns = parse(type);
+            if (columns != null) {
+                write(type, columns);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析实体字段
+     *
+     * @param type 实体类
+     * @return 列，实体无法直接访问时返回null
+     */
+    private List<Column> parse(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.PRIVATE) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            warning(type, "entity is private or abstract, reflection will be used");
+            return null;
+        }
+        if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+            warning(type, "entity is an inner class, reflection will be used");
+            return null;
+        }
+        boolean constructor = false;
+        for (ExecutableElement method : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.PRIVATE)) {
+                constructor = true;
+            }
+        }
+        if (!constructor) {
+            warning(type, "entity has no accessible no-arg constructor, reflection will be used");
+            return null;
+        }
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) types.asElement(superclass);
+            for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    warning(type, "entity extends a class with fields, reflection will be used");
+                    return null;
+                }
+            }
+            superclass = element.getSuperclass();
+        }
+        List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+        List<Column> columns = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            String name = field.getSimpleName().toString();
+            if (field.getModifiers().contains(Modifier.STATIC) || name.startsWith("$") || name.equals("serialVersionUID")) {
+                continue;
+            }
+            Column column = new Column(name, field.asType());
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                column.getter = findMethod(methods, field, true);
+                column.setter = findMethod(methods, field, false);
+                if (column.getter == null || column.setter == null) {
+                    warning(field, "private field needs getter and setter, reflection will be used");
+                    return null;
+                }
+            } else if (field.getModifiers().contains(Modifier.FINAL)) {
+                warning(field, "final field can not be set, reflection will be used");
+                return null;
+            }
+            column.index = findIndex(field);
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * 查找getter/setter方法
+     *
+     * @param methods 方法
+     * @param field   字段
+     * @param getter  是否getter
+     * @return 方法名，不存在返回null
+     */
+    private String findMethod(List<ExecutableElement> methods, VariableElement field, boolean getter) {
+        String name = field.getSimpleName().toString();
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        List<String> names = new ArrayList<>();
+        if (getter) {
+            names.add("get" + suffix);
+            if (field.asType().getKind() == TypeKind.BOOLEAN) {
+                names.add("is" + suffix);
+                if (name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
+                    names.add(name);
+                }
+            }
+        } else {
+            names.add("set" + suffix);
+            if (field.asType().getKind() == TypeKind.BOOLEAN && name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
+                names.add("set" + name.substring(2));
+            }
+        }
+        for (ExecutableElement method : methods) {
+            if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (!names.contains(method.getSimpleName().toString())) {
+                continue;
+            }
+            if (getter && method.getParameters().isEmpty() && types.isSameType(method.getReturnType(), field.asType())) {
+                return method.getSimpleName().toString();
+            }
+            if (!getter && method.getParameters().size() == 1 && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return method.getSimpleName().toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析字段的SQLiteIndex注解
+     *
+     * @param field 字段
+     * @return 索引，不存在返回null
+     */
+    private Index findIndex(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotation.getQualifiedName().contentEquals(INDEX)) {
+                continue;
+            }
+            Index index = new Index();
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                Object value = entry.getValue().getValue();
+                if (key.equals("name")) {
+                    index.name = (String) value;
+                } else if (key.equals("unique")) {
+                    index.unique = (Boolean) value;
+                } else if (key.equals("order")) {
+                    index.order = (Integer) value;
+                }
+            }
+            return index;
+        }
+        return null;
+    }
+
+    /**
+     * 生成绑定类
+     *
+     * @param type    实体类
+     * @param columns 列
+     */
+    private void write(TypeElement type, List<Column> columns) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String binderName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String entity = type.getQualifiedName().toString();
+        String table = type.getSimpleName().toString();
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import android.database.sqlite.SQLiteStatement;\n\n");
+        sb.append("import androidx.ui.sqlite.RowMapper;\n");
+        sb.append("import androidx.ui.sqlite.SQLiteBinder;\n");
+        sb.append("import androidx.ui.sqlite.SQLiteConverters;\n\n");
+        sb.append("/**\n * Generated by SQLiteBinderProcessor, do not edit.\n */\n");
+        sb.append("@SuppressWarnings(\"unchecked\")\n");
+        sb.append("public final class ").append(binderName).append(" implements SQLiteBinder<").append(entity).append("> {\n\n");
+        sb.append("    private static final String[] COLUMNS = {");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append('"').append(columns.get(i).name).append('"');
+        }
+        sb.append("};\n\n");
+        sb.append("    private static final Class<?>[] TYPES = {");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append(erasure(columns.get(i).type)).append(".class");
+        }
+        sb.append("};\n\n");
+        sb.append("    private static final String[] INDEX_SQLS = {");
+        List<String> indexSQLs = indexSQLs(table, columns);
+        for (int i = 0; i < indexSQLs.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append('"').append(indexSQLs.get(i)).append('"');
+        }
+        sb.append("};\n\n");
+        sb.append("    @Override\n    public String getTable() {\n        return \"").append(table).append("\";\n    }\n\n");
+        sb.append("    @Override\n    public String[] getColumns() {\n        return COLUMNS;\n    }\n\n");
+        sb.append("    @Override\n    public Class<?>[] getTypes() {\n        return TYPES;\n    }\n\n");
+        sb.append("    @Override\n    public String[] getIndexSQLs() {\n        return INDEX_SQLS;\n    }\n\n");
+        sb.append("    @Override\n    public int bind(SQLiteStatement statement, ").append(entity).append(" obj, String column, int index) {\n");
+        sb.append("        switch (column) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append("            case \"").append(columns.get(i).name).append("\":\n");
+            sb.append("                bind(statement, obj, ").append(i).append(", index);\n");
+            sb.append("                break;\n");
+        }
+        sb.append("            default:\n                statement.bindNull(index);\n                break;\n");
+        sb.append("        }\n        return index + 1;\n    }\n\n");
+        sb.append("    @Override\n    public void bind(SQLiteStatement statement, ").append(entity).append(" obj, int column, int index) {\n");
+        sb.append("        switch (column) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append("            case ").append(i).append(": {\n");
+            writeBind(sb, columns.get(i));
+            sb.append("                break;\n            }\n");
+        }
+        sb.append("        }\n    }\n\n");
+        sb.append("    @Override\n    public RowMapper<").append(entity).append("> mapper(final int[] indexes) {\n");
+        sb.append("        return c -> {\n");
+        sb.append("            ").append(entity).append(" bean = new ").append(entity).append("();\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append("            if (indexes[").append(i).append("] != -1");
+            if (columns.get(i).type.getKind().isPrimitive() && kind(columns.get(i).type) == Kind.OTHER) {
+                sb.append(" && !c.isNull(indexes[").append(i).append("])");
+            }
+            sb.append(") {\n");
+            writeRead(sb, columns.get(i), "indexes[" + i + "]");
+            sb.append("            }\n");
+        }
+        sb.append("            return bean;\n        };\n    }\n\n}\n");
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile((packageName.isEmpty() ? "" : packageName + ".") + binderName, type);
+            Writer writer = file.openWriter();
+            writer.write(sb.toString());
+            writer.close();
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "write binder exception = " + e.toString(), type);
+        }
+    }
+
+    /**
+     * 生成建索引语句，规则与SQLiteEntity一致
+     *
+     * @param table   表名
+     * @param columns 列
+     * @return
+     */
+    private List<String> indexSQLs(String table, List<Column> columns) {
+        Map<String, List<Column>> groups = new LinkedHashMap<>();
+        for (Column column : columns) {
+            if (column.index == null) {
+                continue;
+            }
+            String name = column.index.name.isEmpty() ? "index_" + table + "_" + column.name : column.index.name;
+            List<Column> group = groups.get(name);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(name, group);
+            }
+            group.add(column);
+        }
+        List<String> list = new ArrayList<>();
+        for (Map.Entry<String, List<Column>> entry : groups.entrySet()) {
+            List<Column> group = entry.getValue();
+            Collections.sort(group, (a, b) -> Integer.compare(a.index.order, b.index.order));
+            boolean unique = false;
+            StringBuilder names = new StringBuilder();
+            for (Column column : group) {
+                unique |= column.index.unique;
+                names.append(names.length() == 0 ? "" : ",").append(column.name);
+            }
+            list.add("CREATE " + (unique ? "UNIQUE " : "") + "INDEX IF NOT EXISTS " + entry.getKey() + " ON " + table + " (" + names + ")");
+        }
+        return list;
+    }
+
+    /**
+     * 生成参数绑定代码
+     *
+     * @param sb     代码
+     * @param column 列
+     */
+    private void writeBind(StringBuilder sb, Column column) {
+        String value = column.getter == null ? "obj." + column.name : "obj." + column.getter + "()";
+        String indent = "                ";
+        Kind kind = kind(column.type);
+        boolean primitive = column.type.getKind().isPrimitive();
+        if (primitive && kind != Kind.OTHER) {
+            switch (kind) {
+                case CHAR:
+                    sb.append(indent).append("statement.bindString(index, String.valueOf(").append(value).append("));\n");
+                    return;
+                case BOOLEAN:
+                    sb.append(indent).append("statement.bindLong(index, ").append(value).append(" ? 1 : 0);\n");
+                    return;
+                case FLOAT:
+                case DOUBLE:
+                    sb.append(indent).append("statement.bindDouble(index, ").append(value).append(");\n");
+                    return;
+                default:
+                    sb.append(indent).append("statement.bindLong(index, ").append(value).append(");\n");
+                    return;
+            }
+        }
+        String declared = primitive ? types.boxedClass((PrimitiveType) column.type).getQualifiedName().toString() : column.type.toString();
+        sb.append(indent).append(declared).append(" value = ").append(value).append(";\n");
+        sb.append(indent).append("if (value == null) {\n");
+        sb.append(indent).append("    statement.bindNull(index);\n");
+        sb.append(indent).append("} else {\n");
+        switch (kind) {
+            case STRING:
+            case CHAR:
+                sb.append(indent).append("    statement.bindString(index, value.toString());\n");
+                break;
+            case BOOLEAN:
+                sb.append(indent).append("    statement.bindLong(index, value ? 1 : 0);\n");
+                break;
+            case FLOAT:
+            case DOUBLE:
+                sb.append(indent).append("    statement.bindDouble(index, value);\n");
+                break;
+            case INT:
+            case SHORT:
+            case LONG:
+                sb.append(indent).append("    statement.bindLong(index, value);\n");
+                break;
+            default:
+                sb.append(indent).append("    SQLiteConverters.bind(statement, index, SQLiteConverters.toDatabase(").append(erasure(column.type)).append(".class, value));\n");
+                break;
+        }
+        sb.append(indent).append("}\n");
+    }
+
+    /**
+     * 生成游标读取代码
+     *
+     * @param sb     代码
+     * @param column 列
+     * @param index  列下标表达式
+     */
+    private void writeRead(StringBuilder sb, Column column, String index) {
+        String indent = "                ";
+        String value;
+        boolean primitive = column.type.getKind().isPrimitive();
+        switch (kind(column.type)) {
+            case STRING:
+                value = "c.getString(" + index + ")";
+                break;
+            case CHAR:
+                value = "SQLiteConverters.toChar(c.getString(" + index + "))";
+                break;
+            case BOOLEAN:
+                value = "SQLiteConverters.isTrue(c.getString(" + index + "))";
+                break;
+            case INT:
+                value = "c.getInt(" + index + ")";
+                break;
+            case SHORT:
+                value = "c.getShort(" + index + ")";
+                break;
+            case LONG:
+                value = "c.getLong(" + index + ")";
+                break;
+            case FLOAT:
+                value = "c.getFloat(" + index + ")";
+                break;
+            case DOUBLE:
+                value = "c.getDouble(" + index + ")";
+                break;
+            default:
+                String cast = primitive ? types.boxedClass((PrimitiveType) column.type).getQualifiedName().toString() : column.type.toString();
+                value = "(" + cast + ") SQLiteConverters.fromDatabase(" + erasure(column.type) + ".class, c, " + index + ")";
+                primitive = true;
+                break;
+        }
+        if (!primitive && kind(column.type) != Kind.STRING) {
+            value = "c.isNull(" + index + ") ? null : " + (kind(column.type) == Kind.CHAR ? "Character.valueOf(" + value + ")" : value);
+        }
+        if (kind(column.type) == Kind.STRING && !column.type.toString().equals("java.lang.String")) {
+            value = "(" + column.type.toString() + ") " + value;
+        }
+        if (column.setter == null) {
+            sb.append(indent).append("bean.").append(column.name).append(" = ").append(value).append(";\n");
+        } else {
+            sb.append(indent).append("bean.").append(column.setter).append("(").append(value).append(");\n");
+        }
+    }
+
+    /**
+     * @param type 类型
+     * @return 擦除泛型后的类型名
+     */
+    private String erasure(TypeMirror type) {
+        TypeMirror erasure = types.erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return ((ArrayType) erasure).getComponentType().toString() + "[]";
+        }
+        return erasure.toString();
+    }
+
+    /**
+     * 字段分类，与SQLiteColumn.typeOf一致，byte[]、枚举、byte及其他类型统一为OTHER，
+     * 由运行时SQLiteConverters按字段类处理
+     *
+     * @param type 类型
+     * @return 列类型
+     */
+    private Kind kind(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case SHORT:
+                return Kind.SHORT;
+            case LONG:
+                return Kind.LONG;
+            case FLOAT:
+                return Kind.FLOAT;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case CHAR:
+                return Kind.CHAR;
+            case DECLARED:
+                switch (types.erasure(type).toString()) {
+                    case "java.lang.String":
+                    case "java.lang.CharSequence":
+                        return Kind.STRING;
+                    case "java.lang.Character":
+                        return Kind.CHAR;
+                    case "java.lang.Integer":
+                        return Kind.INT;
+                    case "java.lang.Short":
+                        return Kind.SHORT;
+                    case "java.lang.Long":
+                        return Kind.LONG;
+                    case "java.lang.Float":
+                        return Kind.FLOAT;
+                    case "java.lang.Double":
+                        return Kind.DOUBLE;
+                    case "java.lang.Boolean":
+                        return Kind.BOOLEAN;
+                }
+                return Kind.OTHER;
+            default:
+                return Kind.OTHER;
+        }
+    }
+
+    /**
+     * @param element 元素
+     * @param msg     警告信息
+     */
+    private void warning(Element element, String msg) {
+        messager.printMessage(Diagnostic.Kind.WARNING, "SQLiteBinder: " + msg, element);
+    }
+
+    private enum Kind {
+        STRING, CHAR, INT, SHORT, LONG, FLOAT, DOUBLE, BOOLEAN, OTHER
+    }
+
+    /**
+     * 列
+     */
+    private static class Column {
+
+        private final String name;
+        private final TypeMirror type;
+        private String getter;
+        private String setter;
+        private Index index;
+
+        public Column(String name, TypeMirror type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    /**
+     * 索引
+     */
+    private static class Index {
+
+        private String name = "";
+        private boolean unique;
+        private int order;
+    }
+
+}